@@ -3,12 +3,19 @@ package com.mokuroku.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.publisher.Hooks;
 
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class BackEndApplication {
 
 	public static void main(String[] args) {
+		// Reactor Context 의 값(크롤링 runId 등)을 연산자마다 ThreadLocal(MDC)로 복원한다.
+		// 전역 Hook 이라 어떤 Reactor 코드보다 먼저, 한 번만 켠다. 복원 대상은 META-INF/services 에 등록된
+		// ThreadLocalAccessor(RunIdThreadLocalAccessor)뿐이다. runId 가 Context 에 없는 파이프라인에서는 할 일이 없다.
+		Hooks.enableAutomaticContextPropagation();
 		SpringApplication.run(BackEndApplication.class, args);
 	}
 
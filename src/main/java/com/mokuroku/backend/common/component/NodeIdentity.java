@@ -0,0 +1,40 @@
+package com.mokuroku.backend.common.component;
+
+import jakarta.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 애플리케이션 노드의 id
+ * 여러 노드가 나눠 맡는 작업(크롤링 shard lease, 알림 스트림 consumer 등)에서 노드를 구분할 때 쓴다.
+ * mokuroku.node-id 가 없으면 호스트 이름 + 임의 값으로 만든다. (재시작하면 바뀜)
+ */
+@Component
+public class NodeIdentity {
+
+  @Value("${mokuroku.node-id:}")
+  private String configuredNodeId;
+
+  private String nodeId;
+
+  @PostConstruct
+  void init() {
+    nodeId = configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  private static String defaultNodeId() {
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (Exception e) {
+      host = "unknown";
+    }
+    return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
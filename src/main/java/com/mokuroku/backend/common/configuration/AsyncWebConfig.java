@@ -0,0 +1,20 @@
+package com.mokuroku.backend.common.configuration;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+  // Mono 를 반환하는 컨트롤러(비동기 응답)의 최대 대기 시간 (크롤링 타임아웃 60초보다 길게)
+  @Value("${mokuroku.web.async-timeout:90s}")
+  private Duration asyncTimeout;
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setDefaultTimeout(asyncTimeout.toMillis());
+  }
+}
@@ -8,10 +8,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import org.springframework.core.io.Resource;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+// push 전송을 stub 으로 바꾸면(mokuroku.push.transport=stub) Firebase 는 초기화하지 않는다
 @Configuration
+@ConditionalOnProperty(name = "mokuroku.push.transport", havingValue = "firebase", matchIfMissing = true)
 public class FirebaseConfig {
 
   @Bean
@@ -45,6 +45,9 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.POST, "/members/login", "/members/join",
                                 "/members/verify-email", "/members/verify-email/resend", "/members/logout").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/webjars/**").permitAll()
+                        // 크롤러 운영 정보(동시성 한도 / 실행 이력 / circuit breaker)는 관리자만 (아래 /products/** 허용보다 먼저)
+                        .requestMatchers(HttpMethod.GET, "/products/crawl-limits", "/products/crawl-runs",
+                                "/products/crawler-health").hasRole("ADMIN")
                         .requestMatchers(
                                 "/",
                                 "/webjars/**",
@@ -4,6 +4,14 @@ import org.springframework.http.HttpStatus;
 
 public abstract class AbstractException extends RuntimeException {
 
+  protected AbstractException() {
+  }
+
+  // 원인 예외를 유지 (로그/지표에서 실제 실패 원인 분류용)
+  protected AbstractException(Throwable cause) {
+    super(cause);
+  }
+
   abstract public HttpStatus getHttpStatus();
   abstract public ErrorCode getErrorCode();
   abstract public String getMessage();
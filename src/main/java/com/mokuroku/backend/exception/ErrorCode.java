@@ -23,6 +23,7 @@ public enum ErrorCode {
     // SNS
     NOT_FOUND_POST("존재하지 않는 게시글입니다.", HttpStatus.NOT_FOUND),
     NOT_FOUND_LOCATION("존재하지 않는 위치입니다.", HttpStatus.NOT_FOUND),
+    INVALID_CURSOR("유효하지 않은 페이지 커서입니다.", HttpStatus.BAD_REQUEST),
 
     // Comments
     NOT_FOUND_COMMENT("존재하지 않는 댓글입니다.", HttpStatus.NOT_FOUND),
@@ -48,8 +49,16 @@ public enum ErrorCode {
     CRAWLING_UNKNOWN_ERROR("예기치 못한 크롤링 오류가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_NATION_CODE("유효하지 않은 국가코드입니다. ", HttpStatus.BAD_REQUEST),
     NOT_FOUND_WISHLIST("존재하지 관심 상품입니다.", HttpStatus.NOT_FOUND),
+    CRAWLER_UNAVAILABLE("크롤러가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
+    CRAWLER_BUSY("크롤링 요청이 많습니다. 잠시 후 다시 시도해주세요.", HttpStatus.TOO_MANY_REQUESTS),
+    INVALID_PRICE_GRANULARITY("가격 조회 단위는 day, week, month 중 하나입니다.", HttpStatus.BAD_REQUEST),
+    INVALID_DATE_RANGE("조회 시작일이 종료일보다 늦습니다.", HttpStatus.BAD_REQUEST),
 
     // Notification
+    INVALID_ALERT_RULE("유효하지 않은 가격 알림 조건입니다.", HttpStatus.BAD_REQUEST),
+    NOT_FOUND_ALERT_RULE("존재하지 않는 가격 알림입니다.", HttpStatus.NOT_FOUND),
+    PRICE_NOT_AVAILABLE("아직 상품 가격 정보가 없습니다.", HttpStatus.CONFLICT),
+    INVALID_NOTIFICATION_PREFERENCE("유효하지 않은 알림 시간 설정입니다.", HttpStatus.BAD_REQUEST),
 
     // Admin
 
@@ -16,6 +16,13 @@ public class CustomException extends AbstractException {
     this.status = errorCode.getStatus();
   }
 
+  public CustomException(ErrorCode errorCode, Throwable cause) {
+    super(cause);
+    this.errorCode = errorCode;
+    this.message = errorCode.getMessage();
+    this.status = errorCode.getStatus();
+  }
+
   @Override
   public HttpStatus getHttpStatus() {
     return status;
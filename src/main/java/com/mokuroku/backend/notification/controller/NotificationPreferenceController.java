@@ -0,0 +1,33 @@
+package com.mokuroku.backend.notification.controller;
+
+import com.mokuroku.backend.common.ResultDTO;
+import com.mokuroku.backend.notification.dto.NotificationPreferenceDTO;
+import com.mokuroku.backend.notification.service.NotificationPreferenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/push/preferences")
+public class NotificationPreferenceController {
+
+  private final NotificationPreferenceService preferenceService;
+
+  @GetMapping()
+  public ResponseEntity<ResultDTO<NotificationPreferenceDTO>> getPreference() {
+    NotificationPreferenceDTO result = preferenceService.getPreference();
+    return ResponseEntity.ok(new ResultDTO<>("알림 시간 설정을 불러오는데 성공했습니다.", result));
+  }
+
+  @PutMapping()
+  public ResponseEntity<ResultDTO<NotificationPreferenceDTO>> updatePreference(
+      @RequestBody NotificationPreferenceDTO preferenceDTO) {
+    NotificationPreferenceDTO result = preferenceService.updatePreference(preferenceDTO);
+    return ResponseEntity.ok(new ResultDTO<>("알림 시간 설정 변경에 성공했습니다.", result));
+  }
+}
@@ -0,0 +1,43 @@
+package com.mokuroku.backend.notification.controller;
+
+import com.mokuroku.backend.common.ResultDTO;
+import com.mokuroku.backend.notification.dto.PriceAlertRuleDTO;
+import com.mokuroku.backend.notification.service.PriceAlertService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/products/{wishlistId}/alerts")
+public class PriceAlertController {
+
+  private final PriceAlertService priceAlertService;
+
+  @PostMapping()
+  public ResponseEntity<ResultDTO<PriceAlertRuleDTO>> createRule(@PathVariable Long wishlistId,
+      @RequestBody PriceAlertRuleDTO ruleDTO) {
+    PriceAlertRuleDTO result = priceAlertService.createRule(wishlistId, ruleDTO);
+    return ResponseEntity.ok(new ResultDTO<>("가격 알림 등록에 성공했습니다.", result));
+  }
+
+  @GetMapping()
+  public ResponseEntity<ResultDTO<List<PriceAlertRuleDTO>>> getRules(@PathVariable Long wishlistId) {
+    List<PriceAlertRuleDTO> result = priceAlertService.getRules(wishlistId);
+    return ResponseEntity.ok(new ResultDTO<>("가격 알림 목록을 불러오는데 성공했습니다.", result));
+  }
+
+  @DeleteMapping("/{ruleId}")
+  public ResponseEntity<ResultDTO> deleteRule(@PathVariable Long wishlistId,
+      @PathVariable Long ruleId) {
+    priceAlertService.deleteRule(wishlistId, ruleId);
+    return ResponseEntity.ok(new ResultDTO<>("가격 알림 삭제에 성공했습니다.", null));
+  }
+}
@@ -0,0 +1,34 @@
+package com.mokuroku.backend.notification.dto;
+
+import com.mokuroku.backend.notification.entity.NotificationPreference;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPreferenceDTO {
+
+  private Boolean quietHoursEnabled;
+  private LocalTime quietStart;
+  private LocalTime quietEnd;
+  private LocalTime preferredTime;
+  private LocalDateTime updatedAt;
+
+  public static NotificationPreferenceDTO toDTO(NotificationPreference preference) {
+    return NotificationPreferenceDTO.builder()
+        .quietHoursEnabled(preference.getQuietHoursEnabled())
+        .quietStart(preference.getQuietStart())
+        .quietEnd(preference.getQuietEnd())
+        .preferredTime(preference.getPreferredTime())
+        .updatedAt(preference.getUpdatedAt())
+        .build();
+  }
+}
@@ -0,0 +1,40 @@
+package com.mokuroku.backend.notification.dto;
+
+import com.mokuroku.backend.notification.entity.PriceAlertRule;
+import com.mokuroku.backend.notification.entity.PriceAlertType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceAlertRuleDTO {
+
+  private Long priceAlertRuleId;
+  private PriceAlertType type;
+  private Integer targetPrice;
+  private Integer dropPercent;
+  private Integer basePrice;
+  private Integer lowestPrice;
+  private LocalDateTime createdDate;
+  private LocalDateTime lastFiredAt;
+
+  public static PriceAlertRuleDTO toDTO(PriceAlertRule rule) {
+    return PriceAlertRuleDTO.builder()
+        .priceAlertRuleId(rule.getPriceAlertRuleId())
+        .type(rule.getType())
+        .targetPrice(rule.getTargetPrice())
+        .dropPercent(rule.getDropPercent())
+        .basePrice(rule.getBasePrice())
+        .lowestPrice(rule.getLowestPrice())
+        .createdDate(rule.getCreatedDate())
+        .lastFiredAt(rule.getLastFiredAt())
+        .build();
+  }
+}
@@ -0,0 +1,74 @@
+package com.mokuroku.backend.notification.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 가격 알림 outbox
+ * 가격 변경과 같은 트랜잭션에서 저장되고, NotificationOutboxRelay 가 읽어서 전송한다.
+ * (스키마 관리용 엔티티, 읽기 / 쓰기는 NotificationOutboxRepository 의 JDBC 쿼리로 한다)
+ */
+@Entity
+@Table(name = "notification_outbox",
+    indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, available_at"),
+        @Index(name = "idx_notification_outbox_email", columnList = "email, status")
+    })
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long notificationOutboxId;
+
+  @Column(nullable = false)
+  private String email;
+
+  private Long wishlistId;
+  private Long productId;
+  private String productName;
+  private int oldPrice;
+  private int newPrice;
+
+  // 발동한 알림 규칙 (첫 규칙의 종류 / 기준가는 알림 제목에 사용)
+  @Enumerated(EnumType.STRING)
+  @Column(length = 20)
+  private PriceAlertType alertType;
+
+  private Integer threshold;
+  private String alertRuleIds;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 20, nullable = false)
+  private OutboxStatus status;
+
+  private int attempts;
+
+  // 이 시각 이후에 전송 (digest 대기 / 재시도 backoff / 전송 중 lease / 보류)
+  @Column(name = "available_at", nullable = false)
+  private LocalDateTime availableAt;
+
+  // 회원의 수신 시간대 밖이라 보류 중이면 보낼 시각 (DeliveryHoldQueue 가 이 시각에 푼다)
+  private LocalDateTime heldUntil;
+
+  private LocalDateTime createdDate;
+  private LocalDateTime deliveredAt;
+
+  @Column(length = 500)
+  private String lastError;
+}
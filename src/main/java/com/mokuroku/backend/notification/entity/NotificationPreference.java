@@ -0,0 +1,39 @@
+package com.mokuroku.backend.notification.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회원별 알림 수신 시간 설정
+ * 행이 없거나 값이 비어 있으면 기본 방해 금지 시간(mokuroku.notification.window.*)을 따른다.
+ */
+@Entity
+@Table(name = "notification_preference")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class NotificationPreference {
+
+  @Id
+  private String email;
+
+  // 방해 금지 시간 사용 여부 (null 이면 기본값)
+  private Boolean quietHoursEnabled;
+
+  // 방해 금지 시작 / 종료 시각 (자정을 넘길 수 있음, 둘 다 null 이면 기본값)
+  private LocalTime quietStart;
+  private LocalTime quietEnd;
+
+  // 받고 싶은 시각 (설정하면 이 시각부터 preferred-window 동안 모아서 보낸다)
+  private LocalTime preferredTime;
+
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.mokuroku.backend.notification.entity;
+
+public enum OutboxStatus {
+  PENDING,    // 전송 대기 (재시도 대기 포함)
+  DELIVERED,  // 전송 완료
+  FAILED      // 재시도 횟수 초과
+}
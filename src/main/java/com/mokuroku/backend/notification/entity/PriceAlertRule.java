@@ -0,0 +1,70 @@
+package com.mokuroku.backend.notification.entity;
+
+import com.mokuroku.backend.member.entity.Member;
+import com.mokuroku.backend.product.entity.Wishlist;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "price_alert_rule",
+    indexes = @Index(name = "idx_price_alert_rule_updated", columnList = "updated_at"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class PriceAlertRule {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long priceAlertRuleId;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "wishlist_id")
+  private Wishlist wishlist;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "email")
+  private Member member;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 20)
+  private PriceAlertType type;
+
+  private Integer targetPrice;
+  private Integer dropPercent;
+  private Integer basePrice;
+  private Integer lowestPrice;
+
+  // 삭제는 active = false (다른 노드의 인덱스가 updated_at 으로 변경분을 가져가도록)
+  private boolean active;
+  private LocalDateTime createdDate;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  private LocalDateTime lastFiredAt;
+
+  // 이 가격 이하가 되면 발동 (BELOW_PRICE / PERCENT_DROP), ALL_TIME_LOW 는 null
+  public Integer threshold() {
+    return switch (type) {
+      case BELOW_PRICE -> targetPrice;
+      case PERCENT_DROP -> (int) ((long) basePrice * (100 - dropPercent) / 100);
+      case ALL_TIME_LOW -> null;
+    };
+  }
+}
@@ -0,0 +1,11 @@
+package com.mokuroku.backend.notification.entity;
+
+// 가격 알림 조건
+public enum PriceAlertType {
+  // 가격이 targetPrice 이하로 내려갈 때
+  BELOW_PRICE,
+  // 가격이 알림 등록 시점 가격(basePrice)보다 dropPercent% 이상 내려갈 때
+  PERCENT_DROP,
+  // 가격이 지금까지의 최저가(lowestPrice)보다 낮아질 때
+  ALL_TIME_LOW
+}
@@ -2,6 +2,7 @@ package com.mokuroku.backend.notification.event;
 
 public record  PriceChangedEvent(
     String email,
+    Long wishlistId,
     Long productId,
     String productName,
     int oldPrice,
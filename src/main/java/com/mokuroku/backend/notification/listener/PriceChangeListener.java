@@ -1,12 +1,14 @@
 package com.mokuroku.backend.notification.listener;
 
 import com.mokuroku.backend.notification.event.PriceChangedEvent;
-import com.mokuroku.backend.notification.service.PushSender;
-import java.util.HashMap;
-import java.util.Map;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository.NewOutboxRow;
+import com.mokuroku.backend.notification.service.NotificationOutboxRelay;
+import com.mokuroku.backend.notification.service.PriceAlertIndex;
+import com.mokuroku.backend.notification.service.PriceAlertService;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -15,26 +17,30 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @RequiredArgsConstructor
 public class PriceChangeListener {
 
-  private static final Logger log = LoggerFactory.getLogger(PriceChangeListener.class);
-  private final PushSender pushSender;
+  private final PriceAlertService priceAlertService;
+  private final NotificationOutboxRepository outboxRepository;
+  private final NotificationOutboxRelay outboxRelay;
 
-  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  // 가격 변동 중 사용자가 등록한 알림 조건(PriceAlertIndex)에 걸린 경우만 outbox 에 저장
+  // 가격 변경과 같은 트랜잭션에서 저장되므로 커밋된 가격 변동의 알림은 유실되지 않는다.
+  // 전송은 NotificationOutboxRelay 가 따로 한다.
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
   public void onPriceChange(PriceChangedEvent e) {
-    try {
-      Map<String,String> data = new HashMap<>();
-      data.put("productId", String.valueOf(e.productId()));
-      data.put("link", "/products/" + e.productId());
-
-      pushSender.sendToEmail(
-          e.email(),
-          "가격 변동: " + e.productName(),
-          String.format("%,d원 → %,d원", e.oldPrice(), e.newPrice()),
-          data
-      );
-    } catch (Exception ex) {
-      // 로깅만 (알림 실패가 비즈니스 트랜잭션 실패가 되지 않도록)
-      log.warn("price-drop push failed: {}", ex.getMessage(), ex);
+    List<PriceAlertIndex.Fired> fired = priceAlertService.evaluate(e);
+    if (fired.isEmpty()) {
+      return;
     }
+    PriceAlertIndex.Fired first = fired.get(0);
+    outboxRepository.insert(new NewOutboxRow(
+        e.email(),
+        e.wishlistId(),
+        e.productId(),
+        e.productName(),
+        e.oldPrice(),
+        e.newPrice(),
+        first.type(),
+        first.threshold(),
+        fired.stream().map(f -> String.valueOf(f.ruleId())).collect(Collectors.joining(","))
+    ), outboxRelay.availableAt());
   }
 }
-
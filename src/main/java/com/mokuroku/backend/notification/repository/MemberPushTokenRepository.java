@@ -1,13 +1,14 @@
 package com.mokuroku.backend.notification.repository;
 
 import com.mokuroku.backend.notification.entity.MemberPushToken;
-import io.lettuce.core.dynamic.annotation.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,6 +17,14 @@ public interface MemberPushTokenRepository extends JpaRepository<MemberPushToken
   @Query("select t.token from MemberPushToken t where t.member.email = :email and t.revoked = false")
   List<String> findActiveTokensByEmail(@Param("email") String email);
 
+  // 여러 회원의 활성 토큰을 한 번에 조회 (PushTokenDirectory)
+  @Query("""
+        select t.member.email as email, t.token as token
+        from MemberPushToken t
+        where t.member.email in :emails and t.revoked = false
+      """)
+  List<ActiveToken> findActiveTokensByEmailIn(@Param("emails") Collection<String> emails);
+
   Optional<MemberPushToken> findByToken(String token);
 
   @Modifying(clearAutomatically = true, flushAutomatically = true)
@@ -24,9 +33,25 @@ public interface MemberPushTokenRepository extends JpaRepository<MemberPushToken
         set t.revoked = true, t.revokedDate = :revokedAt
         where t.token = :token and t.revoked = false
       """)
-  int revokeByToken(String badToken, LocalDateTime revokedDate);
+  int revokeByToken(@Param("token") String token, @Param("revokedAt") LocalDateTime revokedAt);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query("""
+        update MemberPushToken t
+        set t.revoked = true, t.revokedDate = :revokedAt
+        where t.token in :tokens and t.revoked = false
+      """)
+  int revokeByTokens(@Param("tokens") Collection<String> tokens,
+      @Param("revokedAt") LocalDateTime revokedAt);
 
   default int revokeByTokenNow(String token) {
     return revokeByToken(token, LocalDateTime.now());
   }
+
+  interface ActiveToken {
+
+    String getEmail();
+
+    String getToken();
+  }
 }
@@ -0,0 +1,220 @@
+package com.mokuroku.backend.notification.repository;
+
+import com.mokuroku.backend.notification.entity.OutboxStatus;
+import com.mokuroku.backend.notification.entity.PriceAlertType;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * notification_outbox JDBC 리포지토리
+ *  - 전송할 행은 SELECT ... FOR UPDATE SKIP LOCKED 로 가져오므로 여러 노드의 relay 가 같은 행을 동시에 잡지 않는다.
+ *  - 가져온 행은 available_at 을 lease 만큼 미뤄 두고 커밋한다. 전송 도중 노드가 죽으면 lease 가 지난 뒤 다시 전송된다.
+ *  - 회원의 수신 시간대 밖이라 보류한 행은 held_until 에 보낼 시각을 둔다. (DeliveryHoldQueue 가 그 시각에 푼다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxRepository {
+
+  private static final String INSERT = """
+      INSERT INTO notification_outbox (email, wishlist_id, product_id, product_name, old_price,
+                                       new_price, alert_type, threshold, alert_rule_ids, status,
+                                       attempts, available_at, created_date)
+      VALUES (:email, :wishlistId, :productId, :productName, :oldPrice,
+              :newPrice, :alertType, :threshold, :alertRuleIds, 'PENDING',
+              0, :availableAt, :now)
+      """;
+
+  private static final String SELECT_COLUMNS = """
+      SELECT notification_outbox_id, email, wishlist_id, product_id, product_name, old_price,
+             new_price, alert_type, threshold, alert_rule_ids, attempts
+      FROM notification_outbox
+      """;
+
+  private static final RowMapper<OutboxRow> ROW_MAPPER = (rs, rowNum) -> new OutboxRow(
+      rs.getLong("notification_outbox_id"),
+      rs.getString("email"),
+      rs.getObject("wishlist_id", Long.class),
+      rs.getObject("product_id", Long.class),
+      rs.getString("product_name"),
+      rs.getInt("old_price"),
+      rs.getInt("new_price"),
+      rs.getString("alert_type") == null ? null : PriceAlertType.valueOf(rs.getString("alert_type")),
+      rs.getObject("threshold", Integer.class),
+      rs.getString("alert_rule_ids"),
+      rs.getInt("attempts"));
+
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public void insert(NewOutboxRow row, LocalDateTime availableAt) {
+    namedJdbcTemplate.update(INSERT, new MapSqlParameterSource()
+        .addValue("email", row.email())
+        .addValue("wishlistId", row.wishlistId())
+        .addValue("productId", row.productId())
+        .addValue("productName", row.productName())
+        .addValue("oldPrice", row.oldPrice())
+        .addValue("newPrice", row.newPrice())
+        .addValue("alertType", row.alertType() == null ? null : row.alertType().name())
+        .addValue("threshold", row.threshold())
+        .addValue("alertRuleIds", row.alertRuleIds())
+        .addValue("availableAt", Timestamp.valueOf(availableAt))
+        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+  }
+
+  /**
+   * 전송할 행을 잠그고 lease 를 건다. (호출 측 트랜잭션 안에서 실행)
+   * 전송 시각이 된 행의 회원은 아직 digest 대기 중인 행(attempts = 0)과 보류 중인 행도 함께 가져와 한 번에 보낸다.
+   */
+  public List<OutboxRow> claim(LocalDateTime now, int limit, LocalDateTime leaseUntil) {
+    List<OutboxRow> due = namedJdbcTemplate.query(SELECT_COLUMNS + """
+            WHERE status = 'PENDING' AND available_at <= :now
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """,
+        new MapSqlParameterSource()
+            .addValue("now", Timestamp.valueOf(now))
+            .addValue("limit", limit),
+        ROW_MAPPER);
+    if (due.isEmpty()) {
+      return due;
+    }
+
+    List<OutboxRow> claimed = new ArrayList<>(due);
+    List<Long> dueIds = due.stream().map(OutboxRow::id).toList();
+    claimed.addAll(namedJdbcTemplate.query(SELECT_COLUMNS + """
+            WHERE status = 'PENDING' AND email IN (:emails)
+              AND (attempts = 0 OR held_until IS NOT NULL)
+              AND available_at > :now AND notification_outbox_id NOT IN (:ids)
+            FOR UPDATE SKIP LOCKED
+            """,
+        new MapSqlParameterSource()
+            .addValue("emails", due.stream().map(OutboxRow::email).distinct().toList())
+            .addValue("now", Timestamp.valueOf(now))
+            .addValue("ids", dueIds),
+        ROW_MAPPER));
+
+    namedJdbcTemplate.update("""
+            UPDATE notification_outbox
+            SET attempts = attempts + 1, available_at = :leaseUntil, held_until = NULL
+            WHERE notification_outbox_id IN (:ids)
+            """,
+        new MapSqlParameterSource()
+            .addValue("leaseUntil", Timestamp.valueOf(leaseUntil))
+            .addValue("ids", claimed.stream().map(OutboxRow::id).toList()));
+    return claimed;
+  }
+
+  public void markDelivered(Collection<Long> ids, LocalDateTime deliveredAt) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    namedJdbcTemplate.update("""
+            UPDATE notification_outbox
+            SET status = 'DELIVERED', delivered_at = :deliveredAt, last_error = NULL
+            WHERE notification_outbox_id IN (:ids)
+            """,
+        new MapSqlParameterSource()
+            .addValue("deliveredAt", Timestamp.valueOf(deliveredAt))
+            .addValue("ids", ids));
+  }
+
+  // 재시도 예약 또는 FAILED 처리 (행마다 시도 횟수가 달라 다음 시각도 행마다 다르다)
+  public void markRetry(List<Retry> retries) {
+    if (retries.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] params = retries.stream()
+        .map(retry -> new MapSqlParameterSource()
+            .addValue("id", retry.id())
+            .addValue("status", retry.status().name())
+            .addValue("availableAt", Timestamp.valueOf(retry.availableAt()))
+            .addValue("lastError", retry.lastError()))
+        .toArray(SqlParameterSource[]::new);
+    namedJdbcTemplate.batchUpdate("""
+        UPDATE notification_outbox
+        SET status = :status, available_at = :availableAt, last_error = :lastError
+        WHERE notification_outbox_id = :id
+        """, params);
+  }
+
+  // digest 대기 중인 행을 바로 전송 대상으로 (크롤링 실행 종료 시, 보류 중인 행은 제외)
+  public int releaseDigests(LocalDateTime now) {
+    return namedJdbcTemplate.update("""
+            UPDATE notification_outbox
+            SET available_at = :now
+            WHERE status = 'PENDING' AND attempts = 0 AND held_until IS NULL
+              AND available_at > :now
+            """,
+        new MapSqlParameterSource("now", Timestamp.valueOf(now)));
+  }
+
+  /**
+   * 가져온 행을 보류로 되돌린다. (claim 에서 늘린 attempts 도 되돌림, 보류는 전송 시도가 아니다)
+   * availableAt 은 보낼 시각 이후로 둔다. DeliveryHoldQueue 가 풀지 못해도 그 시각에 다시 전송 대상이 된다.
+   */
+  public void hold(Collection<Long> ids, LocalDateTime heldUntil, LocalDateTime availableAt) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    namedJdbcTemplate.update("""
+            UPDATE notification_outbox
+            SET attempts = attempts - 1, held_until = :heldUntil, available_at = :availableAt
+            WHERE notification_outbox_id IN (:ids)
+            """,
+        new MapSqlParameterSource()
+            .addValue("heldUntil", Timestamp.valueOf(heldUntil))
+            .addValue("availableAt", Timestamp.valueOf(availableAt))
+            .addValue("ids", ids));
+  }
+
+  // 보류를 푼 회원의 행을 바로 전송 대상으로
+  public int releaseHeld(Collection<String> emails, LocalDateTime now) {
+    if (emails.isEmpty()) {
+      return 0;
+    }
+    return namedJdbcTemplate.update("""
+            UPDATE notification_outbox
+            SET available_at = :now, held_until = NULL
+            WHERE status = 'PENDING' AND email IN (:emails) AND held_until IS NOT NULL
+            """,
+        new MapSqlParameterSource()
+            .addValue("now", Timestamp.valueOf(now))
+            .addValue("emails", emails));
+  }
+
+  // 전송 완료된 오래된 행 정리 (한 번에 limit 행)
+  public int deleteDeliveredBefore(LocalDateTime before, int limit) {
+    return namedJdbcTemplate.update("""
+            DELETE FROM notification_outbox
+            WHERE status = :status AND delivered_at < :before
+            LIMIT :limit
+            """,
+        new MapSqlParameterSource()
+            .addValue("status", OutboxStatus.DELIVERED.name())
+            .addValue("before", Timestamp.valueOf(before))
+            .addValue("limit", limit));
+  }
+
+  public record NewOutboxRow(String email, Long wishlistId, Long productId, String productName,
+                             int oldPrice, int newPrice, PriceAlertType alertType,
+                             Integer threshold, String alertRuleIds) {
+  }
+
+  public record OutboxRow(long id, String email, Long wishlistId, Long productId,
+                          String productName, int oldPrice, int newPrice,
+                          PriceAlertType alertType, Integer threshold, String alertRuleIds,
+                          int attempts) {
+  }
+
+  public record Retry(long id, OutboxStatus status, LocalDateTime availableAt, String lastError) {
+  }
+}
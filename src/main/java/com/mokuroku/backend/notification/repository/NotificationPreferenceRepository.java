@@ -0,0 +1,11 @@
+package com.mokuroku.backend.notification.repository;
+
+import com.mokuroku.backend.notification.entity.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationPreferenceRepository
+    extends JpaRepository<NotificationPreference, String> {
+
+}
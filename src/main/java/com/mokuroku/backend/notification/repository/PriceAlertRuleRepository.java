@@ -0,0 +1,50 @@
+package com.mokuroku.backend.notification.repository;
+
+import com.mokuroku.backend.notification.entity.PriceAlertRule;
+import com.mokuroku.backend.product.entity.Wishlist;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PriceAlertRuleRepository extends JpaRepository<PriceAlertRule, Long> {
+
+  List<PriceAlertRule> findByWishlistAndActiveTrue(Wishlist wishlist);
+
+  Optional<PriceAlertRule> findByPriceAlertRuleIdAndWishlist(long priceAlertRuleId, Wishlist wishlist);
+
+  // 인덱스 초기 적재
+  @Query("select r from PriceAlertRule r join fetch r.wishlist where r.active = true")
+  List<PriceAlertRule> findAllActive();
+
+  // 다른 노드에서 추가 / 삭제 / 발동된 규칙 (삭제된 규칙 포함)
+  @Query("select r from PriceAlertRule r join fetch r.wishlist where r.updatedAt > :since")
+  List<PriceAlertRule> findChangedSince(@Param("since") LocalDateTime since);
+
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query("""
+        update PriceAlertRule r
+        set r.lastFiredAt = :firedAt, r.updatedAt = :firedAt
+        where r.priceAlertRuleId in :ids
+      """)
+  int markFired(@Param("ids") Collection<Long> ids, @Param("firedAt") LocalDateTime firedAt);
+
+  // 최저가는 낮아지는 방향으로만 갱신 (updated_at 을 올려 다른 노드의 sync 에 반영)
+  @Modifying(clearAutomatically = true, flushAutomatically = true)
+  @Query("""
+        update PriceAlertRule r
+        set r.lowestPrice = :price, r.updatedAt = :updatedAt
+        where r.wishlist.wishlistId = :wishlistId
+          and r.type = com.mokuroku.backend.notification.entity.PriceAlertType.ALL_TIME_LOW
+          and r.active = true
+          and (r.lowestPrice is null or r.lowestPrice > :price)
+      """)
+  int lowerLowestPrice(@Param("wishlistId") long wishlistId, @Param("price") int price,
+      @Param("updatedAt") LocalDateTime updatedAt);
+}
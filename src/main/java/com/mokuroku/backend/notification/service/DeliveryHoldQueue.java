@@ -0,0 +1,232 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수신 시간대 밖이라 미룬 알림의 보류 큐
+ *  - 보류 중인 회원을 Redis sorted set(member = email, score = 보낼 시각 epoch millis)에 둔다.
+ *    알림 내용은 outbox 행에 그대로 있고(held_until), 이 큐는 언제 풀어 줄지만 가진다. 재시작해도 유지된다.
+ *  - 노드마다 sync-horizon 안에 풀어 줄 항목을 sorted set 에서 읽어 HashedTimingWheel 에 올리고,
+ *    tick 마다 시각이 된 회원을 release-rate(초당, 노드별) 만큼씩 푼다.
+ *  - 풀기는 Lua 로 score 가 지났는지 확인하고 ZREM 한 노드만 하므로 여러 노드가 같은 회원을 두 번 풀지 않는다.
+ *    푼 회원의 보류 행은 바로 전송 대상이 되어 relay 가 한 번의 push 로 묶어 보낸다.
+ *  - Redis 에 넣지 못했거나 풀지 못해도 outbox 행은 보낼 시각(+ lease)이 지나면 relay 가 다시 가져간다.
+ *  - 지표: notification.hold.scheduled(sorted set 크기), notification.hold.wheel,
+ *          notification.hold.ready, notification.hold.released
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryHoldQueue {
+
+  static final String QUEUE_KEY = "notification:held";
+
+  // ARGV[1] = now, ARGV[2..] = email. score 가 now 이하인 회원만 제거하고 제거한 email 을 돌려준다
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> RELEASE_SCRIPT = new DefaultRedisScript<>(
+      "local released = {} "
+          + "for i = 2, #ARGV do "
+          + "  local score = redis.call('zscore', KEYS[1], ARGV[i]) "
+          + "  if score and tonumber(score) <= tonumber(ARGV[1]) then "
+          + "    redis.call('zrem', KEYS[1], ARGV[i]) "
+          + "    released[#released + 1] = ARGV[i] "
+          + "  end "
+          + "end "
+          + "return released", List.class);
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final NotificationOutboxRepository outboxRepository;
+  private final DeliveryWindows deliveryWindows;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.notification.hold.tick:1s}")
+  private Duration tick;
+
+  @Value("${mokuroku.notification.hold.wheel-size:512}")
+  private int wheelSize;
+
+  // 이만큼 안에 풀어 줄 항목만 휠에 올린다 (나머지는 다음 sync 에서)
+  @Value("${mokuroku.notification.hold.sync-horizon:10m}")
+  private Duration syncHorizon;
+
+  @Value("${mokuroku.notification.hold.sync-batch:10000}")
+  private int syncBatch;
+
+  // 노드별 초당 푸는 회원 수 (방해 금지가 끝나는 아침에 push 가 한꺼번에 몰리지 않도록)
+  @Value("${mokuroku.notification.hold.release-rate:50}")
+  private int releaseRate;
+
+  private HashedTimingWheel<Held> wheel;
+  // 휠에 올린 회원 -> 보낼 시각 (늦춰진 회원의 이전 항목은 나와도 무시)
+  private final Map<String, Long> scheduled = new ConcurrentHashMap<>();
+  private final Set<String> ready = new LinkedHashSet<>();
+
+  private Thread ticker;
+  private volatile boolean running;
+  private volatile long queueSize;
+  private double permits;
+  private Counter released;
+
+  @PostConstruct
+  void start() {
+    if (!deliveryWindows.isEnabled()) {
+      return;
+    }
+    wheel = new HashedTimingWheel<>(tick, wheelSize, System.currentTimeMillis());
+    Gauge.builder("notification.hold.scheduled", this, queue -> queue.queueSize)
+        .register(meterRegistry);
+    Gauge.builder("notification.hold.wheel", this, queue -> queue.wheel.size())
+        .register(meterRegistry);
+    Gauge.builder("notification.hold.ready", this, DeliveryHoldQueue::readySize)
+        .register(meterRegistry);
+    released = Counter.builder("notification.hold.released").register(meterRegistry);
+
+    running = true;
+    ticker = new Thread(this::run, "notification-hold-wheel");
+    ticker.setDaemon(true);
+    ticker.start();
+  }
+
+  @PreDestroy
+  void stop() {
+    running = false;
+    if (ticker != null) {
+      ticker.interrupt();
+    }
+  }
+
+  /**
+   * @return Redis 에 넣었으면 true (false 면 outbox 행의 전송 시각만으로 보낸다)
+   */
+  public boolean hold(String email, Instant releaseAt) {
+    if (wheel == null) {
+      return false;
+    }
+    try {
+      redisTemplate.opsForZSet().add(QUEUE_KEY, email, releaseAt.toEpochMilli());
+    } catch (Exception e) {
+      log.warn("notification hold queue add failed: {}", e.getMessage());
+      return false;
+    }
+    if (releaseAt.toEpochMilli() <= System.currentTimeMillis() + syncHorizon.toMillis()) {
+      schedule(email, releaseAt.toEpochMilli());
+    }
+    return true;
+  }
+
+  // sync-horizon 안에 풀어 줄 항목을 휠에 올린다 (다른 노드가 넣은 항목 / 재시작 전 항목 포함)
+  @Scheduled(fixedDelayString = "${mokuroku.notification.hold.sync-interval-ms:60000}",
+      initialDelay = 1000)
+  public void sync() {
+    if (wheel == null) {
+      return;
+    }
+    try {
+      long until = System.currentTimeMillis() + syncHorizon.toMillis();
+      Set<TypedTuple<String>> due = redisTemplate.opsForZSet()
+          .rangeByScoreWithScores(QUEUE_KEY, Double.NEGATIVE_INFINITY, until, 0, syncBatch);
+      if (due != null) {
+        due.forEach(tuple -> schedule(tuple.getValue(), tuple.getScore().longValue()));
+      }
+      Long size = redisTemplate.opsForZSet().zCard(QUEUE_KEY);
+      queueSize = size == null ? 0 : size;
+    } catch (Exception e) {
+      log.warn("notification hold queue sync failed: {}", e.getMessage());
+    }
+  }
+
+  private void schedule(String email, long releaseAtMillis) {
+    Long previous = scheduled.put(email, releaseAtMillis);
+    if (previous == null || previous != releaseAtMillis) {
+      wheel.schedule(new Held(email, releaseAtMillis), releaseAtMillis);
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        long now = System.currentTimeMillis();
+        for (Held held : wheel.advance(now)) {
+          if (scheduled.remove(held.email(), held.releaseAtMillis())) {
+            synchronized (ready) {
+              ready.add(held.email());
+            }
+          }
+        }
+        release(now);
+        Thread.sleep(tick.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.warn("notification hold queue tick failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  // 시각이 된 회원을 초당 release-rate 명까지 푼다
+  private void release(long now) {
+    List<String> batch = new ArrayList<>();
+    synchronized (ready) {
+      permits = Math.min(releaseRate, permits + releaseRate * tick.toMillis() / 1000.0);
+      Iterator<String> it = ready.iterator();
+      while (it.hasNext() && permits >= 1) {
+        batch.add(it.next());
+        it.remove();
+        permits -= 1;
+      }
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    List<String> args = new ArrayList<>(batch.size() + 1);
+    args.add(String.valueOf(now));
+    args.addAll(batch);
+    // 실패하면 sorted set 에 남아 있으므로 다음 sync 에서 다시 올라온다
+    @SuppressWarnings("unchecked")
+    List<String> removed = redisTemplate.execute(RELEASE_SCRIPT, List.of(QUEUE_KEY),
+        args.toArray());
+    if (removed == null || removed.isEmpty()) {
+      return;
+    }
+    int rows = outboxRepository.releaseHeld(removed, LocalDateTime.ofInstant(
+        Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+    released.increment(removed.size());
+    log.debug("notification hold released: members={}, rows={}", removed.size(), rows);
+  }
+
+  private int readySize() {
+    synchronized (ready) {
+      return ready.size();
+    }
+  }
+
+  private record Held(String email, long releaseAtMillis) {
+  }
+}
@@ -0,0 +1,150 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.entity.NotificationPreference;
+import com.mokuroku.backend.notification.repository.NotificationPreferenceRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원별 알림 수신 시간대
+ *  - 받고 싶은 시각(preferredTime)이 있으면 그 시각부터 preferred-window 동안만 보낸다.
+ *  - 없으면 방해 금지 시간(회원 설정 또는 기본 quiet-start ~ quiet-end, 자정을 넘길 수 있음)에는 보내지 않는다.
+ *  - 미룬 알림은 다음 수신 가능 시각 + 회원별 고정 offset(email 해시, spread 이내)에 보낸다.
+ *    아침에 모든 회원의 알림이 한 시각에 몰리지 않도록 하기 위함
+ * 시각은 Asia/Seoul 기준
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryWindows {
+
+  private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+  private final NotificationPreferenceRepository preferenceRepository;
+
+  @Value("${mokuroku.notification.window.enabled:true}")
+  private boolean enabled;
+
+  @Value("${mokuroku.notification.window.quiet-start:23:00}")
+  private String defaultQuietStartValue;
+
+  @Value("${mokuroku.notification.window.quiet-end:08:00}")
+  private String defaultQuietEndValue;
+
+  @Value("${mokuroku.notification.window.spread:30m}")
+  private Duration spread;
+
+  @Value("${mokuroku.notification.window.preferred-window:1h}")
+  private Duration preferredWindow;
+
+  private LocalTime defaultQuietStart;
+  private LocalTime defaultQuietEnd;
+
+  @PostConstruct
+  void init() {
+    defaultQuietStart = LocalTime.parse(defaultQuietStartValue);
+    defaultQuietEnd = LocalTime.parse(defaultQuietEndValue);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public LocalTime getDefaultQuietStart() {
+    return defaultQuietStart;
+  }
+
+  public LocalTime getDefaultQuietEnd() {
+    return defaultQuietEnd;
+  }
+
+  /**
+   * @return 지금 보내면 안 되는 회원 -> 보낼 시각 (바로 보내도 되는 회원은 없음)
+   */
+  public Map<String, Instant> holdUntil(Collection<String> emails, Instant now) {
+    if (!enabled || emails.isEmpty()) {
+      return Map.of();
+    }
+    Map<String, NotificationPreference> preferences = preferenceRepository.findAllById(emails)
+        .stream()
+        .collect(Collectors.toMap(NotificationPreference::getEmail, Function.identity()));
+
+    ZonedDateTime at = now.atZone(SEOUL);
+    Map<String, Instant> held = new HashMap<>();
+    for (String email : emails) {
+      ZonedDateTime releaseAt = releaseAt(email, preferences.get(email), at);
+      if (releaseAt != null) {
+        held.put(email, releaseAt.toInstant());
+      }
+    }
+    return held;
+  }
+
+  // 지금 보내도 되면 null
+  private ZonedDateTime releaseAt(String email, NotificationPreference preference,
+      ZonedDateTime now) {
+    if (preference != null && preference.getPreferredTime() != null) {
+      return preferredReleaseAt(email, preference.getPreferredTime(), now);
+    }
+
+    boolean quietHours = preference == null || preference.getQuietHoursEnabled() == null
+        || preference.getQuietHoursEnabled();
+    if (!quietHours) {
+      return null;
+    }
+    boolean custom = preference != null && preference.getQuietStart() != null
+        && preference.getQuietEnd() != null;
+    LocalTime start = custom ? preference.getQuietStart() : defaultQuietStart;
+    LocalTime end = custom ? preference.getQuietEnd() : defaultQuietEnd;
+    if (!isQuiet(now.toLocalTime(), start, end)) {
+      return null;
+    }
+
+    ZonedDateTime quietEnd = now.with(end).withSecond(0).withNano(0);
+    if (!quietEnd.isAfter(now)) {
+      quietEnd = quietEnd.plusDays(1);
+    }
+    return quietEnd.plus(offset(email, spread));
+  }
+
+  private ZonedDateTime preferredReleaseAt(String email, LocalTime preferredTime,
+      ZonedDateTime now) {
+    ZonedDateTime today = now.with(preferredTime).withSecond(0).withNano(0);
+    // 자정을 넘기는 수신 시간대(예: 23:30 부터 1시간)도 있으므로 어제 시작한 시간대도 본다
+    for (ZonedDateTime start : new ZonedDateTime[] {today.minusDays(1), today}) {
+      if (!now.isBefore(start) && now.isBefore(start.plus(preferredWindow))) {
+        return null;
+      }
+    }
+    ZonedDateTime next = today.isAfter(now) ? today : today.plusDays(1);
+    Duration limit = spread.compareTo(preferredWindow) < 0 ? spread : preferredWindow;
+    return next.plus(offset(email, limit));
+  }
+
+  // start == end 는 방해 금지 없음
+  private static boolean isQuiet(LocalTime time, LocalTime start, LocalTime end) {
+    if (start.equals(end)) {
+      return false;
+    }
+    if (start.isBefore(end)) {
+      return !time.isBefore(start) && time.isBefore(end);
+    }
+    return !time.isBefore(start) || time.isBefore(end);
+  }
+
+  private static Duration offset(String email, Duration limit) {
+    long millis = limit.toMillis();
+    return millis <= 0 ? Duration.ZERO : Duration.ofMillis(Math.floorMod(email.hashCode(), millis));
+  }
+}
@@ -0,0 +1,77 @@
+package com.mokuroku.backend.notification.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 해시 타이밍 휠
+ *  - wheelSize 개의 slot 이 tick 마다 한 칸씩 돈다. 실행 시각을 tick 단위로 바꿔 (tick % wheelSize) slot 에 넣고,
+ *    한 바퀴 넘게 남은 항목은 남은 바퀴 수(rounds)를 함께 둔다. 추가는 O(1), tick 마다 slot 하나만 본다.
+ *  - 스레드를 따로 두지 않고 advance(now) 를 호출하는 쪽이 시간을 진행시킨다.
+ *  - 이미 지난 시각으로 넣은 항목은 다음 advance 에서 바로 나온다.
+ */
+public class HashedTimingWheel<T> {
+
+  private final long tickMillis;
+  private final List<List<Entry<T>>> slots;
+  private final long startMillis;
+
+  // 다음에 처리할 tick
+  private long currentTick;
+  private int size;
+
+  public HashedTimingWheel(Duration tick, int wheelSize, long nowMillis) {
+    this.tickMillis = tick.toMillis();
+    this.slots = new ArrayList<>(wheelSize);
+    for (int i = 0; i < wheelSize; i++) {
+      slots.add(new ArrayList<>());
+    }
+    this.startMillis = nowMillis;
+  }
+
+  public synchronized void schedule(T item, long deadlineMillis) {
+    long tick = Math.max(currentTick, (deadlineMillis - startMillis) / tickMillis);
+    long rounds = (tick - currentTick) / slots.size();
+    slots.get((int) (tick % slots.size())).add(new Entry<>(item, rounds));
+    size++;
+  }
+
+  /**
+   * now 까지의 tick 을 처리하고 시각이 된 항목을 돌려준다.
+   */
+  public synchronized List<T> advance(long nowMillis) {
+    long nowTick = (nowMillis - startMillis) / tickMillis;
+    List<T> expired = new ArrayList<>();
+    for (; currentTick <= nowTick; currentTick++) {
+      Iterator<Entry<T>> it = slots.get((int) (currentTick % slots.size())).iterator();
+      while (it.hasNext()) {
+        Entry<T> entry = it.next();
+        if (entry.rounds == 0) {
+          it.remove();
+          size--;
+          expired.add(entry.item);
+        } else {
+          entry.rounds--;
+        }
+      }
+    }
+    return expired;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private static final class Entry<T> {
+
+    private final T item;
+    private long rounds;
+
+    private Entry(T item, long rounds) {
+      this.item = item;
+      this.rounds = rounds;
+    }
+  }
+}
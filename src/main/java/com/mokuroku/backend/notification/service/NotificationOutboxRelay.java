@@ -0,0 +1,228 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.entity.PriceAlertType;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository.OutboxRow;
+import com.mokuroku.backend.product.crawler.CrawlRunFinishedEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 가격 알림 outbox(notification_outbox) 전송기
+ *  - 전송 시각이 된 행을 batch-size 개까지 잠그고(FOR UPDATE SKIP LOCKED) lease 를 건 뒤 커밋하고,
+ *    회원별 push 로 묶는다. 여러 노드가 함께 돌아도 같은 행을 동시에 잡지 않는다.
+ *  - 묶은 push 는 NotificationStream(Redis Stream)에 올려 모든 노드가 나눠 보낸다.
+ *    스트림을 쓰지 않거나 올리지 못하면 이 노드의 PushDispatcher 로 바로 보낸다.
+ *  - 결과는 push 가 끝나면 NotificationOutboxResults 가 기록한다. (DELIVERED / backoff 뒤 재시도 / FAILED)
+ *    스케줄러 스레드는 결과를 기다리지 않고 다음 묶음으로 넘어간다.
+ *  - 회원별 digest: 새 행은 digest window 뒤에 전송 시각이 된다. 회원의 행 하나가 전송 시각이 되면
+ *    그 회원의 대기 중인 행을 모두 push 한 번으로 보내고, 크롤링 실행이 끝나면 대기 중인 행을 바로 보낸다.
+ *    같은 상품이 여러 번 바뀌었으면 처음 가격 -> 마지막 가격 한 건으로 합치고,
+ *    본문에는 하락률이 큰 순서로 max-lines 개까지만 적는다.
+ *  - 회원의 수신 시간대(DeliveryWindows) 밖이면 보내지 않고 보류한다. DeliveryHoldQueue 가 보낼 시각에 풀면
+ *    그동안 쌓인 행을 모두 push 한 번으로 보낸다.
+ * 전송 도중 노드가 죽으면 lease 가 지난 뒤 다시 보내므로 드물게 같은 알림이 두 번 갈 수 있다. (at-least-once)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxRelay {
+
+  private static final int CLEANUP_BATCH_SIZE = 1000;
+
+  private final NotificationOutboxRepository outboxRepository;
+  private final NotificationOutboxResults outboxResults;
+  private final NotificationStream notificationStream;
+  private final PushDispatcher pushDispatcher;
+  private final DeliveryWindows deliveryWindows;
+  private final DeliveryHoldQueue holdQueue;
+  private final TransactionTemplate tx;
+
+  @Value("${mokuroku.notification.outbox.batch-size:200}")
+  private int batchSize;
+
+  // 가져간 행을 다른 노드가 다시 가져가지 않는 시간 (이 안에 전송 결과를 기록해야 한다)
+  @Value("${mokuroku.notification.outbox.lease:5m}")
+  private Duration lease;
+
+  // 전송 완료된 행 보관 기간
+  @Value("${mokuroku.notification.outbox.retention:7d}")
+  private Duration retention;
+
+  @Value("${mokuroku.notification.digest.enabled:true}")
+  private boolean digestEnabled;
+
+  @Value("${mokuroku.notification.digest.window:10m}")
+  private Duration digestWindow;
+
+  @Value("${mokuroku.notification.digest.max-lines:3}")
+  private int maxLines;
+
+  // 새 outbox 행의 전송 시각
+  public LocalDateTime availableAt() {
+    LocalDateTime now = LocalDateTime.now();
+    return digestEnabled ? now.plus(digestWindow) : now;
+  }
+
+  @Scheduled(fixedDelayString = "${mokuroku.notification.outbox.poll-interval-ms:2000}")
+  public void relay() {
+    // 한 번에 다 못 가져왔으면(밀려 있으면) 바로 다음 묶음 (push 큐에 한 묶음이 들어갈 자리가 있을 때만)
+    while (relayBatch() >= batchSize && pushDispatcher.getRemainingCapacity() >= batchSize) {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+    }
+  }
+
+  @EventListener
+  public void onRunFinished(CrawlRunFinishedEvent e) {
+    int released = outboxRepository.releaseDigests(LocalDateTime.now());
+    log.info("price digests released after crawl run {}: rows={}", e.runId(), released);
+  }
+
+  @Scheduled(cron = "${mokuroku.notification.outbox.cleanup-cron:0 30 4 * * *}")
+  public void cleanup() {
+    LocalDateTime before = LocalDateTime.now().minus(retention);
+    int total = 0;
+    int deleted;
+    do {
+      deleted = outboxRepository.deleteDeliveredBefore(before, CLEANUP_BATCH_SIZE);
+      total += deleted;
+    } while (deleted == CLEANUP_BATCH_SIZE);
+    log.info("notification outbox cleanup: deleted={}", total);
+  }
+
+  private int relayBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    List<OutboxRow> claimed = tx.execute(status ->
+        outboxRepository.claim(now, batchSize, now.plus(lease)));
+    if (claimed == null || claimed.isEmpty()) {
+      return 0;
+    }
+
+    Map<String, List<OutboxRow>> byEmail = claimed.stream()
+        .sorted(Comparator.comparingLong(OutboxRow::id))
+        .collect(Collectors.groupingBy(OutboxRow::email, LinkedHashMap::new, Collectors.toList()));
+
+    // 수신 시간대 밖인 회원은 보류
+    deliveryWindows.holdUntil(byEmail.keySet(), Instant.now())
+        .forEach((email, releaseAt) -> hold(email, byEmail.remove(email), releaseAt));
+
+    // 스트림에 올린 push 는 받은 노드가 결과를 기록한다. 나머지만 이 노드에서 보낸다.
+    Map<String, Map<Long, Integer>> local = new LinkedHashMap<>();
+    Map<String, CompletableFuture<Boolean>> results = new HashMap<>();
+    byEmail.forEach((email, rows) -> {
+      PushMessage message = compose(email, rows);
+      Map<Long, Integer> attempts = attemptsById(rows);
+      if (!notificationStream.publish(message, attempts)) {
+        local.put(email, attempts);
+        results.put(email, pushDispatcher.enqueue(message));
+      }
+    });
+    // 끝나지 않은 회원의 행은 그대로 두고 lease 가 끝난 뒤 다시 보낸다
+    if (!local.isEmpty()) {
+      outboxResults.recordWhenDone(results, local, lease.dividedBy(2));
+    }
+    return claimed.size();
+  }
+
+  private void hold(String email, List<OutboxRow> rows, Instant releaseAt) {
+    LocalDateTime heldUntil = LocalDateTime.ofInstant(releaseAt, ZoneId.systemDefault());
+    // 보류 큐에 넣었으면 큐가 풀어 주기를 기다리고, lease 가 지나도 풀리지 않으면 relay 가 다시 가져간다
+    LocalDateTime availableAt =
+        holdQueue.hold(email, releaseAt) ? heldUntil.plus(lease) : heldUntil;
+    outboxRepository.hold(rows.stream().map(OutboxRow::id).toList(), heldUntil, availableAt);
+  }
+
+  // claim 에서 attempts 가 이미 1 늘어났다
+  private static Map<Long, Integer> attemptsById(List<OutboxRow> rows) {
+    Map<Long, Integer> attempts = new LinkedHashMap<>();
+    rows.forEach(row -> attempts.put(row.id(), row.attempts() + 1));
+    return attempts;
+  }
+
+  private PushMessage compose(String email, List<OutboxRow> rows) {
+    // 같은 상품은 처음 가격 -> 마지막 가격으로 합친다 (rows 는 id 순)
+    Map<Long, Change> byProduct = new LinkedHashMap<>();
+    for (OutboxRow row : rows) {
+      byProduct.merge(row.productId(), new Change(row), Change::merge);
+    }
+    List<Change> sorted = byProduct.values().stream()
+        .sorted(Comparator.comparingDouble(Change::dropRate).reversed())
+        .toList();
+    Change top = sorted.get(0);
+
+    Map<String, String> data = new HashMap<>();
+    data.put("productId", String.valueOf(top.productId()));
+    data.put("link", "/products/" + top.productId());
+    data.put("alertRuleIds", rows.stream()
+        .map(OutboxRow::alertRuleIds)
+        .collect(Collectors.joining(",")));
+
+    if (sorted.size() == 1) {
+      return new PushMessage(email, title(top),
+          String.format("%,d원 → %,d원", top.oldPrice(), top.newPrice()), data);
+    }
+    data.put("productIds", sorted.stream()
+        .map(change -> String.valueOf(change.productId()))
+        .collect(Collectors.joining(",")));
+    return new PushMessage(email, String.format("관심 상품 %d개 가격 변동", sorted.size()),
+        body(sorted), data);
+  }
+
+  private String body(List<Change> sorted) {
+    String lines = sorted.stream()
+        .limit(maxLines)
+        .map(change -> String.format("%s %,d원 → %,d원 (-%.0f%%)", change.productName(),
+            change.oldPrice(), change.newPrice(), change.dropRate() * 100))
+        .collect(Collectors.joining("\n"));
+    int rest = sorted.size() - maxLines;
+    return rest > 0 ? lines + String.format("\n외 %d개", rest) : lines;
+  }
+
+  private String title(Change change) {
+    if (change.alertType() == null) {
+      return "가격 하락: " + change.productName();
+    }
+    return switch (change.alertType()) {
+      case BELOW_PRICE -> String.format("목표가 %,d원 도달: %s", change.threshold(), change.productName());
+      case PERCENT_DROP -> "가격 하락: " + change.productName();
+      case ALL_TIME_LOW -> "역대 최저가: " + change.productName();
+    };
+  }
+
+  private record Change(Long productId, String productName, int oldPrice, int newPrice,
+                        PriceAlertType alertType, Integer threshold) {
+
+    Change(OutboxRow row) {
+      this(row.productId(), row.productName(), row.oldPrice(), row.newPrice(), row.alertType(),
+          row.threshold());
+    }
+
+    // 처음 가격과 첫 알림 규칙은 유지하고 마지막 가격을 쓴다
+    Change merge(Change later) {
+      return new Change(productId, later.productName, oldPrice, later.newPrice, alertType,
+          threshold);
+    }
+
+    double dropRate() {
+      return oldPrice <= 0 ? 0 : (double) (oldPrice - newPrice) / oldPrice;
+    }
+  }
+}
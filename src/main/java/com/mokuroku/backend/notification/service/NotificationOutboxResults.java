@@ -0,0 +1,138 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.entity.OutboxStatus;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * outbox 전송 결과 기록
+ *  - 전달된 행은 DELIVERED
+ *  - 전달하지 못한 행은 지수 backoff 뒤 다시 전송 대상이 되고, max-attempts 번 실패하면 FAILED
+ * 이 노드가 직접 보낸 결과(NotificationOutboxRelay)와 스트림으로 받아 보낸 결과(NotificationStream)에 같이 쓴다.
+ * push 결과를 기다리는 호출 측 스레드가 없도록 recordWhenDone 은 결과가 나오면 boundedElastic 에서 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxResults {
+
+  // 기록은 JDBC 호출이므로 push worker / timeout 스레드가 아닌 곳에서 실행
+  private static final Executor RECORDER = task -> Schedulers.boundedElastic().schedule(task);
+
+  private final NotificationOutboxRepository outboxRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.notification.outbox.max-attempts:8}")
+  private int maxAttempts;
+
+  @Value("${mokuroku.notification.outbox.min-backoff:30s}")
+  private Duration minBackoff;
+
+  @Value("${mokuroku.notification.outbox.max-backoff:1h}")
+  private Duration maxBackoff;
+
+  private Counter delivered;
+  private Counter retried;
+  private Counter failed;
+
+  @PostConstruct
+  void init() {
+    delivered = outcome("delivered");
+    retried = outcome("retried");
+    failed = outcome("failed");
+  }
+
+  /**
+   * @param deliveredIds 전달된 행
+   * @param undelivered  전달하지 못한 행 id -> 지금까지의 시도 횟수 (이번 시도 포함)
+   */
+  public void record(Collection<Long> deliveredIds, Map<Long, Integer> undelivered) {
+    LocalDateTime now = LocalDateTime.now();
+    List<Retry> retries = new ArrayList<>(undelivered.size());
+    undelivered.forEach((id, attempts) -> retries.add(retry(id, attempts, now)));
+
+    outboxRepository.markDelivered(deliveredIds, now);
+    outboxRepository.markRetry(retries);
+    delivered.increment(deliveredIds.size());
+  }
+
+  /**
+   * push 들이 모두 끝나거나 timeout 이 지나면 결과를 기록한다. (호출 스레드는 기다리지 않는다)
+   * timeout 까지 끝나지 않은 push 의 행은 기록하지 않으므로 lease 가 끝난 뒤 다시 보낸다.
+   *
+   * @param results       push 별 전송 결과
+   * @param attemptsByKey push 별 outbox 행 id -> 시도 횟수 (이번 시도 포함)
+   * @return 결과를 기록한 push (기록에 실패하면 빈 목록)
+   */
+  public <K> CompletableFuture<List<K>> recordWhenDone(Map<K, CompletableFuture<Boolean>> results,
+      Map<K, Map<Long, Integer>> attemptsByKey, Duration timeout) {
+    return CompletableFuture.allOf(results.values().toArray(CompletableFuture[]::new))
+        .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .handleAsync((ignored, e) -> recordDone(results, attemptsByKey), RECORDER);
+  }
+
+  private <K> List<K> recordDone(Map<K, CompletableFuture<Boolean>> results,
+      Map<K, Map<Long, Integer>> attemptsByKey) {
+    List<Long> deliveredIds = new ArrayList<>();
+    Map<Long, Integer> undelivered = new HashMap<>();
+    List<K> done = new ArrayList<>();
+    results.forEach((key, result) -> {
+      if (!result.isDone()) {
+        return;
+      }
+      if (Boolean.TRUE.equals(result.exceptionally(e -> false).getNow(false))) {
+        deliveredIds.addAll(attemptsByKey.get(key).keySet());
+      } else {
+        undelivered.putAll(attemptsByKey.get(key));
+      }
+      done.add(key);
+    });
+    if (done.size() < results.size()) {
+      log.warn("notification outbox: push results timed out, pushes={}",
+          results.size() - done.size());
+    }
+    try {
+      record(deliveredIds, undelivered);
+      return done;
+    } catch (Exception e) {
+      // 기록하지 못한 행은 lease 가 끝난 뒤 다시 보낸다
+      log.warn("notification outbox: recording push results failed ({})", e.getMessage());
+      return List.of();
+    }
+  }
+
+  private Retry retry(long id, int attempts, LocalDateTime now) {
+    if (attempts >= maxAttempts) {
+      failed.increment();
+      log.warn("notification outbox row {} failed after {} attempts", id, attempts);
+      return new Retry(id, OutboxStatus.FAILED, now, "push not delivered");
+    }
+    retried.increment();
+    long backoffMillis = Math.min(maxBackoff.toMillis(),
+        minBackoff.toMillis() << Math.min(attempts - 1, 20));
+    return new Retry(id, OutboxStatus.PENDING, now.plus(Duration.ofMillis(backoffMillis)),
+        "push not delivered");
+  }
+
+  private Counter outcome(String result) {
+    return Counter.builder("notification.outbox").tag("result", result).register(meterRegistry);
+  }
+}
@@ -0,0 +1,12 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.dto.NotificationPreferenceDTO;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface NotificationPreferenceService {
+
+  NotificationPreferenceDTO getPreference();
+
+  NotificationPreferenceDTO updatePreference(NotificationPreferenceDTO preferenceDTO);
+}
@@ -0,0 +1,395 @@
+package com.mokuroku.backend.notification.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mokuroku.backend.common.component.NodeIdentity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가격 알림 push 를 Redis Stream 으로 모든 노드에 나눠 보내기
+ *  - NotificationOutboxRelay 가 묶은 push 를 XADD 하고, 노드마다 consumer group 의 consumer 하나가
+ *    XREADGROUP 으로 batch-size 개씩 읽어 PushDispatcher 로 보낸다. 전송량이 노드 수에 비례해 늘어난다.
+ *  - 전송 결과를 outbox 에 기록한 뒤 XACK 한다. (전달 실패도 outbox 가 backoff 뒤 다시 올리므로 ACK)
+ *  - consumer(노드)가 죽어 reclaim-idle 이상 ACK 되지 않은 항목은 다른 노드가 XCLAIM 해서 보낸다.
+ *    max-deliveries 번 넘게 넘겨진 항목은 버린다. (outbox 행은 lease 가 끝나면 relay 가 다시 올린다)
+ *    XCLAIM 과 전송은 스케줄러 스레드가 아닌 consumer 스레드에서 한다. (maintain 은 요청만 남긴다)
+ *  - 지표: notification.stream.pending{consumer}, notification.stream.consumer.oldest-pending{consumer}
+ *          (이 consumer 가 가져가 아직 ACK 하지 않은 가장 오래된 항목의 나이, ms),
+ *          notification.stream.lag(그룹이 아직 읽지 않은 항목의 지연, ms),
+ *          notification.stream.oldest-pending(ACK 되지 않은 가장 오래된 항목의 나이, ms), notification.stream.length
+ *    아직 읽히지 않은 항목은 어느 consumer 에도 배정되지 않았으므로 lag 는 그룹 단위로만 잰다.
+ * Redis 장애로 XADD 하지 못하면 relay 가 그 push 를 자기 노드에서 바로 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationStream {
+
+  static final String STREAM_KEY = "notification:push";
+  static final String GROUP = "push-senders";
+
+  private static final TypeReference<Map<String, String>> DATA_TYPE = new TypeReference<>() {
+  };
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final PushDispatcher pushDispatcher;
+  private final NotificationOutboxResults outboxResults;
+  private final NodeIdentity nodeIdentity;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.notification.stream.enabled:true}")
+  private boolean enabled;
+
+  @Value("${mokuroku.notification.stream.batch-size:100}")
+  private int batchSize;
+
+  @Value("${mokuroku.notification.stream.block:2s}")
+  private Duration block;
+
+  // 이 시간 동안 ACK 되지 않은 항목은 consumer 가 죽은 것으로 보고 가져온다 (outbox lease 보다 짧게)
+  @Value("${mokuroku.notification.stream.reclaim-idle:1m}")
+  private Duration reclaimIdle;
+
+  @Value("${mokuroku.notification.stream.max-deliveries:5}")
+  private int maxDeliveries;
+
+  // 스트림 길이 상한 (비상용). 평소에는 모두 ACK 된 앞쪽 항목만 MINID 로 정리하고, consumer 가 모두 멈춰
+  // 이 길이를 넘으면 읽지 않은 항목도 오래된 순으로 잘린다. (그 outbox 행은 lease 가 끝나면 relay 가 다시 올림)
+  @Value("${mokuroku.notification.stream.max-length:100000}")
+  private long maxLength;
+
+  // 이 시간 넘게 읽지 않고 남은 항목도 없는 consumer(내려간 노드)는 그룹에서 지운다
+  @Value("${mokuroku.notification.stream.consumer-expiry:1h}")
+  private Duration consumerExpiry;
+
+  private String consumer;
+  private Thread consumerThread;
+  private volatile boolean running;
+  private volatile boolean reclaimRequested;
+
+  private volatile long pendingHere;
+  private volatile long oldestPendingHereMillis;
+  private volatile long lagMillis;
+  private volatile long oldestPendingMillis;
+  private volatile long length;
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      return;
+    }
+    consumer = nodeIdentity.getNodeId();
+    Gauge.builder("notification.stream.pending", this, stream -> stream.pendingHere)
+        .tag("consumer", consumer)
+        .register(meterRegistry);
+    Gauge.builder("notification.stream.consumer.oldest-pending", this,
+            stream -> stream.oldestPendingHereMillis)
+        .tag("consumer", consumer)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("notification.stream.lag", this, stream -> stream.lagMillis)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("notification.stream.oldest-pending", this, stream -> stream.oldestPendingMillis)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("notification.stream.length", this, stream -> stream.length)
+        .register(meterRegistry);
+
+    running = true;
+    consumerThread = new Thread(this::consume, "notification-stream-" + consumer);
+    consumerThread.setDaemon(true);
+    consumerThread.start();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @param attemptsById 이 push 에 담긴 outbox 행 id -> 시도 횟수
+   * @return 스트림에 올렸으면 true (false 면 호출 측이 직접 보낸다)
+   */
+  public boolean publish(PushMessage message, Map<Long, Integer> attemptsById) {
+    if (!enabled) {
+      return false;
+    }
+    try {
+      Map<String, String> fields = new HashMap<>();
+      fields.put("email", message.email());
+      fields.put("title", message.title());
+      fields.put("body", message.body());
+      fields.put("data", objectMapper.writeValueAsString(message.data()));
+      fields.put("outbox", attemptsById.entrySet().stream()
+          .map(entry -> entry.getKey() + ":" + entry.getValue())
+          .collect(Collectors.joining(",")));
+      streamOps().add(StreamRecords.string(fields).withStreamKey(STREAM_KEY));
+      return true;
+    } catch (Exception e) {
+      log.warn("notification stream publish failed, sending locally: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private void consume() {
+    ensureGroup();
+    while (running) {
+      try {
+        if (reclaimRequested) {
+          reclaimRequested = false;
+          reclaim();
+        }
+        List<MapRecord<String, String, String>> records = streamOps().read(
+            Consumer.from(GROUP, consumer),
+            StreamReadOptions.empty().count(batchSize).block(block),
+            StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+        if (records != null && !records.isEmpty()) {
+          deliver(records);
+        }
+      } catch (Exception e) {
+        if (!running) {
+          return;
+        }
+        // 스트림 / 그룹이 지워졌을 수 있으므로 다시 만든 뒤 잠시 쉬고 재시도
+        log.warn("notification stream read failed: {}", e.getMessage());
+        ensureGroup();
+        sleep(Duration.ofSeconds(1));
+      }
+    }
+  }
+
+  // 읽은(또는 가져온) 항목을 보내고 결과를 outbox 에 기록한 뒤 ACK
+  private void deliver(List<MapRecord<String, String, String>> records) {
+    Map<RecordId, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+    Map<RecordId, Map<Long, Integer>> outbox = new HashMap<>();
+    List<RecordId> done = new ArrayList<>();
+    for (MapRecord<String, String, String> record : records) {
+      try {
+        Map<String, String> fields = record.getValue();
+        Map<String, String> data = objectMapper.readValue(fields.get("data"), DATA_TYPE);
+        outbox.put(record.getId(), parseOutbox(fields.get("outbox")));
+        results.put(record.getId(), pushDispatcher.enqueue(
+            fields.get("email"), fields.get("title"), fields.get("body"), data));
+      } catch (Exception e) {
+        log.warn("notification stream record {} malformed: {}", record.getId(), e.getMessage());
+        done.add(record.getId());
+      }
+    }
+
+    // 끝나지 않았거나 기록하지 못한 항목은 ACK 하지 않는다 (reclaim 대상)
+    // consumer 스레드에서 기다리므로 결과가 나올 때까지 다음 항목을 읽지 않는다
+    if (!results.isEmpty()) {
+      done.addAll(awaitRecorded(
+          outboxResults.recordWhenDone(results, outbox, reclaimIdle.dividedBy(2))));
+    }
+    if (!done.isEmpty()) {
+      streamOps().acknowledge(STREAM_KEY, GROUP, done.toArray(RecordId[]::new));
+    }
+  }
+
+  private static List<RecordId> awaitRecorded(CompletableFuture<List<RecordId>> recorded) {
+    try {
+      return recorded.get();
+    } catch (ExecutionException e) {
+      log.warn("notification stream: recording push results failed ({})", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return List.of();
+  }
+
+  /**
+   * 죽은 consumer 의 항목 가져오기 요청 + 지표 갱신 + 스트림 길이 정리 + 내려간 노드의 consumer 정리
+   * (모든 노드에서 실행, XCLAIM 은 min-idle 조건으로 한 노드만 가져간다)
+   */
+  @Scheduled(fixedDelayString = "${mokuroku.notification.stream.maintenance-interval-ms:30000}")
+  public void maintain() {
+    if (!running) {
+      return;
+    }
+    try {
+      // 가져온 항목을 보내는 동안 스케줄러 스레드를 잡지 않도록 consumer 스레드가 다음 read 전에 처리
+      reclaimRequested = true;
+      // 마지막으로 읽힌 id 를 먼저 보고 pending 을 봐야, 그 사이 새로 읽혀 pending 인 항목을 지우지 않는다
+      String lastDelivered = lastDeliveredId();
+      PendingMessagesSummary summary = streamOps().pending(STREAM_KEY, GROUP);
+      refreshMetrics(summary, lastDelivered);
+      trim(summary, lastDelivered);
+      removeExpiredConsumers();
+    } catch (Exception e) {
+      log.warn("notification stream maintenance failed: {}", e.getMessage());
+    }
+  }
+
+  private void reclaim() {
+    PendingMessages pending = streamOps().pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+    List<RecordId> stale = new ArrayList<>();
+    List<RecordId> exhausted = new ArrayList<>();
+    for (PendingMessage message : pending) {
+      if (message.getElapsedTimeSinceLastDelivery().compareTo(reclaimIdle) < 0) {
+        continue;
+      }
+      if (message.getTotalDeliveryCount() >= maxDeliveries) {
+        exhausted.add(message.getId());
+      } else {
+        stale.add(message.getId());
+      }
+    }
+    if (!exhausted.isEmpty()) {
+      log.warn("notification stream: dropping {} records after {} deliveries",
+          exhausted.size(), maxDeliveries);
+      streamOps().acknowledge(STREAM_KEY, GROUP, exhausted.toArray(RecordId[]::new));
+    }
+    if (stale.isEmpty()) {
+      return;
+    }
+    List<MapRecord<String, String, String>> claimed = streamOps().claim(STREAM_KEY, GROUP,
+        consumer, reclaimIdle, stale.toArray(RecordId[]::new));
+    if (!claimed.isEmpty()) {
+      log.info("notification stream: reclaimed {} records", claimed.size());
+      deliver(claimed);
+    }
+  }
+
+  private void refreshMetrics(PendingMessagesSummary summary, String lastDelivered) {
+    long now = System.currentTimeMillis();
+    length = streamOps().size(STREAM_KEY);
+
+    pendingHere = summary.getPendingMessagesPerConsumer().getOrDefault(consumer, 0L);
+    PendingMessages oldestHere = streamOps().pending(STREAM_KEY, Consumer.from(GROUP, consumer),
+        Range.unbounded(), 1L);
+    oldestPendingHereMillis = oldestHere.isEmpty()
+        ? 0 : Math.max(0, now - timestamp(oldestHere.get(0).getIdAsString()));
+    oldestPendingMillis = summary.getTotalPendingMessages() == 0 || summary.minMessageId() == null
+        ? 0 : Math.max(0, now - timestamp(summary.minMessageId()));
+
+    // 마지막으로 읽힌 항목 이후 가장 먼저 올라온 항목의 대기 시간
+    List<MapRecord<String, String, String>> next = streamOps().range(STREAM_KEY,
+        Range.rightUnbounded(Range.Bound.exclusive(lastDelivered)), Limit.limit().count(1));
+    lagMillis = next.isEmpty() ? 0 : Math.max(0, now - timestamp(next.get(0).getId().getValue()));
+  }
+
+  private String lastDeliveredId() {
+    return streamOps().groups(STREAM_KEY).stream()
+        .filter(group -> GROUP.equals(group.groupName()))
+        .map(StreamInfo.XInfoGroup::lastDeliveredId)
+        .findFirst()
+        .orElse("0-0");
+  }
+
+  // 그룹이 읽고 ACK 까지 끝낸 항목만 지운다: ACK 되지 않은 가장 오래된 항목(없으면 마지막으로 읽힌 항목)보다
+  // 앞쪽은 모두 처리가 끝났다. XTRIM MINID 는 Redis 6.2 이상, "~" 라 노드 단위로 대략 정리된다.
+  private void trim(PendingMessagesSummary summary, String lastDelivered) {
+    String minId = summary.getTotalPendingMessages() > 0 && summary.minMessageId() != null
+        ? summary.minMessageId() : lastDelivered;
+    if (!"0-0".equals(minId)) {
+      redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("XTRIM",
+          bytes(STREAM_KEY), bytes("MINID"), bytes("~"), bytes(minId)));
+    }
+    if (length > maxLength) {
+      log.warn("notification stream length {} exceeds {}, trimming unread records",
+          length, maxLength);
+      streamOps().trim(STREAM_KEY, maxLength, true);
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void removeExpiredConsumers() {
+    List<StreamInfo.XInfoConsumer> consumers =
+        streamOps().consumers(STREAM_KEY, GROUP).stream().toList();
+    for (StreamInfo.XInfoConsumer info : consumers) {
+      if (!info.consumerName().equals(consumer) && info.pendingCount() == 0
+          && info.idleTimeMs() > consumerExpiry.toMillis()) {
+        streamOps().deleteConsumer(STREAM_KEY, Consumer.from(GROUP, info.consumerName()));
+        log.info("notification stream: removed idle consumer {}", info.consumerName());
+      }
+    }
+  }
+
+  // 그룹이 없으면 스트림과 함께 만든다 (이미 있으면 BUSYGROUP 오류 -> 무시)
+  private void ensureGroup() {
+    try {
+      redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+          .xGroupCreate(bytes(STREAM_KEY), GROUP,
+              ReadOffset.latest(), true));
+    } catch (Exception e) {
+      if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")) {
+        log.warn("notification stream group create failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  private StreamOperations<String, String, String> streamOps() {
+    return redisTemplate.opsForStream();
+  }
+
+  // "outboxId:attempts,..." -> id -> 시도 횟수
+  private static Map<Long, Integer> parseOutbox(String value) {
+    Map<Long, Integer> attempts = new LinkedHashMap<>();
+    for (String entry : value.split(",")) {
+      String[] parts = entry.split(":");
+      attempts.put(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+    }
+    return attempts;
+  }
+
+  // 스트림 항목 id 의 앞부분은 XADD 시각(ms)
+  private static long timestamp(String recordId) {
+    int dash = recordId.indexOf('-');
+    return Long.parseLong(dash < 0 ? recordId : recordId.substring(0, dash));
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    running = false;
+    if (consumerThread != null) {
+      consumerThread.interrupt();
+    }
+  }
+}
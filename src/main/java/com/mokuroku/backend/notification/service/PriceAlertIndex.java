@@ -0,0 +1,197 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.entity.PriceAlertRule;
+import com.mokuroku.backend.notification.entity.PriceAlertType;
+import com.mokuroku.backend.notification.event.PriceChangedEvent;
+import com.mokuroku.backend.notification.repository.PriceAlertRuleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 가격 알림 규칙의 메모리 인덱스 (위시리스트별)
+ *  - BELOW_PRICE / PERCENT_DROP 은 "이 가격 이하" 절대 기준가로 바꿔 정렬된 TreeMap 에 둔다.
+ *    가격이 old -> new 로 내려가면 new <= 기준가 < old 인 규칙만 subMap 으로 찾는다. (기준가를 새로 넘었을 때만 발동)
+ *  - ALL_TIME_LOW 는 위시리스트별 최저가 하나와 비교한다. 새 최저가는 가격 변경이 커밋된 뒤에만 반영한다.
+ * 가격 변동 이벤트마다 DB 에서 규칙을 읽지 않는다. 이 노드의 변경은 즉시 반영하고,
+ * 다른 노드에서 바뀐 규칙은 sync-interval 마다 updated_at 이후 변경분만 가져온다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertIndex {
+
+  private final PriceAlertRuleRepository ruleRepository;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<Long, WishlistRules> byWishlist = new ConcurrentHashMap<>();
+  private volatile LocalDateTime lastSync;
+
+  @PostConstruct
+  void init() {
+    Gauge.builder("price.alert.rules", byWishlist,
+            map -> map.values().stream().mapToInt(WishlistRules::size).sum())
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    LocalDateTime startedAt = LocalDateTime.now();
+    List<PriceAlertRule> rules = ruleRepository.findAllActive();
+    byWishlist.clear();
+    rules.forEach(this::put);
+    lastSync = startedAt;
+    log.info("price alert index loaded: rules={}", rules.size());
+  }
+
+  @Scheduled(fixedDelayString = "${mokuroku.alert.index.sync-interval-ms:30000}")
+  public void sync() {
+    if (lastSync == null) {
+      return;
+    }
+    LocalDateTime startedAt = LocalDateTime.now();
+    // 노드 간 시계 차이 / 커밋 지연을 감안해 조금 겹치게 조회 (같은 규칙을 다시 넣어도 결과는 같다)
+    List<PriceAlertRule> changed = ruleRepository.findChangedSince(lastSync.minusSeconds(30));
+    changed.forEach(rule -> {
+      if (rule.isActive()) {
+        put(rule);
+      } else {
+        remove(rule.getWishlist().getWishlistId(), rule.getPriceAlertRuleId());
+      }
+    });
+    lastSync = startedAt;
+  }
+
+  public void put(PriceAlertRule rule) {
+    long wishlistId = rule.getWishlist().getWishlistId();
+    byWishlist.computeIfAbsent(wishlistId, id -> new WishlistRules()).put(new IndexedRule(
+        rule.getPriceAlertRuleId(), rule.getType(), rule.threshold(), rule.getLowestPrice()));
+  }
+
+  public void remove(long wishlistId, long ruleId) {
+    byWishlist.computeIfPresent(wishlistId, (id, rules) -> {
+      rules.remove(ruleId);
+      return rules.size() == 0 ? null : rules;
+    });
+  }
+
+  // 가격이 oldPrice -> newPrice 로 바뀔 때 발동하는 규칙 (인덱스는 바꾸지 않는다)
+  public List<Fired> match(long wishlistId, int oldPrice, int newPrice) {
+    WishlistRules rules = byWishlist.get(wishlistId);
+    if (rules == null || newPrice <= 0) {
+      return List.of();
+    }
+    return rules.match(oldPrice, newPrice);
+  }
+
+  // ALL_TIME_LOW 규칙의 최저가보다 낮은 가격인지 (첫 가격 포함)
+  public boolean isNewLow(long wishlistId, int newPrice) {
+    WishlistRules rules = byWishlist.get(wishlistId);
+    return rules != null && newPrice > 0 && rules.isNewLow(newPrice);
+  }
+
+  // 가격 변경 트랜잭션이 롤백되면 최저가도 그대로 두어야 하므로 커밋 후에 반영
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onPriceCommitted(PriceChangedEvent event) {
+    if (event.wishlistId() == null || event.newPrice() <= 0) {
+      return;
+    }
+    WishlistRules rules = byWishlist.get(event.wishlistId());
+    if (rules != null) {
+      rules.lower(event.newPrice());
+    }
+  }
+
+  public record Fired(long ruleId, PriceAlertType type, Integer threshold) {
+  }
+
+  private record IndexedRule(long ruleId, PriceAlertType type, Integer threshold,
+                             Integer lowestPrice) {
+  }
+
+  private static class WishlistRules {
+
+    private final Map<Long, IndexedRule> rules = new HashMap<>();
+    private final NavigableMap<Integer, List<IndexedRule>> thresholds = new TreeMap<>();
+    private final List<IndexedRule> lowRules = new ArrayList<>();
+    private int lowestPrice = Integer.MAX_VALUE;
+
+    synchronized int size() {
+      return rules.size();
+    }
+
+    synchronized void put(IndexedRule rule) {
+      remove(rule.ruleId());
+      rules.put(rule.ruleId(), rule);
+      if (rule.type() == PriceAlertType.ALL_TIME_LOW) {
+        lowRules.add(rule);
+        if (rule.lowestPrice() != null) {
+          lowestPrice = Math.min(lowestPrice, rule.lowestPrice());
+        }
+      } else if (rule.threshold() != null) {
+        thresholds.computeIfAbsent(rule.threshold(), t -> new ArrayList<>()).add(rule);
+      }
+    }
+
+    synchronized void remove(long ruleId) {
+      IndexedRule removed = rules.remove(ruleId);
+      if (removed == null) {
+        return;
+      }
+      if (removed.type() == PriceAlertType.ALL_TIME_LOW) {
+        lowRules.remove(removed);
+        if (lowRules.isEmpty()) {
+          lowestPrice = Integer.MAX_VALUE;
+        }
+      } else if (removed.threshold() != null) {
+        List<IndexedRule> list = thresholds.get(removed.threshold());
+        if (list != null) {
+          list.remove(removed);
+          if (list.isEmpty()) {
+            thresholds.remove(removed.threshold());
+          }
+        }
+      }
+    }
+
+    synchronized boolean isNewLow(int newPrice) {
+      return !lowRules.isEmpty() && newPrice < lowestPrice;
+    }
+
+    synchronized void lower(int newPrice) {
+      if (!lowRules.isEmpty()) {
+        lowestPrice = Math.min(lowestPrice, newPrice);
+      }
+    }
+
+    synchronized List<Fired> match(int oldPrice, int newPrice) {
+      List<Fired> fired = new ArrayList<>();
+      // 최저가가 아직 없으면(첫 가격) 발동하지 않고, 커밋 후 lower 에서 기준만 잡는다
+      if (isNewLow(newPrice) && lowestPrice != Integer.MAX_VALUE) {
+        lowRules.forEach(rule -> fired.add(new Fired(rule.ruleId(), rule.type(), lowestPrice)));
+      }
+      if (newPrice < oldPrice) {
+        thresholds.subMap(newPrice, true, oldPrice, false).values()
+            .forEach(list -> list.forEach(rule ->
+                fired.add(new Fired(rule.ruleId(), rule.type(), rule.threshold()))));
+      }
+      return fired;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.dto.PriceAlertRuleDTO;
+import com.mokuroku.backend.notification.event.PriceChangedEvent;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface PriceAlertService {
+
+  PriceAlertRuleDTO createRule(long wishlistId, PriceAlertRuleDTO ruleDTO);
+
+  List<PriceAlertRuleDTO> getRules(long wishlistId);
+
+  void deleteRule(long wishlistId, long ruleId);
+
+  List<PriceAlertIndex.Fired> evaluate(PriceChangedEvent event);
+}
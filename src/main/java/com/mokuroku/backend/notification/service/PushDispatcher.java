@@ -0,0 +1,215 @@
+package com.mokuroku.backend.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 push 전송기
+ *  - 호출 측(가격 변동 리스너 등)은 큐에 넣고 바로 돌아간다. FCM 왕복은 전용 worker 스레드에서 실행된다.
+ *  - 큐는 queue-capacity 로 제한하고, 가득 차면 overflow 정책을 따른다.
+ *      DROP_OLDEST : 가장 오래 기다린 메시지를 버리고 넣는다 (기본값)
+ *      DROP_NEWEST : 새 메시지를 버린다
+ *      CALLER_RUNS : 호출 스레드에서 바로 전송한다 (버리지 않는 대신 호출 측이 느려진다)
+ *  - worker 는 큐에서 batch-size 개까지 한 번에 꺼내 PushSender.sendBatch 로 묶어 보낸다.
+ *  - enqueue 가 돌려주는 future 는 전송되면 true, 버려졌거나 일시적인 오류로 전달하지 못하면 false 로 끝난다.
+ * 지표: push.dispatch.enqueue(큐 적재 지연), push.dispatch.queue.wait(큐 대기 시간),
+ *       push.dispatch.queue.depth, push.dispatch.dropped{reason}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PushDispatcher {
+
+  public enum OverflowPolicy {
+    DROP_OLDEST, DROP_NEWEST, CALLER_RUNS
+  }
+
+  private final PushSender pushSender;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.push.dispatcher.queue-capacity:10000}")
+  private int queueCapacity;
+
+  @Value("${mokuroku.push.dispatcher.overflow:DROP_OLDEST}")
+  private OverflowPolicy overflowPolicy;
+
+  @Value("${mokuroku.push.dispatcher.workers:4}")
+  private int workerCount;
+
+  @Value("${mokuroku.push.dispatcher.batch-size:100}")
+  private int batchSize;
+
+  // 종료 시 남은 메시지를 보내기 위해 기다리는 최대 시간
+  @Value("${mokuroku.push.dispatcher.shutdown-timeout:10s}")
+  private Duration shutdownTimeout;
+
+  private BlockingQueue<Queued> queue;
+  private final List<Thread> workers = new ArrayList<>();
+  private volatile boolean running;
+
+  private Timer enqueueLatency;
+  private Timer queueWait;
+  private Counter droppedOldest;
+  private Counter droppedNewest;
+  private Counter droppedClosed;
+  private Counter callerRuns;
+
+  @PostConstruct
+  void start() {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    enqueueLatency = Timer.builder("push.dispatch.enqueue")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    queueWait = Timer.builder("push.dispatch.queue.wait")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    droppedOldest = dropped("oldest");
+    droppedNewest = dropped("newest");
+    droppedClosed = dropped("closed");
+    callerRuns = Counter.builder("push.dispatch.caller-runs").register(meterRegistry);
+    Gauge.builder("push.dispatch.queue.depth", this, dispatcher -> dispatcher.queue.size())
+        .register(meterRegistry);
+
+    running = true;
+    for (int i = 0; i < workerCount; i++) {
+      Thread worker = new Thread(this::work, "push-dispatch-" + i);
+      worker.setDaemon(true);
+      worker.start();
+      workers.add(worker);
+    }
+  }
+
+  public CompletableFuture<Boolean> enqueue(String email, String title, String body,
+      Map<String, String> data) {
+    return enqueue(new PushMessage(email, title, body, data));
+  }
+
+  public CompletableFuture<Boolean> enqueue(PushMessage message) {
+    long start = System.nanoTime();
+    Queued queued = new Queued(message, start, new CompletableFuture<>());
+    try {
+      if (!running) {
+        droppedClosed.increment();
+        log.warn("push dispatcher stopped, dropping push for {}", message.email());
+        queued.result().complete(false);
+        return queued.result();
+      }
+      if (queue.offer(queued)) {
+        return queued.result();
+      }
+      switch (overflowPolicy) {
+        case DROP_NEWEST -> {
+          droppedNewest.increment();
+          log.warn("push queue full ({}), dropping push for {}", queueCapacity, message.email());
+          queued.result().complete(false);
+        }
+        case DROP_OLDEST -> {
+          while (!queue.offer(queued)) {
+            Queued oldest = queue.poll();
+            if (oldest != null) {
+              droppedOldest.increment();
+              oldest.result().complete(false);
+            }
+          }
+        }
+        case CALLER_RUNS -> {
+          callerRuns.increment();
+          send(List.of(queued));
+        }
+      }
+    } finally {
+      enqueueLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    return queued.result();
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public int getRemainingCapacity() {
+    return queue.remainingCapacity();
+  }
+
+  private void work() {
+    List<Queued> batch = new ArrayList<>(batchSize);
+    // 종료 요청 후에도 큐가 빌 때까지는 계속 보낸다
+    while (running || !queue.isEmpty()) {
+      try {
+        Queued first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        send(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void send(List<Queued> batch) {
+    long now = System.nanoTime();
+    List<PushMessage> messages = new ArrayList<>(batch.size());
+    for (Queued queued : batch) {
+      queueWait.record(now - queued.enqueuedNanos(), TimeUnit.NANOSECONDS);
+      messages.add(queued.message());
+    }
+    try {
+      Set<String> failed = pushSender.sendBatch(messages);
+      batch.forEach(queued -> queued.result().complete(!failed.contains(queued.message().email())));
+    } catch (Exception e) {
+      // worker 가 죽지 않도록 로그만
+      log.error("push batch failed: messages={} ({})", messages.size(), e.getMessage(), e);
+      batch.forEach(queued -> queued.result().complete(false));
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    running = false;
+    long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+    for (Thread worker : workers) {
+      try {
+        worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    workers.forEach(Thread::interrupt);
+    if (!queue.isEmpty()) {
+      log.warn("push dispatcher stopped with {} messages unsent", queue.size());
+      queue.forEach(queued -> queued.result().complete(false));
+    }
+  }
+
+  private Counter dropped(String reason) {
+    return Counter.builder("push.dispatch.dropped").tag("reason", reason).register(meterRegistry);
+  }
+
+  private record Queued(PushMessage message, long enqueuedNanos,
+                        CompletableFuture<Boolean> result) {
+  }
+}
@@ -0,0 +1,9 @@
+package com.mokuroku.backend.notification.service;
+
+import java.util.Map;
+
+/**
+ * 회원 한 명에게 보낼 data-only push 한 건 (토큰은 전송 시점에 조회)
+ */
+public record PushMessage(String email, String title, String body, Map<String, String> data) {
+}
@@ -1,75 +1,115 @@
 package com.mokuroku.backend.notification.service;
 
-import com.google.firebase.messaging.BatchResponse;
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.MessagingErrorCode;
-import com.google.firebase.messaging.MulticastMessage;
-import com.google.firebase.messaging.SendResponse;
-import com.mokuroku.backend.notification.repository.MemberPushTokenRepository;
+import com.mokuroku.backend.notification.transport.PushTransport;
+import com.mokuroku.backend.notification.transport.PushTransport.Result;
+import com.mokuroku.backend.notification.transport.PushTransport.TokenMessage;
+import com.mokuroku.backend.notification.transport.PushTransportException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+/**
+ * push 전송 (실제 전송은 PushTransport 구현체: FCM 또는 부하 테스트용 stub)
+ * 크롤링 / 이벤트 처리 스레드에서는 직접 부르지 않고 PushDispatcher 큐를 거친다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PushSender {
 
-  private final FirebaseMessaging firebaseMessaging;
-  private final MemberPushTokenRepository pushTokenRepository;
+  private final PushTransport transport;
+  private final PushTokenDirectory tokenDirectory;
 
-  // 단일 유저 이메일 기준으로 data-only 전송
-  public void sendToEmail(String email, String title, String body, Map<String, String> data) {
-    List<String> tokens = pushTokenRepository.findActiveTokensByEmail(email);
-    if (tokens == null || tokens.isEmpty()) {
-      log.info("sendToEmail: no active tokens for {}", email);
-      return;
+  // 여러 회원의 메시지를 토큰별 메시지로 펼쳐 transport 한도만큼씩 전송 (PushDispatcher worker 용)
+  // 토큰은 묶음 전체를 한 번에 조회하고, 실패 토큰은 묶음이 끝난 뒤 한 번에 revoke 한다.
+  // 반환값: 일시적인 오류로 어느 토큰에도 전달하지 못한 회원 (호출 측이 재시도)
+  public Set<String> sendBatch(List<PushMessage> messages) {
+    Set<String> emails = messages.stream().map(PushMessage::email).collect(Collectors.toSet());
+    Map<String, List<String>> tokensByEmail = tokenDirectory.activeTokens(emails);
+
+    List<TokenMessage> tokenMessages = new ArrayList<>();
+    List<String> owners = new ArrayList<>();
+    for (PushMessage message : messages) {
+      List<String> memberTokens = tokensByEmail.get(message.email());
+      if (memberTokens == null || memberTokens.isEmpty()) {
+        log.info("sendBatch: no active tokens for {}", message.email());
+        continue;
+      }
+      Map<String, String> data = commonData(message.title(), message.body(), message.data());
+      for (String token : memberTokens) {
+        tokenMessages.add(new TokenMessage(token, data));
+        owners.add(message.email());
+      }
     }
-    sendToTokens(tokens, title, body, data);
+    return send(tokenMessages, owners);
   }
 
-  // 여러 토큰에 data-only 전송 + 실패 토큰 revoke
-  private void sendToTokens(List<String> tokens, String title, String body, Map<String, String> data) {
-    var msg = MulticastMessage.builder()
-        .putAllData(commonData(title, body, data)) // SW(onBackgroundMessage)용 data-only
-        .addAllTokens(tokens)
-        .build();
+  // owners: 메시지별 수신 회원 (같은 순서)
+  private Set<String> send(List<TokenMessage> messages, List<String> owners) {
+    List<String> badTokens = new ArrayList<>();
+    Set<String> delivered = new HashSet<>();
+    Set<String> failed = new HashSet<>();
+    int limit = transport.maxBatchSize();
 
-    try {
-      BatchResponse resp = firebaseMessaging.sendEachForMulticast(msg);
-
-      // 실패 토큰 정리
-      for (int i = 0; i < resp.getResponses().size(); i++) {
-        SendResponse r = resp.getResponses().get(i);
-        if (!r.isSuccessful()) {
-          FirebaseMessagingException fme = r.getException(); // 실패 시 대부분 이 타입
-          if (fme != null) {
-            MessagingErrorCode code = fme.getMessagingErrorCode();
-            String badToken = tokens.get(i);
-            if (code == MessagingErrorCode.UNREGISTERED || code == MessagingErrorCode.INVALID_ARGUMENT) {
-              pushTokenRepository.revokeByTokenNow(badToken);
-              log.info("revoked bad token: {} ({})", badToken, code);
-            } else {
-              log.warn("send failure: token={}, code={}, message={}", badToken, code, fme.getMessage());
-            }
+    for (int from = 0; from < messages.size(); from += limit) {
+      int to = Math.min(from + limit, messages.size());
+      List<TokenMessage> chunk = messages.subList(from, to);
+      List<String> chunkOwners = owners.subList(from, to);
+      try {
+        List<Result> results = transport.send(chunk);
+        int failures = 0;
+        for (int i = 0; i < results.size(); i++) {
+          Result r = results.get(i);
+          if (r.isSuccessful()) {
+            delivered.add(chunkOwners.get(i));
+            continue;
+          }
+          failures++;
+          String token = chunk.get(i).token();
+          if (r.failure().isInvalidToken()) {
+            badTokens.add(token);
+            log.info("bad token: {} ({})", token, r.failure());
           } else {
-            log.warn("send failure without exception object for token={}", tokens.get(i));
+            if (r.failure().isTransient()) {
+              failed.add(chunkOwners.get(i));
+            }
+            log.warn("send failure: token={}, code={}, message={}", token, r.failure(), r.message());
           }
         }
+        log.info("push batch: requested={}, success={}, failure={}",
+            chunk.size(), chunk.size() - failures, failures);
+      } catch (PushTransportException e) {
+        // 시스템/네트워크 레벨 장애: 업무 트랜잭션에 영향 주지 않도록 로그만 (호출 측이 재시도)
+        log.error("push transport call failed: {}", e.getMessage(), e);
+        failed.addAll(chunkOwners);
+      } catch (Exception e) {
+        log.error("Unexpected push error", e);
+        failed.addAll(chunkOwners);
       }
+    }
+    revoke(badTokens);
+    // 토큰 하나라도 받았으면 다시 보내지 않는다 (이미 받은 기기에 중복 알림 방지)
+    failed.removeAll(delivered);
+    return failed;
+  }
 
-      log.info("push multicast: requested={}, success={}, failure={}",
-          tokens.size(), resp.getSuccessCount(), resp.getFailureCount());
-
-    } catch (FirebaseMessagingException e) {
-      // 시스템/네트워크 레벨 장애: 업무 트랜잭션에 영향 주지 않도록 로그만
-      log.error("FCM multicast call failed: {}", e.getMessage(), e);
+  private void revoke(List<String> badTokens) {
+    if (badTokens.isEmpty()) {
+      return;
+    }
+    try {
+      int revoked = tokenDirectory.revoke(badTokens);
+      log.info("revoked bad tokens: requested={}, revoked={}", badTokens.size(), revoked);
     } catch (Exception e) {
-      log.error("Unexpected push error", e);
+      // 다음 전송에서 다시 실패하면 그때 다시 revoke 된다
+      log.warn("bad token revoke failed: tokens={} ({})", badTokens.size(), e.getMessage());
     }
   }
 
@@ -82,4 +122,3 @@ public class PushSender {
     return m;
   }
 }
-
@@ -0,0 +1,57 @@
+package com.mokuroku.backend.notification.service;
+
+import com.mokuroku.backend.notification.repository.MemberPushTokenRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * push 토큰 조회 / 정리
+ *  - 전송 묶음에 들어 있는 회원들의 활성 토큰을 IN 조회 한 번으로 가져온다. (회원마다 조회하지 않음)
+ *  - 전송에 실패한 토큰(UNREGISTERED / INVALID_ARGUMENT)은 모아서 UPDATE 한 번으로 revoke 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PushTokenDirectory {
+
+  // IN 절 하나에 넣는 최대 값 개수
+  private static final int IN_CHUNK_SIZE = 1000;
+
+  private final MemberPushTokenRepository pushTokenRepository;
+
+  // email -> 활성 토큰 목록 (토큰이 없는 회원은 결과에 없음)
+  public Map<String, List<String>> activeTokens(Collection<String> emails) {
+    Map<String, List<String>> tokens = new HashMap<>();
+    for (List<String> chunk : chunks(emails)) {
+      pushTokenRepository.findActiveTokensByEmailIn(chunk).forEach(t ->
+          tokens.computeIfAbsent(t.getEmail(), k -> new ArrayList<>()).add(t.getToken()));
+    }
+    return tokens;
+  }
+
+  @Transactional
+  public int revoke(Collection<String> tokens) {
+    LocalDateTime now = LocalDateTime.now();
+    int revoked = 0;
+    for (List<String> chunk : chunks(tokens)) {
+      revoked += pushTokenRepository.revokeByTokens(chunk, now);
+    }
+    return revoked;
+  }
+
+  private static List<List<String>> chunks(Collection<String> values) {
+    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+    List<List<String>> chunks = new ArrayList<>();
+    for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+      chunks.add(distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size())));
+    }
+    return chunks;
+  }
+}
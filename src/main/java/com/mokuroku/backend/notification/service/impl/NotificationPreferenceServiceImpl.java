@@ -0,0 +1,72 @@
+package com.mokuroku.backend.notification.service.impl;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import com.mokuroku.backend.member.entity.Member;
+import com.mokuroku.backend.member.repository.MemberRepository;
+import com.mokuroku.backend.member.security.MemberAuthUtil;
+import com.mokuroku.backend.notification.dto.NotificationPreferenceDTO;
+import com.mokuroku.backend.notification.entity.NotificationPreference;
+import com.mokuroku.backend.notification.repository.NotificationPreferenceRepository;
+import com.mokuroku.backend.notification.service.DeliveryWindows;
+import com.mokuroku.backend.notification.service.NotificationPreferenceService;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationPreferenceServiceImpl implements NotificationPreferenceService {
+
+  private final MemberRepository memberRepository;
+  private final NotificationPreferenceRepository preferenceRepository;
+  private final DeliveryWindows deliveryWindows;
+
+  @Override
+  @Transactional(readOnly = true)
+  public NotificationPreferenceDTO getPreference() {
+
+    String email = MemberAuthUtil.getLoginUserId();
+
+    // 설정한 적이 없으면 기본 방해 금지 시간을 보여준다
+    return preferenceRepository.findById(email)
+        .map(NotificationPreferenceDTO::toDTO)
+        .orElseGet(() -> NotificationPreferenceDTO.builder()
+            .quietHoursEnabled(deliveryWindows.isEnabled())
+            .quietStart(deliveryWindows.getDefaultQuietStart())
+            .quietEnd(deliveryWindows.getDefaultQuietEnd())
+            .build());
+  }
+
+  @Override
+  @Transactional
+  public NotificationPreferenceDTO updatePreference(NotificationPreferenceDTO preferenceDTO) {
+
+    String email = MemberAuthUtil.getLoginUserId();
+
+    Member member = memberRepository.findById(email)
+        .orElseThrow(() -> new CustomException(ErrorCode.MEMBER_NOT_FOUND));
+
+    if (!member.getStatus().equals("1")) {
+      throw new CustomException(ErrorCode.ACCOUNT_DISABLED);
+    }
+
+    // 방해 금지 시작 / 종료 시각은 함께 설정해야 하고 같을 수 없다
+    if ((preferenceDTO.getQuietStart() == null) != (preferenceDTO.getQuietEnd() == null)
+        || (preferenceDTO.getQuietStart() != null
+        && preferenceDTO.getQuietStart().equals(preferenceDTO.getQuietEnd()))) {
+      throw new CustomException(ErrorCode.INVALID_NOTIFICATION_PREFERENCE);
+    }
+
+    NotificationPreference saved = preferenceRepository.save(NotificationPreference.builder()
+        .email(email)
+        .quietHoursEnabled(preferenceDTO.getQuietHoursEnabled())
+        .quietStart(preferenceDTO.getQuietStart())
+        .quietEnd(preferenceDTO.getQuietEnd())
+        .preferredTime(preferenceDTO.getPreferredTime())
+        .updatedAt(LocalDateTime.now())
+        .build());
+    return NotificationPreferenceDTO.toDTO(saved);
+  }
+}
@@ -0,0 +1,157 @@
+package com.mokuroku.backend.notification.service.impl;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import com.mokuroku.backend.member.entity.Member;
+import com.mokuroku.backend.member.repository.MemberRepository;
+import com.mokuroku.backend.member.security.MemberAuthUtil;
+import com.mokuroku.backend.notification.dto.PriceAlertRuleDTO;
+import com.mokuroku.backend.notification.entity.PriceAlertRule;
+import com.mokuroku.backend.notification.event.PriceChangedEvent;
+import com.mokuroku.backend.notification.repository.PriceAlertRuleRepository;
+import com.mokuroku.backend.notification.service.PriceAlertIndex;
+import com.mokuroku.backend.notification.service.PriceAlertService;
+import com.mokuroku.backend.product.entity.Product;
+import com.mokuroku.backend.product.entity.Wishlist;
+import com.mokuroku.backend.product.repository.PriceRollupRepository;
+import com.mokuroku.backend.product.repository.ProductRepository;
+import com.mokuroku.backend.product.repository.WishlistRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class PriceAlertServiceImpl implements PriceAlertService {
+
+  private final MemberRepository memberRepository;
+  private final WishlistRepository wishlistRepository;
+  private final ProductRepository productRepository;
+  private final PriceRollupRepository priceRollupRepository;
+  private final PriceAlertRuleRepository ruleRepository;
+  private final PriceAlertIndex priceAlertIndex;
+
+  @Override
+  public PriceAlertRuleDTO createRule(long wishlistId, PriceAlertRuleDTO ruleDTO) {
+
+    Wishlist wishlist = getMyWishlist(wishlistId);
+
+    if (ruleDTO.getType() == null) {
+      throw new CustomException(ErrorCode.INVALID_ALERT_RULE);
+    }
+
+    Integer currentPrice = productRepository.findByWishlist(wishlist)
+        .map(Product::getPrice)
+        .filter(price -> price != null && price > 0)
+        .orElse(null);
+
+    PriceAlertRule.PriceAlertRuleBuilder builder = PriceAlertRule.builder()
+        .wishlist(wishlist)
+        .member(wishlist.getMember())
+        .type(ruleDTO.getType())
+        .active(true)
+        .createdDate(LocalDateTime.now())
+        .updatedAt(LocalDateTime.now());
+
+    switch (ruleDTO.getType()) {
+      case BELOW_PRICE -> {
+        if (ruleDTO.getTargetPrice() == null || ruleDTO.getTargetPrice() <= 0) {
+          throw new CustomException(ErrorCode.INVALID_ALERT_RULE);
+        }
+        builder.targetPrice(ruleDTO.getTargetPrice());
+      }
+      case PERCENT_DROP -> {
+        if (ruleDTO.getDropPercent() == null
+            || ruleDTO.getDropPercent() <= 0 || ruleDTO.getDropPercent() >= 100) {
+          throw new CustomException(ErrorCode.INVALID_ALERT_RULE);
+        }
+        // 하락률의 기준은 등록 시점 가격
+        if (currentPrice == null) {
+          throw new CustomException(ErrorCode.PRICE_NOT_AVAILABLE);
+        }
+        builder.dropPercent(ruleDTO.getDropPercent()).basePrice(currentPrice);
+      }
+      case ALL_TIME_LOW -> builder.lowestPrice(lowestPrice(wishlist, currentPrice));
+    }
+
+    PriceAlertRule rule = ruleRepository.save(builder.build());
+    priceAlertIndex.put(rule);
+
+    return PriceAlertRuleDTO.toDTO(rule);
+  }
+
+  @Override
+  public List<PriceAlertRuleDTO> getRules(long wishlistId) {
+
+    Wishlist wishlist = getMyWishlist(wishlistId);
+
+    return ruleRepository.findByWishlistAndActiveTrue(wishlist).stream()
+        .map(PriceAlertRuleDTO::toDTO)
+        .toList();
+  }
+
+  @Override
+  public void deleteRule(long wishlistId, long ruleId) {
+
+    Wishlist wishlist = getMyWishlist(wishlistId);
+
+    PriceAlertRule rule = ruleRepository.findByPriceAlertRuleIdAndWishlist(ruleId, wishlist)
+        .filter(PriceAlertRule::isActive)
+        .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_ALERT_RULE));
+
+    ruleRepository.save(rule.toBuilder()
+        .active(false)
+        .updatedAt(LocalDateTime.now())
+        .build());
+    priceAlertIndex.remove(wishlistId, ruleId);
+  }
+
+  // 가격 변경 트랜잭션 안(BEFORE_COMMIT 리스너)에서 호출되어 발동 기록이 outbox 와 함께 커밋된다
+  @Override
+  @Transactional
+  public List<PriceAlertIndex.Fired> evaluate(PriceChangedEvent event) {
+    if (event.wishlistId() == null) {
+      return List.of();
+    }
+    List<PriceAlertIndex.Fired> fired =
+        priceAlertIndex.match(event.wishlistId(), event.oldPrice(), event.newPrice());
+    LocalDateTime now = LocalDateTime.now();
+
+    if (!fired.isEmpty()) {
+      ruleRepository.markFired(fired.stream().map(PriceAlertIndex.Fired::ruleId).toList(), now);
+    }
+    // 메모리 인덱스의 최저가는 커밋 후 PriceAlertIndex.onPriceCommitted 에서 낮춘다
+    if (priceAlertIndex.isNewLow(event.wishlistId(), event.newPrice())) {
+      ruleRepository.lowerLowestPrice(event.wishlistId(), event.newPrice(), now);
+    }
+    return fired;
+  }
+
+  // 지금까지의 최저가 (월 집계 최저가와 현재 가격 중 낮은 값, 둘 다 없으면 첫 가격이 기준이 된다)
+  private Integer lowestPrice(Wishlist wishlist, Integer currentPrice) {
+    Integer historical = wishlist.getCatalogItem() == null ? null
+        : priceRollupRepository.findLowestPrice(wishlist.getCatalogItem().getCatalogItemId());
+    if (historical == null) {
+      return currentPrice;
+    }
+    return currentPrice == null ? historical : Math.min(historical, currentPrice);
+  }
+
+  private Wishlist getMyWishlist(long wishlistId) {
+
+    String email = MemberAuthUtil.getLoginUserId();
+
+    // 회원인지 검증 -> 회원상태 enum 값으로 변경되면 그 상태에 맞게 수정
+    Member member = memberRepository.findById(email)
+        .orElseThrow(() -> new CustomException(ErrorCode.MEMBER_NOT_FOUND));
+
+    if (!member.getStatus().equals("1")) {
+      throw new CustomException(ErrorCode.ACCOUNT_DISABLED);
+    }
+
+    return wishlistRepository.findByWishlistIdAndMember(wishlistId, member)
+        .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_WISHLIST));
+  }
+}
@@ -0,0 +1,76 @@
+package com.mokuroku.backend.notification.transport;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * FCM(sendEach) 전송
+ */
+@Component
+@ConditionalOnProperty(name = "mokuroku.push.transport", havingValue = "firebase", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FirebasePushTransport implements PushTransport {
+
+  // FCM 한 번 호출에 보낼 수 있는 최대 메시지 수
+  private static final int FCM_BATCH_LIMIT = 500;
+
+  private final FirebaseMessaging firebaseMessaging;
+
+  @Override
+  public int maxBatchSize() {
+    return FCM_BATCH_LIMIT;
+  }
+
+  @Override
+  public List<Result> send(List<TokenMessage> messages) throws PushTransportException {
+    List<Message> fcmMessages = messages.stream()
+        .map(m -> Message.builder()
+            .putAllData(m.data()) // SW(onBackgroundMessage)용 data-only
+            .setToken(m.token())
+            .build())
+        .toList();
+
+    BatchResponse resp;
+    try {
+      resp = firebaseMessaging.sendEach(fcmMessages);
+    } catch (FirebaseMessagingException e) {
+      throw new PushTransportException("FCM call failed: " + e.getMessage(), e);
+    }
+
+    List<Result> results = new ArrayList<>(resp.getResponses().size());
+    for (SendResponse r : resp.getResponses()) {
+      if (r.isSuccessful()) {
+        results.add(Result.success());
+      } else {
+        FirebaseMessagingException fme = r.getException(); // 실패 시 대부분 이 타입
+        results.add(fme == null
+            ? new Result(Failure.UNKNOWN, "send failure without exception object")
+            : new Result(toFailure(fme.getMessagingErrorCode()), fme.getMessage()));
+      }
+    }
+    return results;
+  }
+
+  private static Failure toFailure(MessagingErrorCode code) {
+    if (code == null) {
+      return Failure.UNKNOWN;
+    }
+    return switch (code) {
+      case UNREGISTERED -> Failure.UNREGISTERED;
+      case INVALID_ARGUMENT -> Failure.INVALID_ARGUMENT;
+      case QUOTA_EXCEEDED -> Failure.QUOTA_EXCEEDED;
+      case UNAVAILABLE -> Failure.UNAVAILABLE;
+      case INTERNAL -> Failure.INTERNAL;
+      default -> Failure.UNKNOWN;
+    };
+  }
+}
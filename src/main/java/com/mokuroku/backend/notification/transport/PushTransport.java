@@ -0,0 +1,57 @@
+package com.mokuroku.backend.notification.transport;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * push 전송 수단 (PushSender 가 사용)
+ *  - mokuroku.push.transport=firebase (기본값) : FirebasePushTransport
+ *  - mokuroku.push.transport=stub              : StubPushTransport (부하 테스트용, 외부 호출 없음)
+ */
+public interface PushTransport {
+
+  // 한 번 호출에 보낼 수 있는 최대 메시지 수
+  int maxBatchSize();
+
+  /**
+   * 토큰별 메시지를 한 번에 전송한다. (maxBatchSize 개 이하)
+   * @return 요청 순서와 같은 순서의 토큰별 결과
+   * @throws PushTransportException 호출 자체가 실패한 경우 (네트워크 / 인증 등)
+   */
+  List<Result> send(List<TokenMessage> messages) throws PushTransportException;
+
+  enum Failure {
+    UNREGISTERED,      // 앱 삭제 등으로 더 이상 유효하지 않은 토큰
+    INVALID_ARGUMENT,  // 형식이 잘못된 토큰
+    QUOTA_EXCEEDED,
+    UNAVAILABLE,
+    INTERNAL,
+    UNKNOWN;
+
+    // 토큰을 revoke 해야 하는 실패
+    public boolean isInvalidToken() {
+      return this == UNREGISTERED || this == INVALID_ARGUMENT;
+    }
+
+    // 나중에 다시 보내면 성공할 수 있는 실패
+    public boolean isTransient() {
+      return this == QUOTA_EXCEEDED || this == UNAVAILABLE || this == INTERNAL;
+    }
+  }
+
+  // data-only 메시지 한 건
+  record TokenMessage(String token, Map<String, String> data) {
+  }
+
+  // failure 가 null 이면 성공
+  record Result(Failure failure, String message) {
+
+    public static Result success() {
+      return new Result(null, null);
+    }
+
+    public boolean isSuccessful() {
+      return failure == null;
+    }
+  }
+}
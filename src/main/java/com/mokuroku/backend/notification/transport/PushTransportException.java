@@ -0,0 +1,11 @@
+package com.mokuroku.backend.notification.transport;
+
+/**
+ * push 전송 호출 자체의 실패 (개별 토큰 실패는 PushTransport.Result 로 돌려준다)
+ */
+public class PushTransportException extends Exception {
+
+  public PushTransportException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,157 @@
+package com.mokuroku.backend.notification.transport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * FCM 대신 쓰는 프로세스 내 전송기 (부하 테스트용, 외부 호출 없음)
+ *  - 호출마다 latency + 0~latency-jitter 만큼 기다린다.
+ *  - 메시지마다 설정한 비율로 UNREGISTERED / INVALID_ARGUMENT / QUOTA_EXCEEDED 실패를 낸다.
+ *    "stub-unregistered" 로 시작하는 토큰은 항상 UNREGISTERED 로 실패한다.
+ *  - rate-limit(초당 메시지 수, 0 이면 무제한)을 넘는 메시지는 QUOTA_EXCEEDED 로 실패한다.
+ *  - call-failure-rate 비율로 호출 전체를 UNAVAILABLE 로 실패시킨다.
+ * 지표: push.stub.messages{outcome}
+ */
+@Component
+@ConditionalOnProperty(name = "mokuroku.push.transport", havingValue = "stub")
+@RequiredArgsConstructor
+@Slf4j
+public class StubPushTransport implements PushTransport {
+
+  private static final String UNREGISTERED_PREFIX = "stub-unregistered";
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.push.stub.batch-size:500}")
+  private int batchSize;
+
+  @Value("${mokuroku.push.stub.latency:50ms}")
+  private Duration latency;
+
+  @Value("${mokuroku.push.stub.latency-jitter:50ms}")
+  private Duration latencyJitter;
+
+  @Value("${mokuroku.push.stub.unregistered-rate:0.0}")
+  private double unregisteredRate;
+
+  @Value("${mokuroku.push.stub.invalid-argument-rate:0.0}")
+  private double invalidArgumentRate;
+
+  @Value("${mokuroku.push.stub.quota-exceeded-rate:0.0}")
+  private double quotaExceededRate;
+
+  @Value("${mokuroku.push.stub.call-failure-rate:0.0}")
+  private double callFailureRate;
+
+  @Value("${mokuroku.push.stub.rate-limit:0}")
+  private double rateLimit;
+
+  private final Map<String, Counter> outcomes = new ConcurrentHashMap<>();
+  private final List<BiConsumer<TokenMessage, Result>> listeners = new CopyOnWriteArrayList<>();
+
+  private double permits;
+  private long lastRefillNanos;
+
+  @PostConstruct
+  void init() {
+    lastRefillNanos = System.nanoTime();
+    permits = rateLimit;
+    log.warn("push transport is STUB: no notifications leave this process");
+  }
+
+  // 메시지별 결과를 받아 볼 리스너 (부하 테스트 집계용)
+  public void addListener(BiConsumer<TokenMessage, Result> listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(BiConsumer<TokenMessage, Result> listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public int maxBatchSize() {
+    return batchSize;
+  }
+
+  @Override
+  public List<Result> send(List<TokenMessage> messages) throws PushTransportException {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long jitter = latencyJitter.toMillis() > 0 ? random.nextLong(latencyJitter.toMillis() + 1) : 0;
+    try {
+      Thread.sleep(latency.toMillis() + jitter);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PushTransportException("stub send interrupted", e);
+    }
+    if (random.nextDouble() < callFailureRate) {
+      outcome("call_failed").increment(messages.size());
+      throw new PushTransportException("stub call failure (UNAVAILABLE)", null);
+    }
+
+    int allowed = acquire(messages.size());
+    List<Result> results = new ArrayList<>(messages.size());
+    for (int i = 0; i < messages.size(); i++) {
+      TokenMessage message = messages.get(i);
+      Result result = i >= allowed
+          ? new Result(Failure.QUOTA_EXCEEDED, "stub rate limit")
+          : decide(message, random);
+      results.add(result);
+      outcome(result.isSuccessful() ? "success" : result.failure().name().toLowerCase())
+          .increment();
+      listeners.forEach(listener -> listener.accept(message, result));
+    }
+    return results;
+  }
+
+  private Result decide(TokenMessage message, ThreadLocalRandom random) {
+    if (message.token() != null && message.token().startsWith(UNREGISTERED_PREFIX)) {
+      return new Result(Failure.UNREGISTERED, "stub unregistered token");
+    }
+    double roll = random.nextDouble();
+    if (roll < unregisteredRate) {
+      return new Result(Failure.UNREGISTERED, "stub unregistered");
+    }
+    roll -= unregisteredRate;
+    if (roll < invalidArgumentRate) {
+      return new Result(Failure.INVALID_ARGUMENT, "stub invalid argument");
+    }
+    roll -= invalidArgumentRate;
+    if (roll < quotaExceededRate) {
+      return new Result(Failure.QUOTA_EXCEEDED, "stub quota exceeded");
+    }
+    return Result.success();
+  }
+
+  // 초당 rateLimit 개씩 차는 token bucket (최대 1초치), 이번 호출에서 보낼 수 있는 메시지 수
+  private synchronized int acquire(int requested) {
+    if (rateLimit <= 0) {
+      return requested;
+    }
+    long now = System.nanoTime();
+    permits = Math.min(rateLimit, permits + (now - lastRefillNanos) / 1e9 * rateLimit);
+    lastRefillNanos = now;
+    int allowed = (int) Math.min(requested, Math.floor(permits));
+    permits -= allowed;
+    return allowed;
+  }
+
+  private Counter outcome(String outcome) {
+    return outcomes.computeIfAbsent(outcome, o -> Counter.builder("push.stub.messages")
+        .tag("outcome", o)
+        .register(meterRegistry));
+  }
+}
@@ -0,0 +1,108 @@
+package com.mokuroku.backend.product.archive;
+
+import com.mokuroku.backend.product.repository.ProductBulkRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * horizon 보다 오래된 daily_price 행을 PriceArchiveStore 파일로 옮기고 MySQL 에서 지운다.
+ *  - 카탈로그 상품 page-size 개 단위로 읽기 -> 파일 쓰기(fsync + rename) -> 삭제 순서라
+ *    중간에 실패해도 같은 날짜가 파일과 MySQL 양쪽에 남을 뿐 유실되지 않는다. (조회 시 MySQL 값 우선)
+ *  - 주 / 월 집계(price_rollup)는 그대로 두므로 week / month 조회는 보관 여부와 관계없다.
+ *  - 가격이 없는 행(0 이하)은 파일에 옮기지 않고 지우기만 한다.
+ *  - horizon 은 현재 월 집계 재계산 / 가격 변동성 계산에 필요한 기간(62일)보다 짧게 잡을 수 없다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceArchiveJob {
+
+  private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+  private static final String LOCK_KEY = "price-archive:lock";
+  private static final Duration MIN_HORIZON = Duration.ofDays(62);
+
+  private final ProductBulkRepository productBulkRepository;
+  private final PriceArchiveStore priceArchiveStore;
+  private final RedisTemplate<String, String> redisTemplate;
+
+  @Value("${mokuroku.price-archive.enabled:false}")
+  private boolean enabled;
+
+  @Value("${mokuroku.price-archive.horizon:365d}")
+  private Duration horizon;
+
+  @Value("${mokuroku.price-archive.page-size:200}")
+  private int pageSize;
+
+  // 매일 04:00 (자정 크롤링과 겹치지 않는 시간)
+  @Scheduled(cron = "${mokuroku.price-archive.cron:0 0 4 * * *}", zone = "Asia/Seoul")
+  public void archive() {
+    if (!enabled) {
+      return;
+    }
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofHours(6));
+    if (!Boolean.TRUE.equals(locked)) {
+      return;
+    }
+    // 스케줄러 스레드를 오래 잡지 않도록 별도 스레드에서 실행
+    Mono.fromRunnable(this::archiveLocked)
+        .subscribeOn(Schedulers.boundedElastic())
+        .subscribe();
+  }
+
+  private void archiveLocked() {
+    try {
+      LocalDate cutoff = LocalDate.now(SEOUL)
+          .minusDays(Math.max(horizon.toDays(), MIN_HORIZON.toDays()));
+      long archivedRows = archiveBefore(cutoff);
+      log.info("price archive done: cutoff={}, rows={}", cutoff, archivedRows);
+    } catch (Exception e) {
+      log.error("price archive failed: {}", e.getMessage(), e);
+    } finally {
+      redisTemplate.delete(LOCK_KEY);
+    }
+  }
+
+  long archiveBefore(LocalDate cutoff) {
+    long lastId = 0;
+    long total = 0;
+    while (true) {
+      List<Long> ids = productBulkRepository.findCatalogItemIdPage(lastId, pageSize);
+      if (ids.isEmpty()) {
+        return total;
+      }
+      lastId = ids.get(ids.size() - 1);
+
+      Map<Long, Map<LocalDate, Integer>> old =
+          productBulkRepository.findDailyPricesBefore(ids, cutoff);
+      // 보관할 가격이 없는 상품은 cutoff 이전 행이 모두 가격 없는 행이므로 바로 지운다
+      List<Long> deletable = new ArrayList<>(ids.stream()
+          .filter(id -> !old.containsKey(id))
+          .toList());
+      for (Map.Entry<Long, Map<LocalDate, Integer>> entry : old.entrySet()) {
+        try {
+          priceArchiveStore.append(entry.getKey(), entry.getValue());
+          deletable.add(entry.getKey());
+          total += entry.getValue().size();
+        } catch (Exception e) {
+          // 파일을 못 쓰거나 기존 파일이 손상된 상품은 MySQL 에 그대로 두고 다음 실행에서 다시 시도
+          log.warn("price archive write failed: catalogItemId={}, {}", entry.getKey(),
+              e.getMessage());
+        }
+      }
+      productBulkRepository.deleteDailyPricesBefore(deletable, cutoff);
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package com.mokuroku.backend.product.archive;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mokuroku.backend.product.dto.PricePointDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 오래된 일별 가격을 카탈로그 상품별 파일 하나로 압축 보관한다. ({dir}/{id / 1000}/{id}.dpa)
+ *
+ * 파일 형식 (big endian)
+ *  - int  magic (DPA1)
+ *  - int  첫 날짜 (epoch day)
+ *  - int  일 수 (첫 날짜부터 연속된 day index 개수)
+ *  - byte[(일 수 + 7) / 8]  날짜별 가격 존재 여부 bitmap
+ *  - 가격이 있는 날마다 이전 가격과의 차이를 zigzag varint 로 (첫 값은 0 과의 차이)
+ * 하루 가격 1건이 보통 1~3 byte 라 daily_price 한 행(id, FK, 시각, 날짜, 가격 + 인덱스)보다 훨씬 작다.
+ *
+ * 읽기는 FileChannel 을 memory-map 해서 OS page cache 를 그대로 쓴다. mapping 은 파일 크기 / 수정시각이
+ * 같을 때까지 재사용하고, 파일은 임시 파일에 쓴 뒤 rename 으로 교체하므로 읽는 중인 mapping 은 영향을 받지 않는다.
+ * 디렉터리는 노드마다 로컬이므로 여러 노드로 운영할 때는 공유 볼륨을 지정해야 한다.
+ */
+@Component
+@Slf4j
+public class PriceArchiveStore {
+
+  private static final int MAGIC = 0x44504131;
+  private static final int HEADER_SIZE = 12;
+
+  private final Path dir;
+  private final Cache<Long, Mapping> mappings;
+
+  public PriceArchiveStore(
+      @Value("${mokuroku.price-archive.dir:./data/price-archive}") String dir,
+      @Value("${mokuroku.price-archive.max-mapped-files:10000}") long maxMappedFiles) {
+    this.dir = Path.of(dir);
+    this.mappings = Caffeine.newBuilder().maximumSize(maxMappedFiles).build();
+  }
+
+  // [from, to] 범위의 보관된 가격 (날짜 오름차순, 파일이 없으면 빈 목록)
+  public List<PricePointDTO> read(long catalogItemId, LocalDate from, LocalDate to) {
+    List<PricePointDTO> points = new ArrayList<>();
+    long fromDay = from.toEpochDay();
+    long toDay = to.toEpochDay();
+    decode(catalogItemId, false, (epochDay, price) -> {
+      if (epochDay >= fromDay && epochDay <= toDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        points.add(PricePointDTO.builder()
+            .date(date).min(price).max(price).avg(price).last(price).build());
+      }
+      return epochDay < toDay;
+    });
+    return points;
+  }
+
+  // 보관된 마지막 날짜 (없으면 null) - 이 날짜 이후만 MySQL 에서 읽으면 된다
+  public LocalDate lastArchivedDate(long catalogItemId) {
+    Mapping mapping = map(catalogItemId);
+    if (mapping == null) {
+      return null;
+    }
+    ByteBuffer header = mapping.buffer().duplicate();
+    if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+      damaged(catalogItemId, "has unknown format", false);
+      return null;
+    }
+    long first = header.getInt();
+    int days = header.getInt();
+    return days == 0 ? null : LocalDate.ofEpochDay(first + days - 1);
+  }
+
+  // 기존 파일 내용에 새 가격을 합쳐 파일을 다시 쓴다 (같은 날짜는 새 값이 우선)
+  // 기존 파일이 손상되어 읽을 수 없으면 덮어써서 보관분을 잃지 않도록 IllegalStateException 을 던진다
+  public void append(long catalogItemId, Map<LocalDate, Integer> prices) {
+    if (prices.isEmpty()) {
+      return;
+    }
+    TreeMap<Long, Integer> merged = new TreeMap<>();
+    decode(catalogItemId, true, (epochDay, price) -> {
+      merged.put(epochDay, price);
+      return true;
+    });
+    prices.forEach((date, price) -> merged.put(date.toEpochDay(), price));
+
+    Path file = path(catalogItemId);
+    try {
+      Files.createDirectories(file.getParent());
+      Path tmp = Files.createTempFile(file.getParent(), catalogItemId + "-", ".tmp");
+      try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.wrap(encode(merged)));
+        channel.force(true);
+      }
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("price archive write failed: " + file, e);
+    }
+    mappings.invalidate(catalogItemId);
+  }
+
+  static byte[] encode(TreeMap<Long, Integer> prices) {
+    long first = prices.firstKey();
+    int days = (int) (prices.lastKey() - first + 1);
+    byte[] bitmap = new byte[(days + 7) / 8];
+    ByteArrayOutputStream deltas = new ByteArrayOutputStream(prices.size() * 2);
+
+    int previous = 0;
+    for (Map.Entry<Long, Integer> entry : prices.entrySet()) {
+      int index = (int) (entry.getKey() - first);
+      bitmap[index >>> 3] |= (byte) (1 << (index & 7));
+      writeVarint(deltas, zigzag(entry.getValue() - previous));
+      previous = entry.getValue();
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bitmap.length + deltas.size());
+    buffer.putInt(MAGIC).putInt((int) first).putInt(days).put(bitmap).put(deltas.toByteArray());
+    return buffer.array();
+  }
+
+  // 보관된 (epoch day, 가격)을 날짜 순서로 전달, visitor 가 false 를 반환하면 중단
+  // strict 이면 손상된 파일에서 예외를 던지고, 아니면 로그만 남기고 읽은 데까지만 전달한다
+  private void decode(long catalogItemId, boolean strict, DayVisitor visitor) {
+    Mapping mapping = map(catalogItemId);
+    if (mapping == null) {
+      return;
+    }
+    // mapping 은 여러 요청이 공유하므로 position 이 독립적인 복사본으로 읽는다
+    ByteBuffer buffer = mapping.buffer().duplicate();
+    try {
+      if (buffer.getInt() != MAGIC) {
+        damaged(catalogItemId, "has unknown format", strict);
+        return;
+      }
+      long first = buffer.getInt();
+      int days = buffer.getInt();
+      int bitmapOffset = HEADER_SIZE;
+      buffer.position(bitmapOffset + (days + 7) / 8);
+
+      int price = 0;
+      for (int index = 0; index < days; index++) {
+        if ((buffer.get(bitmapOffset + (index >>> 3)) & (1 << (index & 7))) == 0) {
+          continue;
+        }
+        price += unzigzag(readVarint(buffer));
+        if (!visitor.visit(first + index, price)) {
+          return;
+        }
+      }
+    } catch (BufferUnderflowException e) {
+      damaged(catalogItemId, "truncated", strict);
+    }
+  }
+
+  private void damaged(long catalogItemId, String reason, boolean strict) {
+    Path file = path(catalogItemId);
+    if (strict) {
+      throw new IllegalStateException("price archive " + reason + ": " + file);
+    }
+    log.warn("price archive {}: {}", reason, file);
+  }
+
+  private Mapping map(long catalogItemId) {
+    Path file = path(catalogItemId);
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    Mapping cached = mappings.getIfPresent(catalogItemId);
+    long modified = attributes.lastModifiedTime().toMillis();
+    if (cached != null && cached.size() == attributes.size() && cached.modified() == modified) {
+      return cached;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      Mapping mapping = new Mapping(buffer, attributes.size(), modified);
+      mappings.put(catalogItemId, mapping);
+      return mapping;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path path(long catalogItemId) {
+    return dir.resolve(String.valueOf(catalogItemId / 1000)).resolve(catalogItemId + ".dpa");
+  }
+
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int unzigzag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(ByteBuffer buffer) {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("malformed varint in price archive");
+  }
+
+  @FunctionalInterface
+  private interface DayVisitor {
+
+    boolean visit(long epochDay, int price);
+  }
+
+  private record Mapping(MappedByteBuffer buffer, long size, long modified) {
+  }
+}
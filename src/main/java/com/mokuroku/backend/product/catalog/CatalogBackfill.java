@@ -0,0 +1,194 @@
+package com.mokuroku.backend.product.catalog;
+
+import com.mokuroku.backend.product.repository.PriceRollupRepository;
+import com.mokuroku.backend.product.repository.ProductBulkRepository;
+import com.mokuroku.backend.product.repository.ProductBulkRepository.CatalogUpsert;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 카탈로그 도입 이전 데이터 이전 (기동 시 한 번, 여러 노드 중 lock 을 잡은 노드만 실행 / 다시 실행해도 안전)
+ *  1) 상품이 있지만 카탈로그 상품에 연결되지 않은 위시리스트 -> 상품 URL(없으면 검색어)로 카탈로그 상품을 만들고 연결
+ *  2) 위시리스트별 상품(product_id) 기준 daily_price -> 카탈로그 상품 기준으로 옮긴다.
+ *     같은 상품 / 같은 날짜가 여러 건이면 가장 늦게 수집된 가격을 남긴다.
+ *  3) price_rollup 이 비어 있으면 기존 가격 이력 전체로 주 / 월 집계를 만든다.
+ * 이전이 끝나면 daily_price.product_id 컬럼과 uq_daily_price_product_date 제약은 수동으로 삭제해도 된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogBackfill {
+
+  private static final String LOCK_KEY = "catalog:backfill:lock";
+
+  private static final String SELECT_UNLINKED = """
+      SELECT w.wishlist_id, w.name AS keyword, w.nation_code AS wishlist_nation,
+             p.name, p.url, p.price, p.rating, p.nation_code
+      FROM wishlist w
+      JOIN product p ON p.wishlist_id = w.wishlist_id
+      WHERE w.catalog_item_id IS NULL
+        AND w.wishlist_id > ?
+      ORDER BY w.wishlist_id
+      LIMIT ?
+      """;
+
+  private static final String COPY_DAILY_PRICES = """
+      INSERT INTO daily_price (catalog_item_id, price, captured_at, date)
+      SELECT w.catalog_item_id, dp.price, dp.captured_at, dp.date
+      FROM daily_price dp
+      JOIN product p ON p.product_id = dp.product_id
+      JOIN wishlist w ON w.wishlist_id = p.wishlist_id
+      WHERE dp.catalog_item_id IS NULL
+        AND w.catalog_item_id IS NOT NULL
+        AND dp.daily_price_id > ? AND dp.daily_price_id <= ?
+      ORDER BY dp.captured_at
+      ON DUPLICATE KEY UPDATE
+        price = IF(VALUES(captured_at) >= captured_at, VALUES(price), price),
+        captured_at = GREATEST(captured_at, VALUES(captured_at))
+      """;
+
+  private static final String DELETE_COPIED_DAILY_PRICES = """
+      DELETE dp FROM daily_price dp
+      JOIN product p ON p.product_id = dp.product_id
+      JOIN wishlist w ON w.wishlist_id = p.wishlist_id
+      WHERE dp.catalog_item_id IS NULL
+        AND w.catalog_item_id IS NOT NULL
+        AND dp.daily_price_id > ? AND dp.daily_price_id <= ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ProductBulkRepository productBulkRepository;
+  private final PriceRollupRepository priceRollupRepository;
+  private final RedisTemplate<String, String> redisTemplate;
+  private final TransactionTemplate tx;
+
+  @Value("${mokuroku.catalog.backfill.enabled:true}")
+  private boolean enabled;
+
+  @Value("${mokuroku.catalog.backfill.batch-size:1000}")
+  private int batchSize;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillOnStartup() {
+    if (!enabled) {
+      return;
+    }
+    Mono.fromRunnable(this::backfill)
+        .subscribeOn(Schedulers.boundedElastic())
+        .subscribe(null, e -> log.error("catalog backfill failed: {}", e.getMessage(), e));
+  }
+
+  public void backfill() {
+    Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", Duration.ofHours(1));
+    if (!Boolean.TRUE.equals(locked)) {
+      log.info("catalog backfill skipped: running on another node");
+      return;
+    }
+    try {
+      long linked = linkWishlists();
+      long moved = hasLegacyDailyPrices() ? moveDailyPrices() : 0;
+      int rollups = needsRollups() ? priceRollupRepository.rebuildAll() : 0;
+      if (linked > 0 || moved > 0 || rollups > 0) {
+        log.info("catalog backfill done: wishlistsLinked={}, dailyPricesMoved={}, rollups={}",
+            linked, moved, rollups);
+      }
+    } finally {
+      redisTemplate.delete(LOCK_KEY);
+    }
+  }
+
+  private long linkWishlists() {
+    long lastId = 0;
+    long total = 0;
+    while (true) {
+      List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_UNLINKED, lastId,
+          batchSize);
+      if (rows.isEmpty()) {
+        return total;
+      }
+      tx.executeWithoutResult(status -> link(rows));
+      total += rows.size();
+      lastId = ((Number) rows.get(rows.size() - 1).get("wishlist_id")).longValue();
+    }
+  }
+
+  private void link(List<Map<String, Object>> rows) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<Long, String> keyByWishlistId = new HashMap<>();
+    Map<String, CatalogUpsert> upserts = new TreeMap<>();
+
+    for (Map<String, Object> row : rows) {
+      long wishlistId = ((Number) row.get("wishlist_id")).longValue();
+      String keyword = (String) row.get("keyword");
+      String nationCode = row.get("nation_code") != null
+          ? (String) row.get("nation_code") : (String) row.get("wishlist_nation");
+      String url = (String) row.get("url");
+      String key = CatalogKey.of(nationCode, url, keyword);
+
+      keyByWishlistId.put(wishlistId, key);
+      Number price = (Number) row.get("price");
+      Number rating = (Number) row.get("rating");
+      upserts.putIfAbsent(key, new CatalogUpsert(key, nationCode, keyword, (String) row.get("name"),
+          url, price == null ? 0 : price.intValue(), rating == null ? null : rating.doubleValue(),
+          now));
+    }
+
+    productBulkRepository.upsertCatalogItems(upserts.values());
+    Map<String, Long> idByKey = productBulkRepository.findCatalogItemIdsByKeys(upserts.keySet());
+    Map<Long, Long> catalogItemIds = new HashMap<>();
+    keyByWishlistId.forEach((wishlistId, key) -> catalogItemIds.put(wishlistId, idByKey.get(key)));
+    productBulkRepository.linkWishlists(catalogItemIds);
+  }
+
+  private boolean needsRollups() {
+    Boolean empty = jdbcTemplate.queryForObject(
+        "SELECT NOT EXISTS (SELECT 1 FROM price_rollup)", Boolean.class);
+    return Boolean.TRUE.equals(empty);
+  }
+
+  // 새로 만든 스키마에는 product_id 컬럼이 없으므로 옮길 데이터도 없다
+  private boolean hasLegacyDailyPrices() {
+    Integer columns = jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM information_schema.columns
+            WHERE table_schema = DATABASE()
+              AND table_name = 'daily_price'
+              AND column_name = 'product_id'
+            """, Integer.class);
+    return columns != null && columns > 0;
+  }
+
+  // daily_price_id 구간 단위로 복사 + 삭제를 한 트랜잭션에서 처리 (이전 중 새로 들어온 행은 대상이 아님)
+  private long moveDailyPrices() {
+    Long maxId = jdbcTemplate.queryForObject(
+        "SELECT MAX(daily_price_id) FROM daily_price WHERE catalog_item_id IS NULL", Long.class);
+    if (maxId == null) {
+      return 0;
+    }
+    long moved = 0;
+    for (long from = 0; from < maxId; from += batchSize) {
+      long to = Math.min(maxId, from + batchSize);
+      long lower = from;
+      Integer deleted = tx.execute(status -> {
+        jdbcTemplate.update(COPY_DAILY_PRICES, lower, to);
+        return jdbcTemplate.update(DELETE_COPIED_DAILY_PRICES, lower, to);
+      });
+      moved += deleted == null ? 0 : deleted;
+    }
+    return moved;
+  }
+}
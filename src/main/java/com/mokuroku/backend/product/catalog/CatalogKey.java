@@ -0,0 +1,97 @@
+package com.mokuroku.backend.product.catalog;
+
+import com.mokuroku.backend.product.crawler.CrawlKey;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 카탈로그 상품 식별 키
+ *  - 상품 URL 이 있으면 정규화한 URL (scheme / www / fragment / 끝의 '/' / 추적용 query 파라미터 차이는 무시)
+ *  - URL 이 없으면 국가코드 + 검색어 (CrawlKey 와 같은 정규화)
+ * 컬럼 길이(512)를 넘는 URL 은 SHA-256 으로 줄인다.
+ */
+public final class CatalogKey {
+
+  private static final int MAX_LENGTH = 512;
+
+  private static final Set<String> TRACKING_PARAMS = Set.of(
+      "ref", "ref_", "tag", "spm", "fbclid", "gclid", "sc_src", "sc_lid", "affiliate",
+      "affiliate_id", "trk", "trkid");
+
+  private CatalogKey() {
+  }
+
+  public static String of(String nationCode, String url, String keyword) {
+    String normalizedUrl = normalizeUrl(url);
+    String prefix = normalizedUrl != null ? "url:" : "kw:";
+    String key = prefix + (normalizedUrl != null ? normalizedUrl : CrawlKey.of(nationCode, keyword));
+    return key.length() <= MAX_LENGTH ? key : prefix + "sha256:" + sha256(key);
+  }
+
+  /**
+   * 저장된 카탈로그 상품(storedKey)을 같은 검색어로 다시 크롤링한 결과가 같은 상품인지
+   * URL 로 식별된 상품은 결과 URL 이 같아야 하고, 검색어로 식별된 상품(URL 없음)은 검색어가 곧 식별자다.
+   */
+  public static boolean matches(String storedKey, String nationCode, String url, String keyword) {
+    return storedKey == null || storedKey.startsWith("kw:")
+        || storedKey.equals(of(nationCode, url, keyword));
+  }
+
+  static String normalizeUrl(String url) {
+    if (url == null || url.isBlank()) {
+      return null;
+    }
+    URI uri;
+    try {
+      uri = URI.create(url.trim());
+    } catch (IllegalArgumentException e) {
+      return url.trim();
+    }
+    if (uri.getHost() == null) {
+      return url.trim();
+    }
+
+    String host = uri.getHost().toLowerCase(Locale.ROOT);
+    if (host.startsWith("www.")) {
+      host = host.substring(4);
+    }
+    String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+    while (path.endsWith("/")) {
+      path = path.substring(0, path.length() - 1);
+    }
+    String query = normalizeQuery(uri.getRawQuery());
+
+    return host + path + (query.isEmpty() ? "" : "?" + query);
+  }
+
+  // 추적용 파라미터를 빼고 나머지는 이름순으로 정렬
+  private static String normalizeQuery(String rawQuery) {
+    if (rawQuery == null || rawQuery.isBlank()) {
+      return "";
+    }
+    return Arrays.stream(rawQuery.split("&"))
+        .filter(param -> !param.isBlank())
+        .filter(param -> {
+          String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+          return !name.startsWith("utm_") && !TRACKING_PARAMS.contains(name);
+        })
+        .sorted()
+        .collect(Collectors.joining("&"));
+  }
+
+  private static String sha256(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
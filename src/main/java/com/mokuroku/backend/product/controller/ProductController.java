@@ -1,14 +1,21 @@
 package com.mokuroku.backend.product.controller;
 
 import com.mokuroku.backend.common.ResultDTO;
+import com.mokuroku.backend.product.crawler.AdaptiveConcurrencyLimiter;
+import com.mokuroku.backend.product.crawler.CrawlConcurrencyLimiters;
+import com.mokuroku.backend.product.crawler.CrawlRunTelemetry;
+import com.mokuroku.backend.product.crawler.CrawlerResilience;
 import com.mokuroku.backend.product.dto.CrawlingRequestDTO;
+import com.mokuroku.backend.product.dto.PricePointDTO;
 import com.mokuroku.backend.product.dto.ProductDTO;
 import com.mokuroku.backend.product.dto.ProductInfoDTO;
 import com.mokuroku.backend.product.dto.WishlistDTO;
 import com.mokuroku.backend.product.service.ProductService;
 import com.mokuroku.backend.product.service.impl.ProductServiceImpl;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,7 +24,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
@@ -26,6 +35,9 @@ public class ProductController {
 
   private final ProductService productService;
   private final ProductServiceImpl productServiceImpl;
+  private final CrawlConcurrencyLimiters crawlLimiters;
+  private final CrawlRunTelemetry crawlRunTelemetry;
+  private final CrawlerResilience crawlerResilience;
 
   @PostMapping()
   public ResponseEntity<ResultDTO<WishlistDTO>> wishlistRegist(@RequestBody WishlistDTO wishListDTO) {
@@ -39,6 +51,17 @@ public class ProductController {
     return ResponseEntity.ok(new ResultDTO<>("관심상품 상세 정보가져오기에 성공했습니다.", result));
   }
 
+  // 가격 이력 (granularity = day | week | month, 기간은 yyyy-MM-dd)
+  @GetMapping("/{wishlistId}/prices")
+  public ResponseEntity<ResultDTO<List<PricePointDTO>>> getPriceHistory(
+      @PathVariable Long wishlistId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "day") String granularity) {
+    List<PricePointDTO> result = productService.getPriceHistory(wishlistId, from, to, granularity);
+    return ResponseEntity.ok(new ResultDTO<>("가격 이력 조회에 성공했습니다.", result));
+  }
+
   @PutMapping("/{wishlistId}")
   public ResponseEntity<ResultDTO<WishlistDTO>> putWishlist(@PathVariable Long wishlistId,
       @RequestBody WishlistDTO wishListDTO) {
@@ -58,10 +81,31 @@ public class ProductController {
     return ResponseEntity.ok(new ResultDTO<>("관심상품 리스트를 불러오는데 성공했습니다.", result));
   }
 
+  // 크롤링이 끝날 때까지 요청 스레드를 잡지 않고 비동기(async servlet)로 응답
   @GetMapping("/crawl")
-  public ResponseEntity<ResultDTO<ProductDTO>> crawl(@RequestBody CrawlingRequestDTO crawlingRequestDTO) {
-    ProductDTO productInfo = productService.crawling(crawlingRequestDTO).block();
-    return ResponseEntity.ok(new ResultDTO<>("크롤링 성공", productInfo));
+  public Mono<ResponseEntity<ResultDTO<ProductDTO>>> crawl(
+      @RequestBody CrawlingRequestDTO crawlingRequestDTO) {
+    return productService.crawling(crawlingRequestDTO)
+        .map(productInfo -> ResponseEntity.ok(new ResultDTO<>("크롤링 성공", productInfo)));
+  }
+
+  // 배치 크롤링 단계별 동시성 한도 및 변경 이력 (관리자 전용, SecurityConfiguration)
+  @GetMapping("/crawl-limits")
+  public ResponseEntity<ResultDTO<List<AdaptiveConcurrencyLimiter.Snapshot>>> getCrawlLimits() {
+    return ResponseEntity.ok(new ResultDTO<>("크롤링 동시성 한도 조회 성공", crawlLimiters.snapshots()));
+  }
+
+  // 최근 크롤링 실행 요약 (진행 중인 실행 포함, 최신순, 관리자 전용)
+  @GetMapping("/crawl-runs")
+  public ResponseEntity<ResultDTO<List<CrawlRunTelemetry.RunSummary>>> getCrawlRuns(
+      @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(new ResultDTO<>("크롤링 실행 이력 조회 성공", crawlRunTelemetry.recentRuns(limit)));
+  }
+
+  // 크롤러 circuit breaker 상태 / 전환 이력과 bulkhead 사용량 (관리자 전용)
+  @GetMapping("/crawler-health")
+  public ResponseEntity<ResultDTO<CrawlerResilience.Health>> getCrawlerHealth() {
+    return ResponseEntity.ok(new ResultDTO<>("크롤러 상태 조회 성공", crawlerResilience.health()));
   }
 
   @PostMapping("/test")
@@ -0,0 +1,201 @@
+package com.mokuroku.backend.product.crawler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * AIMD 방식의 적응형 동시 실행 제한기
+ *  - 평균 지연시간과 오류율이 목표 이내이고 한도를 충분히 쓰고 있으면 한도를 천천히 올린다. (+1 / limit)
+ *  - 목표를 넘으면 한도를 backoffRatio 만큼 곱해서 줄인다. (한 번 줄인 뒤 targetLatency 동안은 다시 줄이지 않음)
+ * 한도를 넘는 요청은 스레드를 막지 않고 대기열에서 permit 을 기다린다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final int HISTORY_SIZE = 500;
+  private static final double EWMA_ALPHA = 0.2;
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final Duration targetLatency;
+  private final double maxErrorRate;
+  private final double backoffRatio;
+
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+  private final Deque<LimitChange> history = new ArrayDeque<>();
+
+  private double limit;
+  private int inFlight;
+  private double avgLatencyNanos;
+  private double errorRate;
+  private long lastDecreaseNanos;
+
+  public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+      Duration targetLatency, double maxErrorRate, double backoffRatio) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("invalid limit range: " + minLimit + " ~ " + maxLimit);
+    }
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.targetLatency = targetLatency;
+    this.maxErrorRate = maxErrorRate;
+    this.backoffRatio = backoffRatio;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    this.history.add(new LimitChange(Instant.now(), (int) limit, "initial", 0, 0));
+  }
+
+  // permit 을 얻은 뒤 task 를 실행하고, 완료 시 걸린 시간/성공 여부로 한도를 조정
+  public <T> Mono<T> execute(Supplier<Mono<T>> task) {
+    return acquire().flatMap(permit -> Mono.defer(task)
+        .doOnSuccess(v -> permit.release(true))
+        .doOnError(e -> permit.release(false))
+        .doOnCancel(permit::cancel));
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  public synchronized Snapshot snapshot() {
+    return new Snapshot(name, (int) limit, inFlight, waiters.size(), minLimit, maxLimit,
+        targetLatency.toMillis(), avgLatencyNanos / 1_000_000d, errorRate,
+        new ArrayList<>(history));
+  }
+
+  private Mono<Permit> acquire() {
+    return Mono.create(sink -> {
+      Waiter waiter = new Waiter(sink, new Permit());
+      boolean granted;
+      synchronized (this) {
+        granted = inFlight < (int) limit;
+        if (granted) {
+          inFlight++;
+        } else {
+          waiters.add(waiter);
+        }
+      }
+      if (granted) {
+        waiter.grant();
+        return;
+      }
+      sink.onCancel(() -> {
+        if (waiter.claimed().compareAndSet(false, true)) {
+          synchronized (this) {
+            waiters.remove(waiter);
+          }
+        } else {
+          // permit 을 받은 직후 취소된 경우 반납
+          waiter.permit().cancel();
+        }
+      });
+    });
+  }
+
+  private void onComplete(long startNanos, boolean success, boolean measured) {
+    List<Waiter> ready = new ArrayList<>();
+    synchronized (this) {
+      inFlight--;
+      if (measured) {
+        adjust(System.nanoTime() - startNanos, success);
+      }
+      while (inFlight < (int) limit && !waiters.isEmpty()) {
+        Waiter next = waiters.poll();
+        if (next.claimed().compareAndSet(false, true)) {
+          inFlight++;
+          ready.add(next);
+        }
+      }
+    }
+    // 구독자 코드를 lock 밖에서 실행
+    ready.forEach(Waiter::grant);
+  }
+
+  private void adjust(long latencyNanos, boolean success) {
+    avgLatencyNanos = avgLatencyNanos == 0 ? latencyNanos
+        : EWMA_ALPHA * latencyNanos + (1 - EWMA_ALPHA) * avgLatencyNanos;
+    errorRate = EWMA_ALPHA * (success ? 0 : 1) + (1 - EWMA_ALPHA) * errorRate;
+
+    int before = (int) limit;
+    long now = System.nanoTime();
+
+    if (avgLatencyNanos > targetLatency.toNanos() || errorRate > maxErrorRate) {
+      if (now - lastDecreaseNanos >= targetLatency.toNanos()) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastDecreaseNanos = now;
+        record(before, success ? "latency" : "error");
+      }
+    } else if (inFlight * 2 >= (int) limit) {
+      // 한도의 절반 이상을 실제로 쓰고 있을 때만 증가
+      limit = Math.min(maxLimit, limit + 1.0 / limit);
+      record(before, "increase");
+    }
+  }
+
+  private void record(int before, String reason) {
+    if ((int) limit == before) {
+      return;
+    }
+    if (history.size() >= HISTORY_SIZE) {
+      history.poll();
+    }
+    history.add(new LimitChange(Instant.now(), (int) limit, reason,
+        avgLatencyNanos / 1_000_000d, errorRate));
+  }
+
+  private record Waiter(MonoSink<Permit> sink, Permit permit, AtomicBoolean claimed) {
+
+    Waiter(MonoSink<Permit> sink, Permit permit) {
+      this(sink, permit, new AtomicBoolean());
+    }
+
+    void grant() {
+      permit.startNanos = System.nanoTime();
+      sink.success(permit);
+    }
+  }
+
+  private class Permit {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+    private long startNanos;
+
+    void release(boolean success) {
+      if (released.compareAndSet(false, true)) {
+        onComplete(startNanos, success, true);
+      }
+    }
+
+    // 취소된 요청은 지연시간 측정에서 제외
+    void cancel() {
+      if (released.compareAndSet(false, true)) {
+        onComplete(startNanos, true, false);
+      }
+    }
+  }
+
+  public record LimitChange(Instant at, int limit, String reason, double avgLatencyMs,
+                            double errorRate) {
+  }
+
+  public record Snapshot(String name, int limit, int inFlight, int waiting, int minLimit,
+                         int maxLimit, long targetLatencyMs, double avgLatencyMs, double errorRate,
+                         List<LimitChange> history) {
+  }
+}
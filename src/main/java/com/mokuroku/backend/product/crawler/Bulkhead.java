@@ -0,0 +1,53 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * 동시 실행 수 상한 (넘치면 기다리지 않고 CRAWLER_BUSY 로 즉시 실패)
+ * 사용자 요청이 배치 작업과 같은 자원을 두고 줄 서지 않도록 호출 경로별로 따로 둔다.
+ */
+public class Bulkhead {
+
+  private final String name;
+  private final int maxConcurrent;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  public Bulkhead(String name, int maxConcurrent) {
+    this.name = name;
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+    return Mono.defer(() -> {
+      if (inFlight.incrementAndGet() > maxConcurrent) {
+        inFlight.decrementAndGet();
+        rejected.incrementAndGet();
+        return Mono.error(new CustomException(ErrorCode.CRAWLER_BUSY));
+      }
+      AtomicBoolean released = new AtomicBoolean();
+      return call.get().doFinally(signal -> {
+        if (released.compareAndSet(false, true)) {
+          inFlight.decrementAndGet();
+        }
+      });
+    });
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public Snapshot snapshot() {
+    return new Snapshot(name, maxConcurrent, inFlight.get(), rejected.get());
+  }
+
+  public record Snapshot(String name, int maxConcurrent, int inFlight, long rejected) {
+  }
+}
@@ -0,0 +1,103 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.entity.CatalogItem;
+import com.mokuroku.backend.product.entity.Wishlist;
+import com.mokuroku.backend.product.repository.CatalogItemRepository;
+import com.mokuroku.backend.product.repository.WishlistRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 배치 크롤링 대상 카탈로그 상품을 catalogItemId 기준 keyset 페이지로 스트리밍한다.
+ * 같은 상품을 담은 위시리스트가 여러 개여도 크롤링은 상품당 한 번이고,
+ * 결과는 페이지마다 함께 조회한 활성 회원 위시리스트 전체에 나눠 저장된다.
+ * 페이지 조회 / 영속성 컨텍스트 정리 방식은 WishlistCrawlSource 와 같다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCrawlSource {
+
+  private final CatalogItemRepository catalogItemRepository;
+  private final WishlistRepository wishlistRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${mokuroku.crawler.source.page-size:500}")
+  private int pageSize;
+
+  @Value("${mokuroku.crawler.source.prefetch-pages:1}")
+  private int prefetchPages;
+
+  private TransactionTemplate readTx;
+
+  @PostConstruct
+  void init() {
+    readTx = new TransactionTemplate(transactionManager);
+    readTx.setReadOnly(true);
+  }
+
+  // 활성 회원('1') 위시리스트가 연결된 카탈로그 상품 전체
+  public Flux<CrawlTarget> activeItems() {
+    return stream(0L, Long.MAX_VALUE);
+  }
+
+  // catalogItemId 가 (fromIdExclusive, toIdInclusive] 범위인 상품만 (shard 단위 실행용)
+  public Flux<CrawlTarget> stream(long fromIdExclusive, long toIdInclusive) {
+    return Flux.<List<CrawlTarget>, Long>generate(() -> fromIdExclusive, (lastId, sink) -> {
+          List<CatalogItem> items = readTx.execute(status -> catalogItemRepository
+              .findPageWithFollowers("1", lastId, toIdInclusive, PageRequest.of(0, pageSize)));
+          if (items.isEmpty()) {
+            sink.complete();
+            return lastId;
+          }
+          sink.next(toTargets(items));
+          if (items.size() < pageSize) {
+            sink.complete();
+          }
+          return items.get(items.size() - 1).getCatalogItemId();
+        })
+        .subscribeOn(Schedulers.boundedElastic())
+        .concatMapIterable(page -> page, prefetchPages);
+  }
+
+  // 지정한 상품만 (우선순위 스케줄러용, 활성 위시리스트가 없는 상품은 제외)
+  public List<CrawlTarget> targets(Collection<Long> catalogItemIds) {
+    if (catalogItemIds.isEmpty()) {
+      return List.of();
+    }
+    return toTargets(readTx.execute(
+        status -> catalogItemRepository.findAllByCatalogItemIdIn(catalogItemIds)));
+  }
+
+  private List<CrawlTarget> toTargets(List<CatalogItem> items) {
+    List<Long> ids = items.stream().map(CatalogItem::getCatalogItemId).toList();
+    Map<Long, List<Wishlist>> followers = readTx.execute(status -> {
+      Map<Long, List<Wishlist>> byItem = wishlistRepository
+          .findAllByCatalogItemIdInAndMemberStatus(ids, "1").stream()
+          .collect(Collectors.groupingBy(wl -> wl.getCatalogItem().getCatalogItemId()));
+      entityManager.clear();
+      return byItem;
+    });
+
+    return items.stream()
+        .filter(item -> followers.containsKey(item.getCatalogItemId()))
+        .map(item -> new CrawlTarget(item.getCatalogItemId(), item.getCatalogKey(),
+            item.getNationCode(), item.getKeyword(), followers.get(item.getCatalogItemId())))
+        .toList();
+  }
+}
@@ -0,0 +1,205 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 개수 기반 슬라이딩 윈도우 서킷 브레이커
+ *  - CLOSED    : 최근 windowSize 건 중 실패율이 failureRateThreshold 이상이면 (minimumCalls 이상일 때) OPEN
+ *  - OPEN      : openDuration 동안 호출하지 않고 즉시 CRAWLER_UNAVAILABLE 로 실패
+ *  - HALF_OPEN : halfOpenCalls 건만 시험 호출을 허용해서 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * isFailure 에 해당하지 않는 오류(4xx 등 요청 자체의 문제)는 성공으로 집계한다.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+  private static final int HISTORY_SIZE = 100;
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final int windowSize;
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final Duration openDuration;
+  private final int halfOpenCalls;
+  private final Predicate<Throwable> isFailure;
+
+  private final boolean[] window;
+  private final Deque<StateChange> history = new ArrayDeque<>();
+
+  private State state = State.CLOSED;
+  private int windowIndex;
+  private int windowCount;
+  private int windowFailures;
+  private long openedAtMillis;
+  private int halfOpenPermits;
+  private int halfOpenSuccesses;
+  private long rejected;
+
+  public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+      Duration openDuration, int halfOpenCalls, Predicate<Throwable> isFailure) {
+    this.name = name;
+    this.windowSize = windowSize;
+    this.minimumCalls = minimumCalls;
+    this.failureRateThreshold = failureRateThreshold;
+    this.openDuration = openDuration;
+    this.halfOpenCalls = halfOpenCalls;
+    this.isFailure = isFailure;
+    this.window = new boolean[windowSize];
+  }
+
+  public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+    return Mono.defer(() -> {
+      if (!tryAcquire()) {
+        return Mono.error(new CustomException(ErrorCode.CRAWLER_UNAVAILABLE));
+      }
+      AtomicBoolean recorded = new AtomicBoolean();
+      return call.get()
+          .doOnSuccess(v -> record(recorded, null))
+          .doOnError(e -> record(recorded, e))
+          .doOnCancel(() -> release(recorded));
+    });
+  }
+
+  // 스트림 응답은 정상 종료 / 오류 시점에 한 번 집계
+  public <T> Flux<T> executeMany(Supplier<Flux<T>> call) {
+    return Flux.defer(() -> {
+      if (!tryAcquire()) {
+        return Flux.error(new CustomException(ErrorCode.CRAWLER_UNAVAILABLE));
+      }
+      AtomicBoolean recorded = new AtomicBoolean();
+      return call.get()
+          .doOnComplete(() -> record(recorded, null))
+          .doOnError(e -> record(recorded, e))
+          .doOnCancel(() -> release(recorded));
+    });
+  }
+
+  public synchronized State getState() {
+    return currentState();
+  }
+
+  public synchronized Snapshot snapshot() {
+    double failureRate = windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+    return new Snapshot(name, currentState(), failureRate, windowCount, failureRateThreshold,
+        state == State.OPEN ? Instant.ofEpochMilli(openedAtMillis + openDuration.toMillis()) : null,
+        rejected, new ArrayList<>(history));
+  }
+
+  private synchronized boolean tryAcquire() {
+    State current = currentState();
+    if (current == State.CLOSED) {
+      return true;
+    }
+    if (current == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+      halfOpenPermits++;
+      return true;
+    }
+    rejected++;
+    return false;
+  }
+
+  // OPEN 상태에서 openDuration 이 지나면 HALF_OPEN 으로 전환
+  private State currentState() {
+    if (state == State.OPEN
+        && System.currentTimeMillis() - openedAtMillis >= openDuration.toMillis()) {
+      transition(State.HALF_OPEN, "open duration elapsed");
+    }
+    return state;
+  }
+
+  private void record(AtomicBoolean recorded, Throwable error) {
+    if (!recorded.compareAndSet(false, true)) {
+      return;
+    }
+    boolean failed = error != null && isFailure.test(error);
+    synchronized (this) {
+      if (state == State.HALF_OPEN) {
+        if (failed) {
+          transition(State.OPEN, "half-open probe failed");
+        } else if (++halfOpenSuccesses >= halfOpenCalls) {
+          transition(State.CLOSED, "half-open probes succeeded");
+        }
+        return;
+      }
+      if (state == State.OPEN) {
+        return;
+      }
+      addToWindow(failed);
+      double failureRate = (double) windowFailures / windowCount;
+      if (windowCount >= minimumCalls && failureRate >= failureRateThreshold) {
+        transition(State.OPEN, String.format("failure rate %.2f", failureRate));
+      }
+    }
+  }
+
+  // 취소된 시험 호출은 결과 없이 permit 만 반납
+  private void release(AtomicBoolean recorded) {
+    if (!recorded.compareAndSet(false, true)) {
+      return;
+    }
+    synchronized (this) {
+      if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+        halfOpenPermits--;
+      }
+    }
+  }
+
+  private void addToWindow(boolean failed) {
+    if (windowCount == windowSize) {
+      if (window[windowIndex]) {
+        windowFailures--;
+      }
+    } else {
+      windowCount++;
+    }
+    window[windowIndex] = failed;
+    if (failed) {
+      windowFailures++;
+    }
+    windowIndex = (windowIndex + 1) % windowSize;
+  }
+
+  private void transition(State next, String reason) {
+    State previous = state;
+    state = next;
+    halfOpenPermits = 0;
+    halfOpenSuccesses = 0;
+    if (next == State.OPEN) {
+      openedAtMillis = System.currentTimeMillis();
+    }
+    if (next == State.CLOSED) {
+      windowIndex = 0;
+      windowCount = 0;
+      windowFailures = 0;
+    }
+    if (history.size() >= HISTORY_SIZE) {
+      history.poll();
+    }
+    history.add(new StateChange(Instant.now(), previous, next, reason));
+    log.warn("circuit breaker {}: {} -> {} ({})", name, previous, next, reason);
+  }
+
+  public record StateChange(Instant at, State from, State to, String reason) {
+  }
+
+  public record Snapshot(String name, State state, double failureRate, int bufferedCalls,
+                         double failureRateThreshold, Instant openUntil, long rejected,
+                         List<StateChange> history) {
+  }
+}
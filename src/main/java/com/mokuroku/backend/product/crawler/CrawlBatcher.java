@@ -0,0 +1,210 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.dto.CrawlingBatchItemDTO;
+import com.mokuroku.backend.product.dto.CrawlingResponseDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 배치 크롤링용 검색어 묶음 요청기
+ *  - 같은 국가코드의 크롤링 요청을 batch-window 동안(또는 batch-size 개가 찰 때까지) 모아
+ *    POST /api/crawl/batch 한 번으로 보낸다.
+ *  - 응답은 NDJSON 스트림이라 검색어별 결과가 도착하는 즉시 해당 요청자에게 전달된다.
+ *  - 크롤러가 batch 를 지원하지 않으면(404/405/501) unsupported-recheck 동안 검색어별 GET 으로 대체한다.
+ *    응답에서 빠진 검색어도 검색어별 GET 으로 다시 요청한다.
+ * 동시성 제한은 검색어 단위가 아니라 크롤러 HTTP 요청 단위로 적용한다.
+ * 묶음 요청은 crawl-batch limiter, 검색어별 GET 대체 호출은 crawl limiter 를 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlBatcher {
+
+  private final CrawlerClient crawlerClient;
+  private final CrawlConcurrencyLimiters crawlLimiters;
+
+  @Value("${mokuroku.crawler.batch.enabled:true}")
+  private boolean enabled;
+
+  @Value("${mokuroku.crawler.batch.size:20}")
+  private int batchSize;
+
+  @Value("${mokuroku.crawler.batch.window:200ms}")
+  private Duration batchWindow;
+
+  // 요청자 기준 대기 시간 (묶음 대기 + 스트림에서 자기 차례가 올 때까지 포함)
+  @Value("${mokuroku.crawler.batch.item-timeout:3m}")
+  private Duration itemTimeout;
+
+  // batch 미지원으로 판단한 뒤 다시 시도해 보기까지의 시간
+  @Value("${mokuroku.crawler.batch.unsupported-recheck:10m}")
+  private Duration unsupportedRecheck;
+
+  private final Map<String, Pending> pendingByNation = new HashMap<>();
+  private final AtomicLong unsupportedUntil = new AtomicLong();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public Duration getItemTimeout() {
+    return itemTimeout;
+  }
+
+  public Mono<CrawlingResponseDTO> crawl(String nationCode, String keyword) {
+    if (!enabled || System.currentTimeMillis() < unsupportedUntil.get()) {
+      return crawlSingle(nationCode, keyword);
+    }
+    return Mono.defer(() -> {
+      Sinks.One<CrawlingResponseDTO> sink = Sinks.one();
+      Pending full = null;
+      boolean first;
+      Pending pending;
+      synchronized (pendingByNation) {
+        pending = pendingByNation.computeIfAbsent(nationCode, Pending::new);
+        first = pending.size() == 0;
+        pending.add(keyword, sink);
+        if (pending.size() >= batchSize) {
+          pendingByNation.remove(nationCode);
+          full = pending;
+        }
+      }
+      if (full != null) {
+        send(full);
+      } else if (first) {
+        Pending scheduled = pending;
+        Schedulers.parallel().schedule(() -> flush(scheduled),
+            batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+      }
+      return sink.asMono();
+    });
+  }
+
+  private void flush(Pending pending) {
+    synchronized (pendingByNation) {
+      // 이미 batch-size 로 전송된 묶음이면 무시
+      if (!pendingByNation.remove(pending.nationCode, pending)) {
+        return;
+      }
+    }
+    send(pending);
+  }
+
+  private void send(Pending pending) {
+    List<String> keywords = pending.keywords();
+
+    crawlLimiters.crawlBatch()
+        .execute(() -> crawlerClient.crawlBatch(pending.nationCode, keywords)
+            .doOnNext(item -> {
+              // 크롤러가 검색어를 정규화해서 돌려줄 수 있으므로 CrawlKey 기준으로 찾는다
+              List<Sinks.One<CrawlingResponseDTO>> sinks = pending.take(item.getKeyword());
+              CrawlingResponseDTO response = toResponse(item);
+              sinks.forEach(sink -> sink.tryEmitValue(response));
+            })
+            .then())
+        .subscribe(
+            null,
+            e -> {
+              if (CrawlerResilience.isUnsupported(e)) {
+                unsupportedUntil.set(System.currentTimeMillis() + unsupportedRecheck.toMillis());
+                log.warn("crawler batch endpoint unsupported ({}), falling back to per-keyword calls",
+                    e.getMessage());
+                fallback(pending);
+              } else {
+                log.warn("crawl batch failed: nation={}, keywords={} ({})",
+                    pending.nationCode, keywords.size(), e.getMessage());
+                pending.failAll(e);
+              }
+            },
+            // 응답에 없던 검색어는 개별 요청으로 다시 시도
+            () -> fallback(pending));
+  }
+
+  private void fallback(Pending pending) {
+    pending.drain().forEach((keyword, sinks) -> crawlSingle(pending.nationCode, keyword)
+        .subscribe(
+            response -> sinks.forEach(sink -> sink.tryEmitValue(response)),
+            e -> sinks.forEach(sink -> sink.tryEmitError(e))));
+  }
+
+  private Mono<CrawlingResponseDTO> crawlSingle(String nationCode, String keyword) {
+    return crawlLimiters.crawl().execute(() ->
+        crawlerClient.crawl(nationCode, keyword, CrawlerClient.Lane.BATCH));
+  }
+
+  private static CrawlingResponseDTO toResponse(CrawlingBatchItemDTO item) {
+    CrawlingResponseDTO response = new CrawlingResponseDTO();
+    response.setMessage(item.getError());
+    response.setData(item.getData());
+    return response;
+  }
+
+  // 국가코드 하나의 전송 대기 묶음 (같은 검색어 요청은 응답 하나를 공유)
+  private static class Pending {
+
+    private final String nationCode;
+    // 정규화한 검색어(CrawlKey) -> 대기 중인 요청
+    private final Map<String, Waiting> waiting = new LinkedHashMap<>();
+
+    Pending(String nationCode) {
+      this.nationCode = nationCode;
+    }
+
+    synchronized int size() {
+      return waiting.size();
+    }
+
+    // 크롤러에는 처음 요청된 검색어 그대로 보낸다
+    synchronized List<String> keywords() {
+      List<String> keywords = new ArrayList<>(waiting.size());
+      waiting.values().forEach(w -> keywords.add(w.keyword()));
+      return keywords;
+    }
+
+    synchronized void add(String keyword, Sinks.One<CrawlingResponseDTO> sink) {
+      waiting.computeIfAbsent(normalize(keyword), k -> new Waiting(keyword, new ArrayList<>()))
+          .sinks().add(sink);
+    }
+
+    synchronized List<Sinks.One<CrawlingResponseDTO>> take(String keyword) {
+      Waiting taken = keyword == null ? null : waiting.remove(normalize(keyword));
+      return taken == null ? List.of() : taken.sinks();
+    }
+
+    // 남은 요청 (처음 요청된 검색어 -> 요청자)
+    synchronized Map<String, List<Sinks.One<CrawlingResponseDTO>>> drain() {
+      Map<String, List<Sinks.One<CrawlingResponseDTO>>> rest = new LinkedHashMap<>();
+      waiting.values().forEach(w -> rest.put(w.keyword(), w.sinks()));
+      waiting.clear();
+      return rest;
+    }
+
+    void failAll(Throwable e) {
+      drain().values().forEach(list -> list.forEach(sink -> sink.tryEmitError(e)));
+    }
+
+    private String normalize(String keyword) {
+      return CrawlKey.of(nationCode, keyword).keyword();
+    }
+  }
+
+  private record Waiting(String keyword, List<Sinks.One<CrawlingResponseDTO>> sinks) {
+  }
+}
@@ -0,0 +1,100 @@
+package com.mokuroku.backend.product.crawler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 크롤링 파이프라인의 단계별 적응형 동시성 제한기
+ *  - crawl       : 크롤러 검색어별 호출 (crawlTargets, 배치 미지원 시 대체 호출)
+ *  - crawl-batch : 크롤러 묶음 호출 (CrawlBatcher, 요청 하나에 검색어 batch-size 개)
+ *  - persist     : 상품/가격 batch 저장 (updateProducts)
+ */
+@Component
+@RequiredArgsConstructor
+public class CrawlConcurrencyLimiters {
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.crawler.limit.crawl.initial:3}")
+  private int crawlInitial;
+  @Value("${mokuroku.crawler.limit.crawl.min:1}")
+  private int crawlMin;
+  @Value("${mokuroku.crawler.limit.crawl.max:32}")
+  private int crawlMax;
+  @Value("${mokuroku.crawler.limit.crawl.target-latency:15s}")
+  private Duration crawlTargetLatency;
+
+  // 묶음 요청은 검색어 batch-size 개를 NDJSON 으로 끝까지 받는 시간으로 측정하므로 목표 지연시간을 따로 둔다
+  @Value("${mokuroku.crawler.limit.crawl-batch.initial:2}")
+  private int crawlBatchInitial;
+  @Value("${mokuroku.crawler.limit.crawl-batch.min:1}")
+  private int crawlBatchMin;
+  @Value("${mokuroku.crawler.limit.crawl-batch.max:16}")
+  private int crawlBatchMax;
+  @Value("${mokuroku.crawler.limit.crawl-batch.target-latency:2m}")
+  private Duration crawlBatchTargetLatency;
+
+  @Value("${mokuroku.crawler.limit.persist.initial:3}")
+  private int persistInitial;
+  @Value("${mokuroku.crawler.limit.persist.min:1}")
+  private int persistMin;
+  @Value("${mokuroku.crawler.limit.persist.max:8}")
+  private int persistMax;
+  // 저장 단계는 batch 단위로 측정
+  @Value("${mokuroku.crawler.limit.persist.target-latency:2s}")
+  private Duration persistTargetLatency;
+
+  // 오류율이 이 값을 넘으면 한도를 줄임
+  @Value("${mokuroku.crawler.limit.max-error-rate:0.1}")
+  private double maxErrorRate;
+
+  @Value("${mokuroku.crawler.limit.backoff-ratio:0.7}")
+  private double backoffRatio;
+
+  private AdaptiveConcurrencyLimiter crawl;
+  private AdaptiveConcurrencyLimiter crawlBatch;
+  private AdaptiveConcurrencyLimiter persist;
+
+  @PostConstruct
+  void init() {
+    crawl = register(new AdaptiveConcurrencyLimiter("crawl", crawlInitial, crawlMin, crawlMax,
+        crawlTargetLatency, maxErrorRate, backoffRatio));
+    crawlBatch = register(new AdaptiveConcurrencyLimiter("crawl-batch", crawlBatchInitial,
+        crawlBatchMin, crawlBatchMax, crawlBatchTargetLatency, maxErrorRate, backoffRatio));
+    persist = register(new AdaptiveConcurrencyLimiter("persist", persistInitial, persistMin,
+        persistMax, persistTargetLatency, maxErrorRate, backoffRatio));
+  }
+
+  public AdaptiveConcurrencyLimiter crawl() {
+    return crawl;
+  }
+
+  public AdaptiveConcurrencyLimiter crawlBatch() {
+    return crawlBatch;
+  }
+
+  public AdaptiveConcurrencyLimiter persist() {
+    return persist;
+  }
+
+  public List<AdaptiveConcurrencyLimiter.Snapshot> snapshots() {
+    return List.of(crawl.snapshot(), crawlBatch.snapshot(), persist.snapshot());
+  }
+
+  private AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter) {
+    String stage = limiter.snapshot().name();
+    Gauge.builder("crawl.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .tag("stage", stage)
+        .register(meterRegistry);
+    Gauge.builder("crawl.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+        .tag("stage", stage)
+        .register(meterRegistry);
+    return limiter;
+  }
+}
@@ -0,0 +1,285 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.common.component.NodeIdentity;
+import com.mokuroku.backend.product.repository.CatalogItemRepository;
+import com.mokuroku.backend.product.service.impl.ProductServiceImpl;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 여러 애플리케이션 노드가 자정 크롤링을 나눠서 실행하도록 조율한다.
+ *  - 카탈로그 상품 id 공간 (0, maxId] 를 shard-count 개 구간으로 나눈다. (실행 계획은 Redis 에 한 번만 기록)
+ *    마지막 shard(번호 = shard-count)는 아직 카탈로그 상품에 연결되지 않은 위시리스트를 처리한다.
+ *  - 각 노드는 Redis 만료 lease(SET NX PX)로 shard 를 선점하고, 처리 중에는 lease 를 갱신한다.
+ *  - 처리가 끝난 shard 는 done 표시를 남기고, 죽은 노드의 shard 는 lease 가 만료되면 다른 노드가 가져간다.
+ *  - lease 갱신에 실패하면(다른 노드가 가져감) 해당 shard 처리를 즉시 중단한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlCoordinator {
+
+  private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+  private static final String KEY_PREFIX = "crawl:run:";
+
+  // 내가 가진 lease 일 때만 만료시간 갱신 / 삭제
+  private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then "
+          + "return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final CatalogItemRepository catalogItemRepository;
+  private final CatalogCrawlSource catalogCrawlSource;
+  private final WishlistCrawlSource wishlistCrawlSource;
+  private final ProductServiceImpl productService;
+  private final CrawlRunTelemetry telemetry;
+  private final NodeIdentity nodeIdentity;
+
+  @Value("${mokuroku.crawler.coordinator.shard-count:16}")
+  private int shardCount;
+
+  @Value("${mokuroku.crawler.coordinator.lease-ttl:2m}")
+  private Duration leaseTtl;
+
+  // 다른 노드가 처리 중인 shard 가 끝나거나 만료되기를 기다리는 주기
+  @Value("${mokuroku.crawler.coordinator.poll-interval:30s}")
+  private Duration pollInterval;
+
+  @Value("${mokuroku.crawler.coordinator.max-run-duration:20h}")
+  private Duration maxRunDuration;
+
+  // 변동성 기반 분산 스케줄링(CrawlPriorityScheduler)을 쓰면 자정 일괄 실행은 하지 않는다
+  @Value("${mokuroku.crawler.priority.enabled:true}")
+  private boolean priorityScheduling;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private String nodeId;
+
+  @PostConstruct
+  void init() {
+    nodeId = nodeIdentity.getNodeId();
+  }
+
+  // 자정마다 실행 (cron: 초 분 시 일 월 요일)
+  @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
+  public void scheduledCrawling() {
+    if (priorityScheduling) {
+      return;
+    }
+    String runId = LocalDate.now(SEOUL).toString();
+    if (!running.compareAndSet(false, true)) {
+      log.warn("crawl run {} skipped: previous run still in progress on {}", runId, nodeId);
+      return;
+    }
+    // 스케줄러 스레드를 오래 잡지 않도록 별도 스레드에서 실행
+    Mono.fromRunnable(() -> runShards(runId))
+        .subscribeOn(Schedulers.boundedElastic())
+        .doFinally(signal -> running.set(false))
+        .subscribe(null, e -> log.error("crawl run {} failed: {}", runId, e.getMessage(), e));
+  }
+
+  void runShards(String runId) {
+    try (MDC.MDCCloseable ignored = MDC.putCloseable(CrawlRunTelemetry.MDC_KEY, runId)) {
+      CrawlRunTelemetry.Run run = telemetry.start(runId, "nightly");
+      try {
+        runShards(runId, run);
+      } finally {
+        telemetry.finish(run);
+      }
+    }
+  }
+
+  private void runShards(String runId, CrawlRunTelemetry.Run run) {
+    ShardPlan plan = loadOrCreatePlan(runId);
+    Instant deadline = Instant.now().plus(maxRunDuration);
+    int processedShards = 0;
+
+    log.info("crawl run {} started on {}: maxCatalogItemId={}, shards={}",
+        runId, nodeId, plan.maxCatalogItemId(), plan.shardCount());
+
+    while (Instant.now().isBefore(deadline)) {
+      boolean pending = false;
+
+      for (int shard : shuffledShards(plan.shardCount() + 1)) {
+        if (isDone(runId, shard)) {
+          continue;
+        }
+        pending = true;
+        if (!tryAcquire(runId, shard)) {
+          continue;
+        }
+        // lease 를 얻기 직전에 다른 노드가 끝냈을 수 있으므로 한 번 더 확인
+        if (isDone(runId, shard)) {
+          release(leaseKey(runId, shard));
+          continue;
+        }
+        if (processShard(runId, plan, shard, run)) {
+          processedShards++;
+        }
+      }
+
+      if (!pending) {
+        break;
+      }
+      // 남은 shard 는 다른 노드가 처리 중 -> lease 만료(노드 장애) 여부를 주기적으로 다시 확인
+      sleep(pollInterval);
+    }
+
+    log.info("crawl run {} finished on {}: shardsProcessedHere={}", runId, nodeId, processedShards);
+  }
+
+  private boolean processShard(String runId, ShardPlan plan, int shard,
+      CrawlRunTelemetry.Run run) {
+    long from = plan.lowerBound(shard);
+    long to = plan.upperBound(shard);
+    String leaseKey = leaseKey(runId, shard);
+    Sinks.One<Boolean> leaseLost = Sinks.one();
+
+    Disposable renewal = Flux.interval(leaseTtl.dividedBy(3), Schedulers.boundedElastic())
+        .subscribe(tick -> {
+          MDC.put(CrawlRunTelemetry.MDC_KEY, runId);
+          try {
+            if (!renew(leaseKey)) {
+              log.warn("crawl run {} shard {} lease lost on {}", runId, shard, nodeId);
+              leaseLost.tryEmitValue(true);
+            }
+          } catch (Exception e) {
+            // 일시적인 Redis 오류는 다음 갱신 주기에 재시도
+            log.warn("crawl run {} shard {} lease renew failed: {}", runId, shard, e.getMessage());
+          } finally {
+            MDC.remove(CrawlRunTelemetry.MDC_KEY);
+          }
+        });
+
+    try {
+      Flux<CrawlTarget> targets = plan.isUnlinkedShard(shard)
+          ? wishlistCrawlSource.unlinkedWishlists().map(CrawlTarget::of)
+          : catalogCrawlSource.stream(from, to);
+      Long count = productService.crawlTargetsAndPersist(targets, run)
+          .takeUntilOther(leaseLost.asMono())
+          .block();
+
+      if (count == null) {
+        return false;
+      }
+      markDone(runId, shard);
+      log.info("crawl run {} shard {} ({}, {}] done on {}: wishlists={}",
+          runId, shard, from, to, nodeId, count);
+      return true;
+    } catch (Exception e) {
+      log.error("crawl run {} shard {} failed on {}: {}", runId, shard, nodeId, e.getMessage(), e);
+      return false;
+    } finally {
+      renewal.dispose();
+      release(leaseKey);
+    }
+  }
+
+  private ShardPlan loadOrCreatePlan(String runId) {
+    String planKey = KEY_PREFIX + runId + ":plan";
+    Long maxId = catalogItemRepository.findMaxCatalogItemId();
+    String proposed = (maxId == null ? 0L : maxId) + "," + shardCount;
+
+    // 먼저 기록한 노드의 계획을 모든 노드가 따른다
+    redisTemplate.opsForValue().setIfAbsent(planKey, proposed, Duration.ofDays(2));
+    String[] plan = redisTemplate.opsForValue().get(planKey).split(",");
+    return new ShardPlan(Long.parseLong(plan[0]), Integer.parseInt(plan[1]));
+  }
+
+  private boolean tryAcquire(String runId, int shard) {
+    return Boolean.TRUE.equals(
+        redisTemplate.opsForValue().setIfAbsent(leaseKey(runId, shard), nodeId, leaseTtl));
+  }
+
+  private boolean renew(String leaseKey) {
+    Long result = redisTemplate.execute(RENEW_SCRIPT, List.of(leaseKey), nodeId,
+        String.valueOf(leaseTtl.toMillis()));
+    return result != null && result == 1L;
+  }
+
+  private void release(String leaseKey) {
+    try {
+      redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), nodeId);
+    } catch (Exception e) {
+      log.warn("lease release failed: {} ({})", leaseKey, e.getMessage());
+    }
+  }
+
+  private boolean isDone(String runId, int shard) {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(doneKey(runId, shard)));
+  }
+
+  private void markDone(String runId, int shard) {
+    redisTemplate.opsForValue().set(doneKey(runId, shard), nodeId, Duration.ofDays(2));
+  }
+
+  private String leaseKey(String runId, int shard) {
+    return KEY_PREFIX + runId + ":shard:" + shard + ":lease";
+  }
+
+  private String doneKey(String runId, int shard) {
+    return KEY_PREFIX + runId + ":shard:" + shard + ":done";
+  }
+
+  // 노드마다 다른 순서로 shard 를 시도해 선점 경합을 줄인다
+  private List<Integer> shuffledShards(int count) {
+    List<Integer> shards = new ArrayList<>(IntStream.range(0, count).boxed().toList());
+    Collections.shuffle(shards);
+    return shards;
+  }
+
+  private void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // (0, maxCatalogItemId] 를 shardCount 개의 연속 구간으로 나눈 실행 계획 (+ 미연결 위시리스트 shard 하나)
+  record ShardPlan(long maxCatalogItemId, int shardCount) {
+
+    boolean isUnlinkedShard(int shard) {
+      return shard == shardCount;
+    }
+
+    long span() {
+      return Math.max(1, (maxCatalogItemId + shardCount - 1) / shardCount);
+    }
+
+    long lowerBound(int shard) {
+      return shard * span();
+    }
+
+    long upperBound(int shard) {
+      return shard == shardCount - 1
+          ? maxCatalogItemId : Math.min(maxCatalogItemId, (shard + 1) * span());
+    }
+  }
+}
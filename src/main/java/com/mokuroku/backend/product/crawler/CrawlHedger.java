@@ -0,0 +1,157 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.dto.CrawlingResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 사용자 크롤링 요청의 tail latency 를 줄이기 위한 hedged request
+ *  - 첫 요청이 최근 지연시간의 percentile 값 안에 응답하지 않으면 두 번째 요청을 보낸다.
+ *    (replicas 가 설정되어 있으면 다른 인스턴스로)
+ *  - 먼저 도착한 응답을 쓰고 나머지 요청은 취소한다.
+ *  - hedge 는 전체 요청의 max-ratio 이내로만 보낸다. (요청마다 max-ratio 만큼 토큰이 쌓이고 hedge 1번에 1개 소모)
+ */
+@Component
+@RequiredArgsConstructor
+public class CrawlHedger {
+
+  private static final int SAMPLE_SIZE = 1000;
+  private static final double MAX_TOKENS = 10;
+
+  private final CrawlerClient crawlerClient;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.crawler.hedge.enabled:false}")
+  private boolean enabled;
+
+  @Value("${mokuroku.crawler.hedge.percentile:0.95}")
+  private double percentile;
+
+  // 이보다 빨리는 hedge 하지 않음 (지연시간이 매우 짧을 때 불필요한 중복 요청 방지)
+  @Value("${mokuroku.crawler.hedge.min-delay:300ms}")
+  private Duration minDelay;
+
+  @Value("${mokuroku.crawler.hedge.max-ratio:0.05}")
+  private double maxRatio;
+
+  // 지연시간 표본이 이만큼 쌓이기 전에는 hedge 하지 않음
+  @Value("${mokuroku.crawler.hedge.min-samples:50}")
+  private int minSamples;
+
+  private final long[] samples = new long[SAMPLE_SIZE];
+  private int sampleCount;
+  private int sampleIndex;
+  private long cachedDelayMillis = -1;
+  private double tokens;
+  private final AtomicInteger replicaCursor = new AtomicInteger();
+
+  private Counter hedgesSent;
+  private Counter hedgesWon;
+  private Counter hedgesDenied;
+
+  @PostConstruct
+  void init() {
+    hedgesSent = Counter.builder("crawler.hedge").tag("result", "sent").register(meterRegistry);
+    hedgesWon = Counter.builder("crawler.hedge").tag("result", "won").register(meterRegistry);
+    hedgesDenied = Counter.builder("crawler.hedge").tag("result", "denied").register(meterRegistry);
+    Gauge.builder("crawler.hedge.delay", this, CrawlHedger::currentDelayMillis)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+  }
+
+  public Mono<CrawlingResponseDTO> crawl(String nationCode, String keyword) {
+    if (!enabled) {
+      return crawlerClient.crawl(nationCode, keyword);
+    }
+    return Mono.defer(() -> {
+      addToken();
+      List<String> urls = crawlerClient.getInteractiveUrls();
+      int first = Math.floorMod(replicaCursor.getAndIncrement(), urls.size());
+
+      Mono<CrawlingResponseDTO> primary = timed(crawlerClient.crawlOn(urls.get(first),
+          nationCode, keyword));
+
+      long delay = currentDelayMillis();
+      if (delay < 0) {
+        return primary;
+      }
+
+      String second = urls.get((first + 1) % urls.size());
+      Mono<CrawlingResponseDTO> hedge = Mono.delay(Duration.ofMillis(delay))
+          .flatMap(tick -> {
+            if (!tryTakeToken()) {
+              hedgesDenied.increment();
+              return Mono.empty();
+            }
+            hedgesSent.increment();
+            return crawlerClient.crawlOn(second, nationCode, keyword)
+                .doOnNext(response -> hedgesWon.increment());
+          });
+
+      // 먼저 값을 낸 쪽을 쓰고 다른 쪽은 취소. 둘 다 실패하면 첫 요청의 오류를 돌려준다
+      return Mono.firstWithValue(primary, hedge)
+          .onErrorMap(NoSuchElementException.class, e -> e.getSuppressed().length > 0
+              ? e.getSuppressed()[0] : e);
+    });
+  }
+
+  // 호출 측 timeout: 첫 요청의 재시도 예산 + hedge 를 보내기까지 기다리는 시간
+  public Duration getTimeout() {
+    Duration timeout = crawlerClient.getInteractiveTimeout();
+    long delay = enabled ? currentDelayMillis() : -1;
+    return delay < 0 ? timeout : timeout.plusMillis(delay);
+  }
+
+  // 첫 요청의 지연시간을 표본으로 사용
+  // hedge 가 이겨서 취소된 요청은 실제로는 더 걸렸을 것이므로 취소 시점까지의 시간을 하한값으로 넣는다.
+  // (빠른 응답만 남기면 percentile 이 낮아져 hedge 를 점점 더 일찍 보내게 된다)
+  private Mono<CrawlingResponseDTO> timed(Mono<CrawlingResponseDTO> call) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return call
+          .doOnNext(response -> record((System.nanoTime() - start) / 1_000_000))
+          .doOnCancel(() -> record((System.nanoTime() - start) / 1_000_000));
+    });
+  }
+
+  private synchronized void record(long latencyMillis) {
+    samples[sampleIndex] = latencyMillis;
+    sampleIndex = (sampleIndex + 1) % SAMPLE_SIZE;
+    sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+    // percentile 은 표본 50개마다 다시 계산
+    if (sampleCount >= minSamples && (cachedDelayMillis < 0 || sampleIndex % 50 == 0)) {
+      long[] sorted = Arrays.copyOf(samples, sampleCount);
+      Arrays.sort(sorted);
+      int index = (int) Math.min(sampleCount - 1, Math.ceil(percentile * sampleCount) - 1);
+      cachedDelayMillis = Math.max(minDelay.toMillis(), sorted[Math.max(0, index)]);
+    }
+  }
+
+  // -1 이면 아직 표본이 부족해서 hedge 하지 않음
+  synchronized long currentDelayMillis() {
+    return cachedDelayMillis;
+  }
+
+  private synchronized void addToken() {
+    tokens = Math.min(MAX_TOKENS, tokens + maxRatio);
+  }
+
+  private synchronized boolean tryTakeToken() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+}
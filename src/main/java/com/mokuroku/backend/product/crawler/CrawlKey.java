@@ -0,0 +1,22 @@
+package com.mokuroku.backend.product.crawler;
+
+import java.util.Locale;
+
+/**
+ * 크롤링 요청 식별 키 (국가코드 + 검색어)
+ * 대소문자/앞뒤 공백/연속 공백 차이는 같은 요청으로 본다.
+ */
+public record CrawlKey(String nationCode, String keyword) {
+
+  public static CrawlKey of(String nationCode, String keyword) {
+    String nation = nationCode == null ? "" : nationCode.trim().toLowerCase(Locale.ROOT);
+    String normalized = keyword == null ? ""
+        : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    return new CrawlKey(nation, normalized);
+  }
+
+  @Override
+  public String toString() {
+    return nationCode + ":" + keyword;
+  }
+}
@@ -0,0 +1,307 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.entity.Wishlist;
+import com.mokuroku.backend.product.repository.ProductBulkRepository;
+import com.mokuroku.backend.product.repository.WishlistRepository;
+import com.mokuroku.backend.product.service.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * 가격 변동성 기반 크롤링 스케줄러 (자정 일괄 실행 대신 하루 종일 일정한 속도로 분산 실행)
+ *  - 카탈로그 상품마다 다음 크롤링 시각을 Redis sorted set(score = epoch millis)에 둔다. (노드 간 공유 우선순위 큐)
+ *    member 는 "c:{catalogItemId}", 아직 카탈로그 상품에 연결되지 않은 위시리스트는 "w:{wishlistId}"
+ *    (접두어 없는 값은 이전 버전이 넣은 위시리스트 id 로 본다)
+ *  - tick 마다 시각이 지난 항목을 rate-per-tick 개까지 꺼내(Lua 로 원자적으로 pop) 크롤링/저장한다.
+ *    꺼낸 항목은 큐에서 지우지 않고 시각을 now + lease 로 미뤄 둔다. 저장 전에 노드가 죽거나 재등록이
+ *    실패해도 lease 가 지나면 다른 노드가 다시 꺼낸다.
+ *  - 저장이 끝나면 최근 volatility-window 동안의 일별 가격 변경 횟수로 다음 주기를 계산해 다시 넣는다.
+ *      interval = max-interval / (1 + 변경 횟수)  (min-interval ~ max-interval 로 제한, ±jitter)
+ *    더 크롤링할 필요가 없는 항목(비활성 / 삭제 / 상품에 연결된 위시리스트)은 그때 큐에서 지운다.
+ *  - 큐에 없는 상품 / 미연결 위시리스트(신규)는 seed 작업이 seed-spread 안의 임의 시각으로 채운다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlPriorityScheduler {
+
+  private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+  private static final String QUEUE_KEY = "crawl:schedule";
+  private static final String CATALOG_PREFIX = "c:";
+  private static final String WISHLIST_PREFIX = "w:";
+
+  // score 가 now 이하인 항목을 최대 ARGV[2] 개 꺼내고 score 를 lease 만료 시각(ARGV[3])으로 미룸
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> POP_DUE_SCRIPT = new DefaultRedisScript<>(
+      "local items = redis.call('zrangebyscore', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) "
+          + "for _, item in ipairs(items) do redis.call('zadd', KEYS[1], 'XX', ARGV[3], item) end "
+          + "return items", List.class);
+
+  private final RedisTemplate<String, String> redisTemplate;
+  private final WishlistRepository wishlistRepository;
+  private final WishlistCrawlSource wishlistCrawlSource;
+  private final CatalogCrawlSource catalogCrawlSource;
+  private final ProductBulkRepository productBulkRepository;
+  private final ProductServiceImpl productService;
+  private final MeterRegistry meterRegistry;
+  private final CrawlRunTelemetry telemetry;
+
+  @Value("${mokuroku.crawler.priority.enabled:true}")
+  private boolean enabled;
+
+  // tick 하나에 꺼내는 최대 개수 (tick-ms 와 함께 초당 처리량을 결정)
+  @Value("${mokuroku.crawler.priority.rate-per-tick:5}")
+  private int ratePerTick;
+
+  // 이 노드에서 동시에 처리 중인 항목 상한 (크롤러가 느려지면 꺼내는 양을 줄임)
+  @Value("${mokuroku.crawler.priority.max-in-flight:200}")
+  private int maxInFlight;
+
+  @Value("${mokuroku.crawler.priority.min-interval:6h}")
+  private Duration minInterval;
+
+  @Value("${mokuroku.crawler.priority.max-interval:7d}")
+  private Duration maxInterval;
+
+  @Value("${mokuroku.crawler.priority.volatility-window:30d}")
+  private Duration volatilityWindow;
+
+  // 같은 주기의 상품들이 한 시각에 몰리지 않도록 주기에 곱하는 ± 비율
+  @Value("${mokuroku.crawler.priority.jitter-ratio:0.1}")
+  private double jitterRatio;
+
+  // 꺼낸 항목을 다시 꺼내지 않는 시간 (크롤링 + 저장 + 재등록이 끝나기에 충분하게)
+  @Value("${mokuroku.crawler.priority.lease:30m}")
+  private Duration lease;
+
+  // 처음 큐에 넣는 항목을 흩뿌리는 범위
+  @Value("${mokuroku.crawler.priority.seed-spread:24h}")
+  private Duration seedSpread;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  // 연속 실행은 하루 단위로 묶어서 실행 요약을 남긴다 (runId = priority-yyyy-MM-dd)
+  private CrawlRunTelemetry.Run currentRun;
+
+  @PostConstruct
+  void init() {
+    Gauge.builder("crawl.priority.in-flight", inFlight, AtomicInteger::get)
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void seedOnStartup() {
+    if (enabled) {
+      seed();
+    }
+  }
+
+  // 매시 30분에 큐에 없는 카탈로그 상품 / 미연결 위시리스트를 채운다 (이미 있는 항목의 시각은 건드리지 않음)
+  @Scheduled(cron = "${mokuroku.crawler.priority.seed-cron:0 30 * * * *}", zone = "Asia/Seoul")
+  public void seed() {
+    if (!enabled) {
+      return;
+    }
+    // 카탈로그 상품은 id 만 필요하지만 위시리스트가 연결된 상품만 고르기 위해 크롤링 대상 스트림을 그대로 쓴다
+    Flux<String> catalogMembers = catalogCrawlSource.activeItems()
+        .map(target -> CATALOG_PREFIX + target.catalogItemId());
+    Flux<String> wishlistMembers = wishlistCrawlSource.unlinkedWishlists()
+        .map(wl -> WISHLIST_PREFIX + wl.getWishlistId());
+
+    Flux.concat(catalogMembers, wishlistMembers)
+        .buffer(500)
+        .map(this::addIfAbsent)
+        .reduce(0L, Long::sum)
+        .subscribe(
+            added -> log.info("crawl schedule seeded: added={}", added),
+            e -> log.error("crawl schedule seed failed: {}", e.getMessage(), e));
+  }
+
+  @Scheduled(fixedDelayString = "${mokuroku.crawler.priority.tick-ms:1000}")
+  public void drain() {
+    if (!enabled) {
+      return;
+    }
+    int capacity = Math.min(ratePerTick, maxInFlight - inFlight.get());
+    if (capacity <= 0) {
+      return;
+    }
+
+    List<String> members;
+    try {
+      members = popDue(capacity);
+    } catch (Exception e) {
+      log.warn("crawl schedule pop failed: {}", e.getMessage());
+      return;
+    }
+    if (members.isEmpty()) {
+      return;
+    }
+
+    List<Long> catalogItemIds = new ArrayList<>();
+    List<Long> wishlistIds = new ArrayList<>();
+    for (String member : members) {
+      if (member.startsWith(CATALOG_PREFIX)) {
+        catalogItemIds.add(Long.valueOf(member.substring(CATALOG_PREFIX.length())));
+      } else if (member.startsWith(WISHLIST_PREFIX)) {
+        wishlistIds.add(Long.valueOf(member.substring(WISHLIST_PREFIX.length())));
+      } else {
+        wishlistIds.add(Long.valueOf(member));
+      }
+    }
+
+    CrawlRunTelemetry.Run run = currentRun();
+    inFlight.addAndGet(members.size());
+    Mono.fromCallable(() -> new Popped(catalogCrawlSource.targets(catalogItemIds),
+            wishlistIds.isEmpty() ? List.<Wishlist>of()
+                : wishlistRepository.findAllByIdInAndMemberStatus(wishlistIds, "1")))
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(popped -> productService.crawlTargetsAndPersist(popped.targets(), run)
+            .onErrorResume(e -> {
+              log.warn("scheduled crawl failed: members={}, {}", members, e.getMessage());
+              return Mono.just(0L);
+            })
+            .then(Mono.fromRunnable(() -> reschedule(members, popped))
+                .subscribeOn(Schedulers.boundedElastic())))
+        .doFinally(signal -> inFlight.addAndGet(-members.size()))
+        .contextWrite(Context.of(CrawlRunTelemetry.MDC_KEY, run.getRunId()))
+        .subscribe(null, e -> {
+          // 재등록에 실패한 항목은 lease 가 지나면 다시 꺼내진다
+          log.error("crawl reschedule failed: members={}, {}", members, e.getMessage(), e);
+        });
+  }
+
+  private synchronized CrawlRunTelemetry.Run currentRun() {
+    String runId = "priority-" + LocalDate.now(SEOUL);
+    if (currentRun == null || !currentRun.getRunId().equals(runId)) {
+      if (currentRun != null) {
+        telemetry.finish(currentRun);
+      }
+      currentRun = telemetry.start(runId, "priority");
+    }
+    return currentRun;
+  }
+
+  // 크롤링한 상품은 가격 변동성으로 다음 시각을 정하고, 비활성/삭제된 항목은 큐에서 지운다
+  // 미연결 위시리스트는 크롤링으로 상품이 정해졌으면 그 상품을 큐에 넣고, 아니면 가장 짧은 주기로 재시도
+  private void reschedule(List<String> members, Popped popped) {
+    Set<Long> catalogItemIds = popped.catalogTargets().stream()
+        .map(CrawlTarget::catalogItemId)
+        .collect(Collectors.toSet());
+    List<Long> wishlistIds = popped.wishlists().stream().map(Wishlist::getWishlistId).toList();
+    Map<Long, Long> linked = productBulkRepository.findCatalogItemIdsByWishlistIds(wishlistIds);
+
+    Set<Long> scheduledIds = new HashSet<>(catalogItemIds);
+    scheduledIds.addAll(linked.values());
+    LocalDate from = LocalDate.now(SEOUL).minusDays(volatilityWindow.toDays());
+    Map<Long, Integer> changes = productBulkRepository.countPriceChanges(scheduledIds, from);
+
+    long now = System.currentTimeMillis();
+    Set<TypedTuple<String>> tuples = new HashSet<>();
+    for (Long id : catalogItemIds) {
+      Duration interval = nextInterval(changes.getOrDefault(id, 0));
+      tuples.add(TypedTuple.of(CATALOG_PREFIX + id, (double) (now + interval.toMillis())));
+    }
+    for (Long wishlistId : wishlistIds) {
+      if (!linked.containsKey(wishlistId)) {
+        tuples.add(TypedTuple.of(WISHLIST_PREFIX + wishlistId,
+            (double) (now + minInterval.toMillis())));
+      }
+    }
+    if (!tuples.isEmpty()) {
+      redisTemplate.opsForZSet().add(QUEUE_KEY, tuples);
+    }
+
+    // 다시 넣지 않은 항목(lease 로 남아 있던 것)은 지운다
+    Set<String> rescheduled = tuples.stream().map(TypedTuple::getValue).collect(Collectors.toSet());
+    Object[] finished = members.stream().filter(member -> !rescheduled.contains(member)).toArray();
+    if (finished.length > 0) {
+      redisTemplate.opsForZSet().remove(QUEUE_KEY, finished);
+    }
+
+    // 새로 연결된 상품은 이미 큐에 있으면(다른 위시리스트가 먼저 연결) 기존 시각을 유지
+    Set<TypedTuple<String>> newlyLinked = new HashSet<>();
+    for (Long id : linked.values()) {
+      if (!catalogItemIds.contains(id)) {
+        Duration interval = nextInterval(changes.getOrDefault(id, 0));
+        newlyLinked.add(TypedTuple.of(CATALOG_PREFIX + id, (double) (now + interval.toMillis())));
+      }
+    }
+    if (!newlyLinked.isEmpty()) {
+      redisTemplate.opsForZSet().addIfAbsent(QUEUE_KEY, newlyLinked);
+    }
+
+    log.debug("crawl rescheduled: popped={}, catalogItems={}, wishlists={}, removed={}",
+        members.size(), catalogItemIds.size(), wishlistIds.size(), finished.length);
+  }
+
+  Duration nextInterval(int priceChanges) {
+    long base = maxInterval.toMillis() / (1L + Math.max(0, priceChanges));
+    long clamped = Math.max(minInterval.toMillis(), Math.min(maxInterval.toMillis(), base));
+    double jitter = 1 + ThreadLocalRandom.current().nextDouble(-jitterRatio, jitterRatio);
+    return Duration.ofMillis((long) (clamped * jitter));
+  }
+
+  private long addIfAbsent(List<String> members) {
+    long now = System.currentTimeMillis();
+    long spread = Math.max(1, seedSpread.toMillis());
+    Set<TypedTuple<String>> tuples = new HashSet<>();
+    for (String member : members) {
+      long at = now + ThreadLocalRandom.current().nextLong(spread);
+      tuples.add(TypedTuple.of(member, (double) at));
+    }
+    Long added = redisTemplate.opsForZSet().addIfAbsent(QUEUE_KEY, tuples);
+    return added == null ? 0 : added;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<String> popDue(int count) {
+    long now = System.currentTimeMillis();
+    List<Object> items = redisTemplate.execute(POP_DUE_SCRIPT, List.of(QUEUE_KEY),
+        String.valueOf(now), String.valueOf(count), String.valueOf(now + lease.toMillis()));
+    if (items == null) {
+      return List.of();
+    }
+    return items.stream().map(Object::toString).toList();
+  }
+
+  // 한 tick 에 꺼낸 항목 (카탈로그 상품 크롤링 대상 + 미연결 위시리스트)
+  private record Popped(List<CrawlTarget> catalogTargets, List<Wishlist> wishlists) {
+
+    Flux<CrawlTarget> targets() {
+      return Flux.concat(Flux.fromIterable(catalogTargets),
+          Flux.fromIterable(wishlists).map(CrawlTarget::of));
+    }
+  }
+}
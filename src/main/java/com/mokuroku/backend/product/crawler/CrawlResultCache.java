@@ -0,0 +1,153 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mokuroku.backend.product.dto.ProductDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 크롤링 결과 캐시 (온디맨드 /products/crawl 과 자정 배치가 함께 사용)
+ *  - L1: 프로세스 내 Caffeine 캐시 (최대 개수 초과 시 eviction)
+ *  - L2: Redis (선택, mokuroku.crawler.cache.redis.enabled=true)
+ * TTL 은 국가코드별로 mokuroku.crawler.cache.ttl.{nation} 으로 설정하고,
+ * 상품을 찾지 못한 결과(negative)는 더 짧은 negative-ttl 로 캐싱한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlResultCache {
+
+  private static final String REDIS_KEY_PREFIX = "crawl:";
+
+  private final Environment environment;
+  private final RedisTemplate<String, String> redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.crawler.cache.max-size:10000}")
+  private long maxSize;
+
+  @Value("${mokuroku.crawler.cache.ttl.default:6h}")
+  private Duration defaultTtl;
+
+  @Value("${mokuroku.crawler.cache.negative-ttl:10m}")
+  private Duration negativeTtl;
+
+  @Value("${mokuroku.crawler.cache.redis.enabled:false}")
+  private boolean redisEnabled;
+
+  private final Map<String, Duration> ttlByNation = new ConcurrentHashMap<>();
+
+  private Cache<CrawlKey, ProductDTO> local;
+
+  @PostConstruct
+  void init() {
+    local = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new Expiry<CrawlKey, ProductDTO>() {
+          @Override
+          public long expireAfterCreate(CrawlKey key, ProductDTO value, long currentTime) {
+            return ttlFor(key, value).toNanos();
+          }
+
+          @Override
+          public long expireAfterUpdate(CrawlKey key, ProductDTO value, long currentTime,
+              long currentDuration) {
+            return ttlFor(key, value).toNanos();
+          }
+
+          @Override
+          public long expireAfterRead(CrawlKey key, ProductDTO value, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, local, "crawl.result");
+  }
+
+  // 캐시에 있으면 바로 반환, 없으면 loader 로 크롤링 후 저장
+  public Mono<ProductDTO> getOrLoad(CrawlKey key, Supplier<Mono<ProductDTO>> loader) {
+    return Mono.defer(() -> {
+      ProductDTO cached = local.getIfPresent(key);
+      if (cached != null) {
+        return Mono.just(cached);
+      }
+      return readRemote(key)
+          .doOnNext(value -> local.put(key, value))
+          .switchIfEmpty(Mono.defer(() -> loader.get().doOnNext(value -> put(key, value))));
+    });
+  }
+
+  public void put(CrawlKey key, ProductDTO value) {
+    local.put(key, value);
+    writeRemote(key, value);
+  }
+
+  // 상품명이 없거나 가격이 0 이하면 "상품 없음" 결과로 본다
+  public static boolean isEmptyResult(ProductDTO dto) {
+    return dto == null || dto.getName() == null || dto.getName().isEmpty() || dto.getPrice() <= 0;
+  }
+
+  private Duration ttlFor(CrawlKey key, ProductDTO value) {
+    if (isEmptyResult(value)) {
+      return negativeTtl;
+    }
+    return ttlByNation.computeIfAbsent(key.nationCode(), nation ->
+        environment.getProperty("mokuroku.crawler.cache.ttl." + nation, Duration.class, defaultTtl));
+  }
+
+  private Mono<ProductDTO> readRemote(CrawlKey key) {
+    if (!redisEnabled) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(() -> redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key))
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(json -> {
+          try {
+            return objectMapper.readValue(json, ProductDTO.class);
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          }
+        })
+        // Redis 장애가 크롤링 실패로 이어지지 않도록 miss 로 처리
+        .onErrorResume(e -> {
+          log.warn("crawl cache read failed: {} ({})", key, e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  private void writeRemote(CrawlKey key, ProductDTO value) {
+    if (!redisEnabled) {
+      return;
+    }
+    Mono.fromRunnable(() -> {
+          try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + key,
+                objectMapper.writeValueAsString(value), ttlFor(key, value));
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          }
+        })
+        .subscribeOn(Schedulers.boundedElastic())
+        .subscribe(null, e -> log.warn("crawl cache write failed: {} ({})", key, e.getMessage()));
+  }
+}
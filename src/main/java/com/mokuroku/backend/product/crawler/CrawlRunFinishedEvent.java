@@ -0,0 +1,7 @@
+package com.mokuroku.backend.product.crawler;
+
+/**
+ * 크롤링 실행(run)이 이 노드에서 끝났을 때 발행 (실행 단위로 모아 둔 작업을 마무리하는 용도)
+ */
+public record CrawlRunFinishedEvent(String runId, String trigger) {
+}
@@ -0,0 +1,280 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * 크롤링 실행(run) 단위 계측
+ *  - 단계별 지연시간 히스토그램 (crawl / filter / persist / publish) : crawl.stage.latency{stage}
+ *  - 처리 건수 / 실패 원인별 건수 : crawl.items{outcome}, crawl.errors{cause}
+ *  - 진행 중인 실행 수 / 처리 중인 위시리스트 수 게이지
+ *  - 최근 history-size 개 실행 요약을 보관 (/products/crawl-runs)
+ * 실행 중에는 Reactor Context 의 runId 가 MDC 로 전파되어 모든 크롤링 로그에 찍힌다. (RunIdThreadLocalAccessor)
+ * 실행이 끝나면 CrawlRunFinishedEvent 를 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlRunTelemetry {
+
+  public static final String MDC_KEY = "runId";
+
+  public static final String STAGE_CRAWL = "crawl";
+  public static final String STAGE_FILTER = "filter";
+  public static final String STAGE_PERSIST = "persist";
+  public static final String STAGE_PUBLISH = "publish";
+
+  private final MeterRegistry meterRegistry;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${mokuroku.crawler.telemetry.history-size:50}")
+  private int historySize;
+
+  private final Map<String, Run> active = new ConcurrentHashMap<>();
+  private final Deque<RunSummary> history = new ArrayDeque<>();
+  private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  void init() {
+    Gauge.builder("crawl.runs.active", active, Map::size).register(meterRegistry);
+    Gauge.builder("crawl.items.in-flight", active,
+            runs -> runs.values().stream().mapToInt(run -> run.inFlight.get()).sum())
+        .register(meterRegistry);
+  }
+
+  public Run start(String runId, String trigger) {
+    Run run = new Run(runId, trigger);
+    Run previous = active.put(runId, run);
+    if (previous != null) {
+      finish(previous);
+    }
+    return run;
+  }
+
+  public void finish(Run run) {
+    if (!run.finished.compareAndSet(0, System.currentTimeMillis())) {
+      return;
+    }
+    active.remove(run.runId, run);
+    RunSummary summary = run.summary();
+    synchronized (history) {
+      if (history.size() >= historySize) {
+        history.pollLast();
+      }
+      history.addFirst(summary);
+    }
+    log.info("crawl run {} finished: {}", run.runId, summary);
+    eventPublisher.publishEvent(new CrawlRunFinishedEvent(run.runId, run.trigger));
+  }
+
+  // 진행 중인 실행 + 최근 완료된 실행 (최신순)
+  public List<RunSummary> recentRuns(int limit) {
+    List<RunSummary> result = new ArrayList<>();
+    active.values().forEach(run -> result.add(run.summary()));
+    synchronized (history) {
+      history.stream().limit(Math.max(0, limit - result.size())).forEach(result::add);
+    }
+    return result;
+  }
+
+  // 실패 원인 분류: timeout / http_{status} / connect / db / invalid_request
+  //               circuit_open / bulkhead_full / other
+  public static String classify(Throwable e) {
+    Throwable t = e;
+    while (t != null) {
+      if (t instanceof TimeoutException) {
+        return "timeout";
+      }
+      if (t instanceof WebClientResponseException response) {
+        return "http_" + response.getStatusCode().value();
+      }
+      if (t instanceof WebClientRequestException request) {
+        return request.getCause() != null
+            && request.getCause().getClass().getSimpleName().contains("Timeout")
+            ? "timeout" : "connect";
+      }
+      if (t instanceof DataAccessException) {
+        return "db";
+      }
+      if (t instanceof CustomException custom) {
+        if (custom.getErrorCode() == ErrorCode.INVALID_NATION_CODE) {
+          return "invalid_request";
+        }
+        if (custom.getErrorCode() == ErrorCode.CRAWLER_UNAVAILABLE) {
+          return "circuit_open";
+        }
+        if (custom.getErrorCode() == ErrorCode.CRAWLER_BUSY) {
+          return "bulkhead_full";
+        }
+      }
+      t = t.getCause();
+    }
+    return "other";
+  }
+
+  private Timer stageTimer(String stage) {
+    return stageTimers.computeIfAbsent(stage, s -> Timer.builder("crawl.stage.latency")
+        .tag("stage", s)
+        .publishPercentileHistogram()
+        .register(meterRegistry));
+  }
+
+  private Counter counter(String name, String tagKey, String tagValue) {
+    return counters.computeIfAbsent(name + ":" + tagValue, k -> Counter.builder(name)
+        .tag(tagKey, tagValue)
+        .register(meterRegistry));
+  }
+
+  /**
+   * 크롤링 실행 하나의 집계 (여러 스레드에서 동시에 기록)
+   */
+  public class Run {
+
+    private final String runId;
+    private final String trigger;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong finished = new AtomicLong();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder crawled = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder eventsPublished = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, StageStats> stages = new ConcurrentHashMap<>();
+
+    private Run(String runId, String trigger) {
+      this.runId = runId;
+      this.trigger = trigger;
+    }
+
+    public String getRunId() {
+      return runId;
+    }
+
+    public void received() {
+      received.increment();
+      inFlight.incrementAndGet();
+      counter("crawl.items", "outcome", "received").increment();
+    }
+
+    public void crawled() {
+      crawled.increment();
+      counter("crawl.items", "outcome", "crawled").increment();
+    }
+
+    // 카탈로그 상품 하나의 크롤링 결과를 위시리스트 여러 개에 나눠 저장할 때 (이후 단계는 위시리스트 단위로 집계)
+    public void fannedOut(int wishlists) {
+      inFlight.addAndGet(wishlists - 1);
+    }
+
+    // 저장 전에 빠진 항목 (크롤링 실패 / 빈 결과)
+    public void dropped(String cause) {
+      inFlight.decrementAndGet();
+      error(cause);
+    }
+
+    public void persisted(int count) {
+      persisted.add(count);
+      inFlight.addAndGet(-count);
+      counter("crawl.items", "outcome", "persisted").increment(count);
+    }
+
+    public void persistFailed(int count, Throwable e) {
+      inFlight.addAndGet(-count);
+      errors.computeIfAbsent(classify(e), k -> new LongAdder()).add(count);
+      counter("crawl.errors", "cause", classify(e)).increment(count);
+    }
+
+    public void eventsPublished(int count) {
+      eventsPublished.add(count);
+    }
+
+    public void error(String cause) {
+      errors.computeIfAbsent(cause, k -> new LongAdder()).increment();
+      counter("crawl.errors", "cause", cause).increment();
+    }
+
+    public void recordStage(String stage, long nanos) {
+      stageTimer(stage).record(nanos, TimeUnit.NANOSECONDS);
+      stages.computeIfAbsent(stage, s -> new StageStats()).record(nanos);
+    }
+
+    RunSummary summary() {
+      long end = finished.get() == 0 ? System.currentTimeMillis() : finished.get();
+      long durationMs = Math.max(0, end - startedAt.toEpochMilli());
+      double seconds = Math.max(durationMs, 1) / 1000d;
+
+      Map<String, Long> errorCounts = new LinkedHashMap<>();
+      errors.forEach((cause, count) -> errorCounts.put(cause, count.sum()));
+      Map<String, StageSummary> stageSummaries = new LinkedHashMap<>();
+      for (String stage : List.of(STAGE_CRAWL, STAGE_FILTER, STAGE_PERSIST, STAGE_PUBLISH)) {
+        StageStats stats = stages.get(stage);
+        if (stats != null) {
+          stageSummaries.put(stage, stats.summary());
+        }
+      }
+
+      return new RunSummary(runId, trigger, finished.get() == 0 ? "running" : "finished",
+          startedAt, finished.get() == 0 ? null : Instant.ofEpochMilli(end), durationMs,
+          received.sum(), crawled.sum(), persisted.sum(), eventsPublished.sum(), inFlight.get(),
+          received.sum() / seconds, errorCounts, stageSummaries);
+    }
+  }
+
+  private static class StageStats {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    StageSummary summary() {
+      long n = count.sum();
+      return new StageSummary(n, n == 0 ? 0 : totalNanos.sum() / n / 1_000_000d,
+          maxNanos.get() / 1_000_000d);
+    }
+  }
+
+  public record StageSummary(long count, double avgMs, double maxMs) {
+  }
+
+  public record RunSummary(String runId, String trigger, String status, Instant startedAt,
+                           Instant finishedAt, long durationMs, long received, long crawled,
+                           long persisted, long eventsPublished, int inFlight,
+                           double itemsPerSecond, Map<String, Long> errors,
+                           Map<String, StageSummary> stages) {
+  }
+}
@@ -0,0 +1,95 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.dto.ProductDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 같은 (국가코드, 검색어) 크롤링 요청을 하나로 합치는 single-flight 레이어
+ *  - 동시에 들어온 같은 키의 요청은 진행 중인 하나의 Mono 결과를 공유한다.
+ *  - 배치 실행(Run) 안에서는 완료된 결과도 실행이 끝날 때까지 재사용한다.
+ * 지표: crawl.singleflight.in-flight,
+ *       crawl.singleflight.requests{result=called|coalesced} (배치 실행 안의 요청)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlSingleFlight {
+
+  private final MeterRegistry meterRegistry;
+
+  // 진행 중인 크롤링 (완료되면 제거)
+  private final Map<CrawlKey, Mono<ProductDTO>> inFlight = new ConcurrentHashMap<>();
+
+  private Counter called;
+  private Counter coalesced;
+
+  @PostConstruct
+  void init() {
+    Gauge.builder("crawl.singleflight.in-flight", inFlight, Map::size).register(meterRegistry);
+    called = Counter.builder("crawl.singleflight.requests").tag("result", "called")
+        .register(meterRegistry);
+    coalesced = Counter.builder("crawl.singleflight.requests").tag("result", "coalesced")
+        .register(meterRegistry);
+  }
+
+  public Mono<ProductDTO> execute(CrawlKey key, Supplier<Mono<ProductDTO>> loader) {
+    return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> {
+      AtomicReference<Mono<ProductDTO>> self = new AtomicReference<>();
+      Mono<ProductDTO> shared = loader.get()
+          // 끝난 뒤 같은 키로 새로 들어간 요청을 지우지 않도록 자기 자신일 때만 제거
+          .doFinally(signal -> inFlight.remove(k, self.get()))
+          .cache();
+      self.set(shared);
+      return shared;
+    }));
+  }
+
+  // 스케줄러 한 번의 실행 단위로 결과를 공유하는 범위를 연다
+  public Run openRun() {
+    return new Run();
+  }
+
+  public class Run implements AutoCloseable {
+
+    private final Map<CrawlKey, Mono<ProductDTO>> results = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Mono<ProductDTO> execute(CrawlKey key, Supplier<Mono<ProductDTO>> loader) {
+      return Mono.defer(() -> {
+        boolean[] created = {false};
+        Mono<ProductDTO> shared = results.computeIfAbsent(key, k -> {
+          created[0] = true;
+          return CrawlSingleFlight.this.execute(k, loader).cache();
+        });
+        if (created[0]) {
+          misses.incrementAndGet();
+          called.increment();
+        } else {
+          hits.incrementAndGet();
+          coalesced.increment();
+        }
+        return shared;
+      });
+    }
+
+    @Override
+    public void close() {
+      log.info("crawl single-flight: requests={}, crawlerCalls={}, coalesced={}",
+          hits.get() + misses.get(), misses.get(), hits.get());
+      results.clear();
+    }
+  }
+}
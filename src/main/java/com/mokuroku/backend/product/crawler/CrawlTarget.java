@@ -0,0 +1,19 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.entity.Wishlist;
+import java.util.List;
+
+/**
+ * 크롤링 한 번의 단위 (국가코드 + 검색어)와 그 결과를 받을 위시리스트들
+ *  - 카탈로그 상품: 연결된 활성 위시리스트 전체가 결과 하나를 공유
+ *    catalogKey 는 저장된 상품 식별 키. 검색 결과가 다른 상품(URL)이면 그 결과는 쓰지 않는다.
+ *  - 아직 카탈로그에 연결되지 않은 위시리스트: 자기 자신 하나 (catalogItemId / catalogKey = null)
+ */
+public record CrawlTarget(Long catalogItemId, String catalogKey, String nationCode,
+                          String keyword, List<Wishlist> wishlists) {
+
+  public static CrawlTarget of(Wishlist wishlist) {
+    return new CrawlTarget(null, null, wishlist.getNationCode(), wishlist.getName(),
+        List.of(wishlist));
+  }
+}
@@ -0,0 +1,215 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.dto.CrawlingBatchItemDTO;
+import com.mokuroku.backend.product.dto.CrawlingBatchRequestDTO;
+import com.mokuroku.backend.product.dto.CrawlingResponseDTO;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Python 크롤러 전용 HTTP 클라이언트
+ * 커넥션 풀(keep-alive)을 애플리케이션 기동 시 한 번만 만들고 모든 크롤링 요청이 재사용한다.
+ * 사용자 요청(INTERACTIVE)과 배치(BATCH)는 커넥션 풀을 따로 써서 배치가 풀을 다 차지해도 사용자 요청이 밀리지 않는다.
+ * 모든 호출은 CrawlerResilience 의 circuit breaker 를 거치고, 단건 GET 은 재시도 대상 오류만 재시도한다.
+ * 풀 지표(active / idle / pending)는 reactor-netty 기본 Micrometer 지표로 발행된다.
+ *  - reactor.netty.connection.provider.active.connections
+ *  - reactor.netty.connection.provider.idle.connections
+ *  - reactor.netty.connection.provider.pending.connections
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlerClient {
+
+  public static final String POOL_NAME = "crawler";
+  public static final String INTERACTIVE_POOL_NAME = "crawler-interactive";
+
+  public enum Lane {
+    INTERACTIVE, BATCH
+  }
+
+  private final WebClient.Builder webClientBuilder;
+  private final CrawlerResilience resilience;
+
+  @Value("${mokuroku.crawler.base-url:http://localhost:5000}")
+  private String baseUrl;
+
+  // 호스트(크롤러 인스턴스)당 최대 커넥션 수
+  @Value("${mokuroku.crawler.pool.max-connections:50}")
+  private int maxConnections;
+
+  // 커넥션을 기다리는 요청의 최대 대기열 길이
+  @Value("${mokuroku.crawler.pool.pending-acquire-max-count:500}")
+  private int pendingAcquireMaxCount;
+
+  @Value("${mokuroku.crawler.pool.pending-acquire-timeout:30s}")
+  private Duration pendingAcquireTimeout;
+
+  // 유휴 커넥션 정리 기준 / 주기
+  @Value("${mokuroku.crawler.pool.max-idle-time:30s}")
+  private Duration maxIdleTime;
+
+  @Value("${mokuroku.crawler.pool.max-life-time:10m}")
+  private Duration maxLifeTime;
+
+  @Value("${mokuroku.crawler.pool.evict-interval:30s}")
+  private Duration evictInterval;
+
+  @Value("${mokuroku.crawler.connect-timeout:3s}")
+  private Duration connectTimeout;
+
+  @Value("${mokuroku.crawler.read-timeout:60s}")
+  private Duration readTimeout;
+
+  // 사용자 요청 전용 풀 / 타임아웃 (사용자가 1분씩 기다리지 않도록 더 짧게)
+  @Value("${mokuroku.crawler.pool.interactive-max-connections:20}")
+  private int interactiveMaxConnections;
+
+  @Value("${mokuroku.crawler.interactive.read-timeout:20s}")
+  private Duration interactiveReadTimeout;
+
+  // 같은 크롤러의 다른 인스턴스 주소 (쉼표 구분, hedge 요청을 보낼 곳)
+  @Value("${mokuroku.crawler.replicas:}")
+  private String replicas;
+
+  private ConnectionProvider connectionProvider;
+  private ConnectionProvider interactiveConnectionProvider;
+  private WebClient webClient;
+  private WebClient interactiveWebClient;
+  // base-url + replicas -> 사용자 요청용 클라이언트 (커넥션 풀은 공유, 호스트별로 따로 관리됨)
+  private final Map<String, WebClient> interactiveReplicaClients = new LinkedHashMap<>();
+
+  @PostConstruct
+  void init() {
+    connectionProvider = connectionProvider(POOL_NAME, maxConnections);
+    interactiveConnectionProvider = connectionProvider(INTERACTIVE_POOL_NAME,
+        interactiveMaxConnections);
+
+    webClient = webClient(connectionProvider, readTimeout, baseUrl);
+    interactiveWebClient = webClient(interactiveConnectionProvider, interactiveReadTimeout, baseUrl);
+
+    interactiveReplicaClients.put(baseUrl, interactiveWebClient);
+    Arrays.stream(replicas.split(","))
+        .map(String::trim)
+        .filter(url -> !url.isEmpty())
+        .forEach(url -> interactiveReplicaClients.computeIfAbsent(url, u ->
+            webClient(interactiveConnectionProvider, interactiveReadTimeout, u)));
+
+    log.info("crawler client initialized: baseUrl={}, maxConnections={}, interactiveMaxConnections={}, "
+            + "pendingAcquireMaxCount={}",
+        baseUrl, maxConnections, interactiveMaxConnections, pendingAcquireMaxCount);
+  }
+
+  private ConnectionProvider connectionProvider(String name, int connections) {
+    return ConnectionProvider.builder(name)
+        .maxConnections(connections)
+        .pendingAcquireMaxCount(pendingAcquireMaxCount)
+        .pendingAcquireTimeout(pendingAcquireTimeout)
+        .maxIdleTime(maxIdleTime)
+        .maxLifeTime(maxLifeTime)
+        .evictInBackground(evictInterval)
+        .metrics(true)
+        .build();
+  }
+
+  private WebClient webClient(ConnectionProvider provider, Duration timeout, String url) {
+    HttpClient httpClient = HttpClient.create(provider)
+        .keepAlive(true)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+        .option(ChannelOption.SO_KEEPALIVE, true)
+        .responseTimeout(timeout)
+        .doOnConnected(conn -> conn.addHandlerLast(
+            new ReadTimeoutHandler(timeout.toMillis(), TimeUnit.MILLISECONDS)));
+
+    // 공용 Builder 를 변경하지 않도록 clone 해서 사용
+    return webClientBuilder.clone()
+        .baseUrl(url)
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .build();
+  }
+
+  @PreDestroy
+  void destroy() {
+    for (ConnectionProvider provider : List.of(connectionProvider, interactiveConnectionProvider)) {
+      if (provider != null) {
+        provider.disposeLater().block(Duration.ofSeconds(5));
+      }
+    }
+  }
+
+  // 사용자 요청용 (bulkhead 적용)
+  public Mono<CrawlingResponseDTO> crawl(String nationCode, String keyword) {
+    return crawl(nationCode, keyword, Lane.INTERACTIVE);
+  }
+
+  public Mono<CrawlingResponseDTO> crawl(String nationCode, String keyword, Lane lane) {
+    return crawl(lane == Lane.INTERACTIVE ? interactiveWebClient : webClient, nationCode, keyword,
+        lane);
+  }
+
+  // 특정 인스턴스로 보내는 사용자 요청 (hedge 용, replicaUrl 은 getInteractiveUrls() 중 하나)
+  public Mono<CrawlingResponseDTO> crawlOn(String replicaUrl, String nationCode, String keyword) {
+    WebClient client = interactiveReplicaClients.getOrDefault(replicaUrl, interactiveWebClient);
+    return crawl(client, nationCode, keyword, Lane.INTERACTIVE);
+  }
+
+  private Mono<CrawlingResponseDTO> crawl(WebClient client, String nationCode, String keyword,
+      Lane lane) {
+    Mono<CrawlingResponseDTO> call = resilience.circuitBreaker()
+        .execute(() -> client.get()
+            .uri(uriBuilder -> uriBuilder
+                .path("/api/crawl")
+                .queryParam("nationCode", nationCode)
+                .queryParam("keyword", keyword)
+                .build())
+            .retrieve()
+            .bodyToMono(CrawlingResponseDTO.class))
+        .retryWhen(resilience.retrySpec());
+
+    return lane == Lane.INTERACTIVE ? resilience.interactiveBulkhead().execute(() -> call) : call;
+  }
+
+  // 검색어 여러 개를 한 번에 요청하고, 결과를 NDJSON 한 줄씩 도착하는 대로 받는다
+  // (일부 결과를 이미 내보낸 스트림이므로 재시도하지 않고, 실패한 검색어는 호출 측에서 개별 요청으로 대체)
+  public Flux<CrawlingBatchItemDTO> crawlBatch(String nationCode, List<String> keywords) {
+    return resilience.circuitBreaker().executeMany(() -> webClient.post()
+        .uri("/api/crawl/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue(new CrawlingBatchRequestDTO(nationCode, keywords))
+        .retrieve()
+        .bodyToFlux(CrawlingBatchItemDTO.class));
+  }
+
+  // 사용자 요청 1건이 재시도까지 마치는 데 걸릴 수 있는 최대 시간
+  public Duration getInteractiveTimeout() {
+    return resilience.retryBudget(connectTimeout.plus(interactiveReadTimeout));
+  }
+
+  public String getBaseUrl() {
+    return baseUrl;
+  }
+
+  public List<String> getInteractiveUrls() {
+    return List.copyOf(interactiveReplicaClients.keySet());
+  }
+}
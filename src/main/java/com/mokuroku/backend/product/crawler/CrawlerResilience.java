@@ -0,0 +1,144 @@
+package com.mokuroku.backend.product.crawler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
+
+/**
+ * 크롤러 호출 보호 설정
+ *  - circuit breaker : 크롤러가 죽었거나 느릴 때 60초씩 기다리지 않고 바로 실패 (모든 호출 경로 공용)
+ *  - bulkhead        : 사용자 요청(interactive) 동시 실행 상한. 배치는 적응형 limiter + 별도 커넥션 풀을 쓴다.
+ *  - retry           : 연결 실패 / 타임아웃 / 429·502·503·504 만 지수 backoff + jitter 로 재시도
+ * 상태는 crawler.circuit.state 게이지(0 CLOSED, 1 HALF_OPEN, 2 OPEN)와 /products/crawler-health 로 확인한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CrawlerResilience {
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mokuroku.crawler.breaker.window-size:50}")
+  private int windowSize;
+
+  @Value("${mokuroku.crawler.breaker.minimum-calls:10}")
+  private int minimumCalls;
+
+  @Value("${mokuroku.crawler.breaker.failure-rate-threshold:0.5}")
+  private double failureRateThreshold;
+
+  @Value("${mokuroku.crawler.breaker.open-duration:30s}")
+  private Duration openDuration;
+
+  @Value("${mokuroku.crawler.breaker.half-open-calls:3}")
+  private int halfOpenCalls;
+
+  @Value("${mokuroku.crawler.bulkhead.interactive.max-concurrent:20}")
+  private int interactiveMaxConcurrent;
+
+  @Value("${mokuroku.crawler.retry.max-attempts:2}")
+  private int retryMaxAttempts;
+
+  @Value("${mokuroku.crawler.retry.min-backoff:200ms}")
+  private Duration retryMinBackoff;
+
+  @Value("${mokuroku.crawler.retry.max-backoff:2s}")
+  private Duration retryMaxBackoff;
+
+  @Value("${mokuroku.crawler.retry.jitter:0.5}")
+  private double retryJitter;
+
+  private CircuitBreaker circuitBreaker;
+  private Bulkhead interactiveBulkhead;
+  private Counter retries;
+
+  @PostConstruct
+  void init() {
+    circuitBreaker = new CircuitBreaker("crawler", windowSize, minimumCalls, failureRateThreshold,
+        openDuration, halfOpenCalls, CrawlerResilience::isFailure);
+    interactiveBulkhead = new Bulkhead("interactive", interactiveMaxConcurrent);
+
+    Gauge.builder("crawler.circuit.state", circuitBreaker, CrawlerResilience::stateValue)
+        .register(meterRegistry);
+    Gauge.builder("crawler.bulkhead.in-flight", interactiveBulkhead, Bulkhead::getInFlight)
+        .tag("lane", "interactive")
+        .register(meterRegistry);
+    retries = Counter.builder("crawler.retries").register(meterRegistry);
+  }
+
+  public CircuitBreaker circuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public Bulkhead interactiveBulkhead() {
+    return interactiveBulkhead;
+  }
+
+  public Retry retrySpec() {
+    return Retry.backoff(retryMaxAttempts, retryMinBackoff)
+        .maxBackoff(retryMaxBackoff)
+        .jitter(retryJitter)
+        .filter(CrawlerResilience::isRetryable)
+        .doBeforeRetry(signal -> retries.increment())
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+  }
+
+  // 호출 1번에 perAttempt 가 걸릴 때 재시도까지 모두 소진하는 최대 시간 (바깥 timeout 은 이보다 짧으면 안 됨)
+  public Duration retryBudget(Duration perAttempt) {
+    return perAttempt.multipliedBy(retryMaxAttempts + 1L)
+        .plus(retryMaxBackoff.multipliedBy(retryMaxAttempts));
+  }
+
+  public Health health() {
+    return new Health(circuitBreaker.snapshot(), List.of(interactiveBulkhead.snapshot()));
+  }
+
+  private static double stateValue(CircuitBreaker breaker) {
+    return switch (breaker.getState()) {
+      case CLOSED -> 0;
+      case HALF_OPEN -> 1;
+      case OPEN -> 2;
+    };
+  }
+
+  // 크롤러 상태 문제로 보는 오류 (요청 자체가 잘못된 4xx 와 미지원 endpoint 응답은 제외)
+  static boolean isFailure(Throwable e) {
+    if (isUnsupported(e)) {
+      return false;
+    }
+    if (e instanceof WebClientResponseException response) {
+      int status = response.getStatusCode().value();
+      return status >= 500 || status == 429;
+    }
+    return e instanceof WebClientRequestException || e instanceof TimeoutException;
+  }
+
+  // 크롤러가 endpoint 를 지원하지 않음 (batch 미지원 판단 기준, 장애로 보지 않음)
+  static boolean isUnsupported(Throwable e) {
+    if (e instanceof WebClientResponseException response) {
+      int status = response.getStatusCode().value();
+      return status == 404 || status == 405 || status == 501;
+    }
+    return false;
+  }
+
+  static boolean isRetryable(Throwable e) {
+    if (e instanceof WebClientResponseException response) {
+      int status = response.getStatusCode().value();
+      return status == 429 || status == 502 || status == 503 || status == 504;
+    }
+    return e instanceof WebClientRequestException || e instanceof TimeoutException;
+  }
+
+  public record Health(CircuitBreaker.Snapshot circuitBreaker, List<Bulkhead.Snapshot> bulkheads) {
+  }
+}
@@ -0,0 +1,31 @@
+package com.mokuroku.backend.product.crawler;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.slf4j.MDC;
+
+/**
+ * Reactor Context 의 runId 를 MDC 로 복원 (크롤링 파이프라인 로그에 runId 를 찍기 위함)
+ * META-INF/services 로 ContextRegistry 에 등록되고, 자동 전파는 BackEndApplication 에서 켠다.
+ */
+public class RunIdThreadLocalAccessor implements ThreadLocalAccessor<String> {
+
+  @Override
+  public Object key() {
+    return CrawlRunTelemetry.MDC_KEY;
+  }
+
+  @Override
+  public String getValue() {
+    return MDC.get(CrawlRunTelemetry.MDC_KEY);
+  }
+
+  @Override
+  public void setValue(String value) {
+    MDC.put(CrawlRunTelemetry.MDC_KEY, value);
+  }
+
+  @Override
+  public void setValue() {
+    MDC.remove(CrawlRunTelemetry.MDC_KEY);
+  }
+}
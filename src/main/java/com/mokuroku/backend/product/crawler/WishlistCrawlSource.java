@@ -0,0 +1,97 @@
+package com.mokuroku.backend.product.crawler;
+
+import com.mokuroku.backend.product.entity.Wishlist;
+import com.mokuroku.backend.product.repository.WishlistRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 배치 크롤링 대상 위시리스트를 wishlistId 기준 keyset 페이지로 나눠 스트리밍한다.
+ * 다음 페이지는 하위 파이프라인이 요청(backpressure)할 때만 조회하므로
+ * 메모리에는 (prefetch-pages + 1) 페이지 정도만 올라간다.
+ * 페이지마다 짧은 읽기 전용 트랜잭션을 쓰고, 조회 직후 영속성 컨텍스트를 비워
+ * 처리가 끝난 엔티티가 1차 캐시에 남지 않도록 한다.
+ * (카탈로그 상품 단위 스트림은 CatalogCrawlSource, 여기서는 아직 카탈로그에 연결되지 않은 위시리스트를 다룬다)
+ */
+@Component
+@RequiredArgsConstructor
+public class WishlistCrawlSource {
+
+  private final WishlistRepository wishlistRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${mokuroku.crawler.source.page-size:500}")
+  private int pageSize;
+
+  @Value("${mokuroku.crawler.source.prefetch-pages:1}")
+  private int prefetchPages;
+
+  private TransactionTemplate readTx;
+
+  @PostConstruct
+  void init() {
+    readTx = new TransactionTemplate(transactionManager);
+    readTx.setReadOnly(true);
+  }
+
+  // 활성 회원('1')의 위시리스트 전체
+  public Flux<Wishlist> activeWishlists() {
+    return stream("1");
+  }
+
+  public Flux<Wishlist> stream(String memberStatus) {
+    return stream(memberStatus, 0L, Long.MAX_VALUE);
+  }
+
+  // wishlistId 가 (fromIdExclusive, toIdInclusive] 범위인 위시리스트만 (shard 단위 실행용)
+  public Flux<Wishlist> stream(String memberStatus, long fromIdExclusive, long toIdInclusive) {
+    return stream(fromIdExclusive, lastId -> wishlistRepository.findPageByMemberStatus(
+        memberStatus, lastId, toIdInclusive, PageRequest.of(0, pageSize)));
+  }
+
+  // 카탈로그 상품에 아직 연결되지 않은 활성 회원 위시리스트 (처음 크롤링해서 카탈로그 상품을 찾아야 하는 대상)
+  public Flux<Wishlist> unlinkedWishlists() {
+    return stream(0L, lastId -> wishlistRepository.findUnlinkedPageByMemberStatus(
+        "1", lastId, Long.MAX_VALUE, PageRequest.of(0, pageSize)));
+  }
+
+  private Flux<Wishlist> stream(long fromIdExclusive, Function<Long, List<Wishlist>> pageQuery) {
+    return Flux.<List<Wishlist>, Long>generate(() -> fromIdExclusive, (lastId, sink) -> {
+          List<Wishlist> page = readPage(pageQuery, lastId);
+          if (page.isEmpty()) {
+            sink.complete();
+            return lastId;
+          }
+          sink.next(page);
+          if (page.size() < pageSize) {
+            sink.complete();
+          }
+          return page.get(page.size() - 1).getWishlistId();
+        })
+        // DB 조회(요청 처리 포함)는 boundedElastic 에서 수행
+        .subscribeOn(Schedulers.boundedElastic())
+        .concatMapIterable(page -> page, prefetchPages);
+  }
+
+  private List<Wishlist> readPage(Function<Long, List<Wishlist>> pageQuery, long lastId) {
+    return readTx.execute(status -> {
+      List<Wishlist> page = pageQuery.apply(lastId);
+      entityManager.clear();
+      return page;
+    });
+  }
+}
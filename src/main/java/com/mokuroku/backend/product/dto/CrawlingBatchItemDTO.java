@@ -0,0 +1,14 @@
+package com.mokuroku.backend.product.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+// /api/crawl/batch 응답(NDJSON)의 한 줄 = 검색어 하나의 결과
+@Getter
+@Setter
+public class CrawlingBatchItemDTO {
+  private String keyword;
+  private List<ProductDTO> data;
+  private String error;
+}
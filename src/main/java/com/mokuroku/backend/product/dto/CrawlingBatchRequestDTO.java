@@ -0,0 +1,17 @@
+package com.mokuroku.backend.product.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// POST /api/crawl/batch 요청 본문
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlingBatchRequestDTO {
+  private String nationCode;
+  private List<String> keywords;
+}
@@ -0,0 +1,23 @@
+package com.mokuroku.backend.product.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 가격 차트의 점 하나 (일 단위는 min / max / avg / last 가 모두 그날 가격)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricePointDTO {
+
+  private LocalDate date;
+  private int min;
+  private int max;
+  private double avg;
+  private int last;
+}
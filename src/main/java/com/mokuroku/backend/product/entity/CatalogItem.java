@@ -0,0 +1,52 @@
+package com.mokuroku.backend.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 여러 위시리스트가 공유하는 정규화된 상품 (같은 상품은 한 번만 크롤링 / 가격 이력 저장)
+ * catalogKey 는 정규화한 상품 URL, URL 이 없으면 국가코드 + 검색어 (CatalogKey 참고)
+ */
+@Entity
+@Table(name = "catalog_item",
+    uniqueConstraints = @UniqueConstraint(name = "uq_catalog_item_key", columnNames = "catalog_key"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogItem {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long catalogItemId;
+
+  @Column(name = "catalog_key", length = 512, nullable = false)
+  private String catalogKey;
+
+  private String nationCode;
+
+  // 재크롤링에 쓰는 검색어 (처음 이 상품을 찾은 위시리스트의 이름)
+  private String keyword;
+
+  private String name;
+
+  @Column(length = 2083)
+  private String url;
+
+  private Integer price;
+  private Double rating;
+  private LocalDateTime regDate;
+  private LocalDateTime updatedAt;
+}
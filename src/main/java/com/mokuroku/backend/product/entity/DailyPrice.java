@@ -6,6 +6,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -15,6 +17,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity(name = "daily_price")
+@Table(name = "daily_price",
+    uniqueConstraints = @UniqueConstraint(name = "uq_daily_price_catalog_date",
+        columnNames = {"catalog_item_id", "date"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,9 +31,10 @@ public class DailyPrice {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long dailyPriceId;
 
+  // 가격 이력은 위시리스트별 상품이 아니라 공유 카탈로그 상품 기준으로 하루 한 건
   @ManyToOne
-  @JoinColumn(name = "product_id")
-  private Product product;
+  @JoinColumn(name = "catalog_item_id")
+  private CatalogItem catalogItem;
 
   private Integer price;
   private LocalDateTime capturedAt;
@@ -0,0 +1,39 @@
+package com.mokuroku.backend.product.entity;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * 가격 이력 조회 단위 (WEEK 는 월요일, MONTH 는 1일 시작)
+ */
+public enum PriceGranularity {
+  DAY, WEEK, MONTH;
+
+  public static PriceGranularity from(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (RuntimeException e) {
+      throw new CustomException(ErrorCode.INVALID_PRICE_GRANULARITY);
+    }
+  }
+
+  public LocalDate periodStart(LocalDate date) {
+    return switch (this) {
+      case DAY -> date;
+      case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case MONTH -> date.withDayOfMonth(1);
+    };
+  }
+
+  public LocalDate nextPeriodStart(LocalDate date) {
+    return switch (this) {
+      case DAY -> date.plusDays(1);
+      case WEEK -> periodStart(date).plusWeeks(1);
+      case MONTH -> periodStart(date).plusMonths(1);
+    };
+  }
+}
@@ -0,0 +1,56 @@
+package com.mokuroku.backend.product.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 카탈로그 상품의 주 / 월 단위 가격 집계 (daily_price 저장 시 해당 기간만 다시 계산)
+ */
+@Entity
+@Table(name = "price_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uq_price_rollup_period",
+        columnNames = {"catalog_item_id", "granularity", "period_start"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long priceRollupId;
+
+  @ManyToOne
+  @JoinColumn(name = "catalog_item_id")
+  private CatalogItem catalogItem;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 10)
+  private PriceGranularity granularity;
+
+  private LocalDate periodStart;
+  private Integer minPrice;
+  private Integer maxPrice;
+  private Double avgPrice;
+  private Integer lastPrice;
+  private LocalDate lastDate;
+  private Integer sampleCount;
+  private LocalDateTime updatedAt;
+}
@@ -42,6 +42,11 @@ public class Wishlist {
     private String nationCode;
     private LocalDateTime regDate;
 
+    // 크롤링 결과로 확인된 공유 카탈로그 상품 (아직 크롤링 전이면 null)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "catalog_item_id")
+    private CatalogItem catalogItem;
+
     @OneToMany(mappedBy = "wishlist", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Product> products = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.mokuroku.backend.product.repository;
+
+import com.mokuroku.backend.product.entity.CatalogItem;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogItemRepository extends JpaRepository<CatalogItem, Long> {
+
+  // 배치 크롤링용 keyset 페이지 조회: 해당 상태의 회원 위시리스트가 하나라도 연결된 상품만
+  @Query("""
+          SELECT c
+          FROM CatalogItem c
+          WHERE c.catalogItemId > :lastId
+            AND c.catalogItemId <= :toId
+            AND EXISTS (
+              SELECT 1 FROM Wishlist w
+              WHERE w.catalogItem = c AND w.member.status = :status
+            )
+          ORDER BY c.catalogItemId
+      """)
+  List<CatalogItem> findPageWithFollowers(@Param("status") String status,
+      @Param("lastId") long lastId, @Param("toId") long toId, Pageable pageable);
+
+  List<CatalogItem> findAllByCatalogItemIdIn(Collection<Long> ids);
+
+  @Query("SELECT MAX(c.catalogItemId) FROM CatalogItem c")
+  Long findMaxCatalogItemId();
+}
@@ -0,0 +1,152 @@
+package com.mokuroku.backend.product.repository;
+
+import com.mokuroku.backend.product.dto.PricePointDTO;
+import com.mokuroku.backend.product.entity.PriceGranularity;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 가격 이력 조회 / 주·월 집계(price_rollup) 갱신용 JDBC 리포지토리
+ *  - 일 단위 조회는 daily_price 의 (catalog_item_id, date) 유니크 인덱스 범위 조회
+ *  - 주 / 월 단위 조회는 price_rollup 의 (catalog_item_id, granularity, period_start) 범위 조회라
+ *    기간이 몇 년이어도 주 52개 / 월 12개 정도의 행만 읽는다.
+ *  - 집계는 daily_price 를 저장할 때 그 날짜가 속한 주 / 월만 daily_price 에서 다시 계산한다.
+ *    (같은 날 가격이 여러 번 바뀌어도 min / max 가 틀어지지 않도록 증분 합산 대신 최대 31행을 재집계)
+ *  - 가격이 0 이하(가격 정보 없음)인 날은 제외한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceRollupRepository {
+
+  // 같은 기간의 마지막 가격은 날짜 내림차순 첫 값
+  private static final String AGGREGATE = """
+      SELECT dp.catalog_item_id, :granularity, %s AS period_start,
+             MIN(dp.price), MAX(dp.price), AVG(dp.price),
+             CAST(SUBSTRING_INDEX(GROUP_CONCAT(dp.price ORDER BY dp.date DESC), ',', 1)
+                  AS SIGNED),
+             MAX(dp.date), COUNT(*), :now
+      FROM daily_price dp
+      WHERE %s
+        AND dp.price > 0
+      GROUP BY %s
+      """;
+
+  private static final String UPSERT_PREFIX = """
+      INSERT INTO price_rollup (catalog_item_id, granularity, period_start, min_price, max_price,
+                                avg_price, last_price, last_date, sample_count, updated_at)
+      """;
+
+  private static final String UPSERT_SUFFIX = """
+      ON DUPLICATE KEY UPDATE
+        min_price = VALUES(min_price),
+        max_price = VALUES(max_price),
+        avg_price = VALUES(avg_price),
+        last_price = VALUES(last_price),
+        last_date = VALUES(last_date),
+        sample_count = VALUES(sample_count),
+        updated_at = VALUES(updated_at)
+      """;
+
+  private static final RowMapper<PricePointDTO> ROLLUP_MAPPER = (rs, rowNum) ->
+      PricePointDTO.builder()
+          .date(rs.getDate("period_start").toLocalDate())
+          .min(rs.getInt("min_price"))
+          .max(rs.getInt("max_price"))
+          .avg(rs.getDouble("avg_price"))
+          .last(rs.getInt("last_price"))
+          .build();
+
+  private static final RowMapper<PricePointDTO> DAILY_MAPPER = (rs, rowNum) -> {
+    int price = rs.getInt("price");
+    return PricePointDTO.builder()
+        .date(rs.getDate("date").toLocalDate())
+        .min(price)
+        .max(price)
+        .avg(price)
+        .last(price)
+        .build();
+  };
+
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  public List<PricePointDTO> findDaily(long catalogItemId, LocalDate from, LocalDate to) {
+    return namedJdbcTemplate.query("""
+            SELECT date, price FROM daily_price
+            WHERE catalog_item_id = :id
+              AND date BETWEEN :from AND :to
+              AND price > 0
+            ORDER BY date
+            """,
+        new MapSqlParameterSource("id", catalogItemId)
+            .addValue("from", Date.valueOf(from))
+            .addValue("to", Date.valueOf(to)),
+        DAILY_MAPPER);
+  }
+
+  public List<PricePointDTO> findRollups(long catalogItemId, PriceGranularity granularity,
+      LocalDate from, LocalDate to) {
+    return namedJdbcTemplate.query("""
+            SELECT period_start, min_price, max_price, avg_price, last_price FROM price_rollup
+            WHERE catalog_item_id = :id
+              AND granularity = :granularity
+              AND period_start BETWEEN :from AND :to
+            ORDER BY period_start
+            """,
+        new MapSqlParameterSource("id", catalogItemId)
+            .addValue("granularity", granularity.name())
+            .addValue("from", Date.valueOf(granularity.periodStart(from)))
+            .addValue("to", Date.valueOf(to)),
+        ROLLUP_MAPPER);
+  }
+
+  // 지금까지의 최저가 (월 집계 기준, 이력이 없으면 null)
+  public Integer findLowestPrice(long catalogItemId) {
+    return namedJdbcTemplate.queryForObject("""
+            SELECT MIN(min_price) FROM price_rollup
+            WHERE catalog_item_id = :id AND granularity = 'MONTH'
+            """,
+        new MapSqlParameterSource("id", catalogItemId), Integer.class);
+  }
+
+  // date 가 속한 주 / 월 집계를 다시 계산 (daily_price 저장과 같은 트랜잭션에서 호출)
+  public void refresh(Collection<Long> catalogItemIds, LocalDate date) {
+    if (catalogItemIds.isEmpty()) {
+      return;
+    }
+    for (PriceGranularity granularity : List.of(PriceGranularity.WEEK, PriceGranularity.MONTH)) {
+      LocalDate start = granularity.periodStart(date);
+      String sql = UPSERT_PREFIX + AGGREGATE.formatted(":start",
+          "dp.catalog_item_id IN (:ids) AND dp.date >= :start AND dp.date < :end",
+          "dp.catalog_item_id") + UPSERT_SUFFIX;
+      namedJdbcTemplate.update(sql, new MapSqlParameterSource("ids", catalogItemIds)
+          .addValue("granularity", granularity.name())
+          .addValue("start", Date.valueOf(start))
+          .addValue("end", Date.valueOf(granularity.nextPeriodStart(date)))
+          .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+    }
+  }
+
+  // 집계 테이블 도입 전 이력 전체를 한 번에 집계 (CatalogBackfill 에서 price_rollup 이 비어 있을 때만 호출)
+  public int rebuildAll() {
+    int rows = 0;
+    rows += rebuild(PriceGranularity.WEEK, "DATE_SUB(dp.date, INTERVAL WEEKDAY(dp.date) DAY)");
+    rows += rebuild(PriceGranularity.MONTH, "DATE_FORMAT(dp.date, '%Y-%m-01')");
+    return rows;
+  }
+
+  private int rebuild(PriceGranularity granularity, String periodStartExpression) {
+    String sql = UPSERT_PREFIX + AGGREGATE.formatted(periodStartExpression,
+        "dp.catalog_item_id IS NOT NULL", "dp.catalog_item_id, period_start") + UPSERT_SUFFIX;
+    return namedJdbcTemplate.update(sql, new MapSqlParameterSource("granularity", granularity.name())
+        .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+  }
+}
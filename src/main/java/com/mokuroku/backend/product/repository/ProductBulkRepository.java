@@ -0,0 +1,236 @@
+package com.mokuroku.backend.product.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 배치 크롤링 결과 저장용 JDBC 리포지토리
+ * catalog_item / product / daily_price 를 INSERT ... ON DUPLICATE KEY UPDATE 로 묶어서 저장한다.
+ * (MySQL 접속 URL 에 rewriteBatchedStatements=true 를 주면 다중 VALUES 한 문장으로 전송된다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductBulkRepository {
+
+  private static final String UPSERT_PRODUCT = """
+      INSERT INTO product (wishlist_id, name, url, price, nation_code, reg_date)
+      VALUES (?, ?, ?, ?, ?, ?)
+      ON DUPLICATE KEY UPDATE
+        name = VALUES(name),
+        url = VALUES(url),
+        price = VALUES(price),
+        nation_code = VALUES(nation_code)
+      """;
+
+  // 검색어는 처음 찾은 위시리스트 것을 유지, 가격은 0(가격 없음)이면 덮어쓰지 않음
+  private static final String UPSERT_CATALOG_ITEM = """
+      INSERT INTO catalog_item (catalog_key, nation_code, keyword, name, url, price, rating,
+                                reg_date, updated_at)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+      ON DUPLICATE KEY UPDATE
+        name = VALUES(name),
+        url = VALUES(url),
+        price = IF(VALUES(price) > 0, VALUES(price), price),
+        rating = VALUES(rating),
+        updated_at = VALUES(updated_at)
+      """;
+
+  private static final String LINK_WISHLIST = """
+      UPDATE wishlist SET catalog_item_id = ?
+      WHERE wishlist_id = ? AND catalog_item_id IS NULL
+      """;
+
+  private static final String UPSERT_DAILY_PRICE = """
+      INSERT INTO daily_price (catalog_item_id, price, captured_at, date)
+      VALUES (?, ?, ?, ?)
+      ON DUPLICATE KEY UPDATE
+        price = VALUES(price),
+        captured_at = VALUES(captured_at)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  // wishlistId -> 현재 상품 id / 가격
+  public Map<Long, ProductPriceRow> findByWishlistIds(Collection<Long> wishlistIds) {
+    Map<Long, ProductPriceRow> result = new HashMap<>();
+    if (wishlistIds.isEmpty()) {
+      return result;
+    }
+    namedJdbcTemplate.query(
+        "SELECT product_id, wishlist_id, price FROM product WHERE wishlist_id IN (:ids)",
+        new MapSqlParameterSource("ids", wishlistIds),
+        rs -> {
+          long wishlistId = rs.getLong("wishlist_id");
+          int price = rs.getInt("price");
+          Integer priceOrNull = rs.wasNull() ? null : price;
+          result.putIfAbsent(wishlistId,
+              new ProductPriceRow(rs.getLong("product_id"), wishlistId, priceOrNull));
+        });
+    return result;
+  }
+
+  // wishlistId -> 연결된 카탈로그 상품 id (아직 연결되지 않은 위시리스트는 결과에 없음)
+  public Map<Long, Long> findCatalogItemIdsByWishlistIds(Collection<Long> wishlistIds) {
+    Map<Long, Long> result = new HashMap<>();
+    if (wishlistIds.isEmpty()) {
+      return result;
+    }
+    namedJdbcTemplate.query("""
+            SELECT wishlist_id, catalog_item_id FROM wishlist
+            WHERE wishlist_id IN (:ids) AND catalog_item_id IS NOT NULL
+            """,
+        new MapSqlParameterSource("ids", wishlistIds),
+        rs -> {
+          result.put(rs.getLong("wishlist_id"), rs.getLong("catalog_item_id"));
+        });
+    return result;
+  }
+
+  // catalogKey -> 카탈로그 상품 id
+  public Map<String, Long> findCatalogItemIdsByKeys(Collection<String> keys) {
+    Map<String, Long> result = new HashMap<>();
+    if (keys.isEmpty()) {
+      return result;
+    }
+    namedJdbcTemplate.query(
+        "SELECT catalog_item_id, catalog_key FROM catalog_item WHERE catalog_key IN (:keys)",
+        new MapSqlParameterSource("keys", keys),
+        rs -> {
+          result.put(rs.getString("catalog_key"), rs.getLong("catalog_item_id"));
+        });
+    return result;
+  }
+
+  // catalogItemId -> from 이후 일별 가격이 바뀐 횟수 (존재하지 않는 id 는 결과에 없음)
+  public Map<Long, Integer> countPriceChanges(Collection<Long> catalogItemIds, LocalDate from) {
+    Map<Long, Integer> result = new HashMap<>();
+    if (catalogItemIds.isEmpty()) {
+      return result;
+    }
+    namedJdbcTemplate.query("""
+            SELECT c.catalog_item_id,
+                   COALESCE(SUM(CASE WHEN t.prev_price IS NOT NULL AND t.price <> t.prev_price
+                                     THEN 1 ELSE 0 END), 0) AS changes
+            FROM catalog_item c
+            LEFT JOIN (
+              SELECT dp.catalog_item_id, dp.price,
+                     LAG(dp.price) OVER (PARTITION BY dp.catalog_item_id ORDER BY dp.date)
+                       AS prev_price
+              FROM daily_price dp
+              WHERE dp.catalog_item_id IN (:ids)
+                AND dp.date >= :from
+            ) t ON t.catalog_item_id = c.catalog_item_id
+            WHERE c.catalog_item_id IN (:ids)
+            GROUP BY c.catalog_item_id
+            """,
+        new MapSqlParameterSource("ids", catalogItemIds).addValue("from", Date.valueOf(from)),
+        rs -> {
+          result.put(rs.getLong("catalog_item_id"), rs.getInt("changes"));
+        });
+    return result;
+  }
+
+  public void upsertCatalogItems(Collection<CatalogUpsert> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(UPSERT_CATALOG_ITEM, rows.stream()
+        .map(r -> new Object[]{r.catalogKey(), r.nationCode(), r.keyword(), r.name(), r.url(),
+            r.price(), r.rating(), Timestamp.valueOf(r.updatedAt()),
+            Timestamp.valueOf(r.updatedAt())})
+        .toList());
+  }
+
+  // wishlistId -> catalogItemId 로 연결 (아직 연결되지 않은 위시리스트만, 이미 연결된 위시리스트는 옮기지 않음)
+  public void linkWishlists(Map<Long, Long> catalogItemIdByWishlistId) {
+    if (catalogItemIdByWishlistId.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(LINK_WISHLIST, catalogItemIdByWishlistId.entrySet().stream()
+        .map(e -> new Object[]{e.getValue(), e.getKey()})
+        .toList());
+  }
+
+  // 보관(archive) 대상을 찾기 위한 카탈로그 상품 id keyset 페이지
+  public List<Long> findCatalogItemIdPage(long lastId, int limit) {
+    return jdbcTemplate.queryForList(
+        "SELECT catalog_item_id FROM catalog_item WHERE catalog_item_id > ? "
+            + "ORDER BY catalog_item_id LIMIT ?",
+        Long.class, lastId, limit);
+  }
+
+  // catalogItemId -> (date -> price), before 이전 날짜만 ((catalog_item_id, date) 인덱스 범위 조회)
+  public Map<Long, Map<LocalDate, Integer>> findDailyPricesBefore(Collection<Long> catalogItemIds,
+      LocalDate before) {
+    Map<Long, Map<LocalDate, Integer>> result = new HashMap<>();
+    if (catalogItemIds.isEmpty()) {
+      return result;
+    }
+    namedJdbcTemplate.query("""
+            SELECT catalog_item_id, date, price FROM daily_price
+            WHERE catalog_item_id IN (:ids) AND date < :before AND price > 0
+            """,
+        new MapSqlParameterSource("ids", catalogItemIds).addValue("before", Date.valueOf(before)),
+        rs -> {
+          result.computeIfAbsent(rs.getLong("catalog_item_id"), id -> new HashMap<>())
+              .put(rs.getDate("date").toLocalDate(), rs.getInt("price"));
+        });
+    return result;
+  }
+
+  public int deleteDailyPricesBefore(Collection<Long> catalogItemIds, LocalDate before) {
+    if (catalogItemIds.isEmpty()) {
+      return 0;
+    }
+    return namedJdbcTemplate.update(
+        "DELETE FROM daily_price WHERE catalog_item_id IN (:ids) AND date < :before",
+        new MapSqlParameterSource("ids", catalogItemIds).addValue("before", Date.valueOf(before)));
+  }
+
+  public void upsertProducts(List<ProductUpsert> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(UPSERT_PRODUCT, rows.stream()
+        .map(r -> new Object[]{r.wishlistId(), r.name(), r.url(), r.price(), r.nationCode(),
+            Timestamp.valueOf(r.regDate())})
+        .toList());
+  }
+
+  public void upsertDailyPrices(List<DailyPriceUpsert> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(UPSERT_DAILY_PRICE, rows.stream()
+        .map(r -> new Object[]{r.catalogItemId(), r.price(), Timestamp.valueOf(r.capturedAt()),
+            Date.valueOf(r.date())})
+        .toList());
+  }
+
+  public record ProductPriceRow(long productId, long wishlistId, Integer price) {
+  }
+
+  public record ProductUpsert(long wishlistId, String name, String url, int price,
+                              String nationCode, LocalDateTime regDate) {
+  }
+
+  public record CatalogUpsert(String catalogKey, String nationCode, String keyword, String name,
+                              String url, int price, Double rating, LocalDateTime updatedAt) {
+  }
+
+  public record DailyPriceUpsert(long catalogItemId, int price, LocalDateTime capturedAt,
+                                 LocalDate date) {
+  }
+}
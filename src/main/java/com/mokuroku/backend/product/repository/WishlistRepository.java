@@ -2,8 +2,10 @@ package com.mokuroku.backend.product.repository;
 
 import com.mokuroku.backend.member.entity.Member;
 import com.mokuroku.backend.product.entity.Wishlist;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,5 +25,54 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
       """)
   List<Wishlist> findAllByMemberStatusWithProducts(@Param("status") String status);
 
+  // 배치 크롤링용 keyset 페이지 조회 (wishlistId 오름차순, (lastId, toId] 범위에서 pageable 크기만큼)
+  @Query("""
+          SELECT w
+          FROM Wishlist w
+          JOIN FETCH w.member m
+          WHERE m.status = :status
+            AND w.wishlistId > :lastId
+            AND w.wishlistId <= :toId
+          ORDER BY w.wishlistId
+      """)
+  List<Wishlist> findPageByMemberStatus(@Param("status") String status,
+      @Param("lastId") long lastId, @Param("toId") long toId, Pageable pageable);
+
+  // 아직 카탈로그 상품에 연결되지 않은(한 번도 크롤링되지 않은) 위시리스트 keyset 페이지
+  @Query("""
+          SELECT w
+          FROM Wishlist w
+          JOIN FETCH w.member m
+          WHERE m.status = :status
+            AND w.catalogItem IS NULL
+            AND w.wishlistId > :lastId
+            AND w.wishlistId <= :toId
+          ORDER BY w.wishlistId
+      """)
+  List<Wishlist> findUnlinkedPageByMemberStatus(@Param("status") String status,
+      @Param("lastId") long lastId, @Param("toId") long toId, Pageable pageable);
+
+  // 카탈로그 상품을 크롤링한 결과를 나눠 줄 위시리스트
+  @Query("""
+          SELECT w
+          FROM Wishlist w
+          JOIN FETCH w.member m
+          JOIN FETCH w.catalogItem c
+          WHERE c.catalogItemId IN :catalogItemIds
+            AND m.status = :status
+      """)
+  List<Wishlist> findAllByCatalogItemIdInAndMemberStatus(
+      @Param("catalogItemIds") Collection<Long> catalogItemIds, @Param("status") String status);
+
+  @Query("""
+          SELECT w
+          FROM Wishlist w
+          JOIN FETCH w.member m
+          WHERE w.wishlistId IN :ids
+            AND m.status = :status
+      """)
+  List<Wishlist> findAllByIdInAndMemberStatus(@Param("ids") Collection<Long> ids,
+      @Param("status") String status);
+
   Optional<Wishlist> findByWishlistIdAndMember(long wishlistId, Member member);
 }
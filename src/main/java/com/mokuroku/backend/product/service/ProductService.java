@@ -2,9 +2,11 @@ package com.mokuroku.backend.product.service;
 
 import com.mokuroku.backend.common.ResultDTO;
 import com.mokuroku.backend.product.dto.CrawlingRequestDTO;
+import com.mokuroku.backend.product.dto.PricePointDTO;
 import com.mokuroku.backend.product.dto.ProductDTO;
 import com.mokuroku.backend.product.dto.ProductInfoDTO;
 import com.mokuroku.backend.product.dto.WishlistDTO;
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -23,5 +25,8 @@ public interface ProductService {
 
   List<WishlistDTO> getWishlistList();
 
+  List<PricePointDTO> getPriceHistory(long wishlistId, LocalDate from, LocalDate to,
+      String granularity);
+
   Mono<ProductDTO> crawling(CrawlingRequestDTO crawlingRequestDTO);
 }
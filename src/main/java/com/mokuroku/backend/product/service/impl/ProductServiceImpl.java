@@ -7,16 +7,34 @@ import com.mokuroku.backend.member.entity.Member;
 import com.mokuroku.backend.member.repository.MemberRepository;
 import com.mokuroku.backend.member.security.MemberAuthUtil;
 import com.mokuroku.backend.notification.event.PriceChangedEvent;
+import com.mokuroku.backend.product.archive.PriceArchiveStore;
+import com.mokuroku.backend.product.catalog.CatalogKey;
+import com.mokuroku.backend.product.crawler.CatalogCrawlSource;
+import com.mokuroku.backend.product.crawler.CrawlBatcher;
+import com.mokuroku.backend.product.crawler.CrawlConcurrencyLimiters;
+import com.mokuroku.backend.product.crawler.CrawlHedger;
+import com.mokuroku.backend.product.crawler.CrawlKey;
+import com.mokuroku.backend.product.crawler.CrawlResultCache;
+import com.mokuroku.backend.product.crawler.CrawlRunTelemetry;
+import com.mokuroku.backend.product.crawler.CrawlSingleFlight;
+import com.mokuroku.backend.product.crawler.CrawlTarget;
+import com.mokuroku.backend.product.crawler.WishlistCrawlSource;
 import com.mokuroku.backend.product.dto.CrawlingRequestDTO;
 import com.mokuroku.backend.product.dto.CrawlingResponseDTO;
+import com.mokuroku.backend.product.dto.PricePointDTO;
 import com.mokuroku.backend.product.dto.ProductDTO;
 import com.mokuroku.backend.product.dto.ProductInfoDTO;
 import com.mokuroku.backend.product.dto.ProductInfoDTO.ProductInfoDTOBuilder;
 import com.mokuroku.backend.product.dto.WishlistDTO;
-import com.mokuroku.backend.product.entity.DailyPrice;
-import com.mokuroku.backend.product.entity.Product;
+import com.mokuroku.backend.product.entity.CatalogItem;
+import com.mokuroku.backend.product.entity.PriceGranularity;
 import com.mokuroku.backend.product.entity.Wishlist;
-import com.mokuroku.backend.product.repository.DailyPriceRepository;
+import com.mokuroku.backend.product.repository.ProductBulkRepository;
+import com.mokuroku.backend.product.repository.ProductBulkRepository.CatalogUpsert;
+import com.mokuroku.backend.product.repository.ProductBulkRepository.DailyPriceUpsert;
+import com.mokuroku.backend.product.repository.ProductBulkRepository.ProductPriceRow;
+import com.mokuroku.backend.product.repository.ProductBulkRepository.ProductUpsert;
+import com.mokuroku.backend.product.repository.PriceRollupRepository;
 import com.mokuroku.backend.product.repository.ProductRepository;
 import com.mokuroku.backend.product.repository.WishlistRepository;
 import com.mokuroku.backend.product.service.ProductService;
@@ -27,36 +45,58 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.util.Pair;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
-import org.springframework.web.reactive.function.client.WebClient.Builder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
 
-  private static final int CRAWL_CONCURRENCY = 3; // Python MAX_WORKERS와 동일하게
-
   private final MemberRepository memberRepository;
   private final WishlistRepository wishlistRepository;
   private final ProductRepository productRepository;
-  private final DailyPriceRepository dailyPriceRepository;
-  private final Builder webClientBuilder;
+  private final ProductBulkRepository productBulkRepository;
+  private final PriceRollupRepository priceRollupRepository;
+  private final PriceArchiveStore priceArchiveStore;
+  private final CrawlHedger crawlHedger;
+  private final CrawlBatcher crawlBatcher;
+  private final CrawlSingleFlight crawlSingleFlight;
+  private final CrawlResultCache crawlResultCache;
+  private final CrawlConcurrencyLimiters crawlLimiters;
+  private final WishlistCrawlSource wishlistCrawlSource;
+  private final CatalogCrawlSource catalogCrawlSource;
+  private final CrawlRunTelemetry telemetry;
   private final TransactionTemplate tx;
   private final ApplicationEventPublisher eventPublisher;
 
+  // 저장 단계: batch-size 개가 모이거나 batch-window 가 지나면 한 트랜잭션으로 저장
+  @Value("${mokuroku.crawler.persist.batch-size:100}")
+  private int persistBatchSize;
+
+  @Value("${mokuroku.crawler.persist.batch-window:500ms}")
+  private Duration persistBatchWindow;
+
   @Override
   public WishlistDTO wishListRegist(WishlistDTO wishListDTO) {
 
@@ -195,25 +235,97 @@ public class ProductServiceImpl implements ProductService {
     return wishlistDTOList;
   }
 
+  @Override
+  public List<PricePointDTO> getPriceHistory(long wishlistId, LocalDate from, LocalDate to,
+      String granularity) {
+
+    String email = MemberAuthUtil.getLoginUserId();
+
+    // 회원인지 검증 -> 회원상태 enum 값으로 변경되면 그 상태에 맞게 수정
+    Member member = memberRepository.findById(email)
+        .orElseThrow(() -> new CustomException(ErrorCode.MEMBER_NOT_FOUND));
+
+    if (!member.getStatus().equals("1")) {
+      throw new CustomException(ErrorCode.ACCOUNT_DISABLED);
+    }
+
+    Wishlist wishlist = wishlistRepository.findByWishlistIdAndMember(wishlistId, member)
+        .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_WISHLIST));
+
+    PriceGranularity unit = PriceGranularity.from(granularity);
+    LocalDate end = to != null ? to : LocalDate.now(ZoneId.of("Asia/Seoul"));
+    // 기간을 주지 않으면 단위별로 차트 한 장에 적당한 기간 (일 90개 / 주 52개 / 월 60개 정도)
+    LocalDate start = from != null ? from : switch (unit) {
+      case DAY -> end.minusDays(90);
+      case WEEK -> end.minusYears(1);
+      case MONTH -> end.minusYears(5);
+    };
+    if (start.isAfter(end)) {
+      throw new CustomException(ErrorCode.INVALID_DATE_RANGE);
+    }
+
+    // 아직 한 번도 크롤링되지 않은 위시리스트는 가격 이력이 없다
+    if (wishlist.getCatalogItem() == null) {
+      return List.of();
+    }
+    long catalogItemId = wishlist.getCatalogItem().getCatalogItemId();
+
+    return unit == PriceGranularity.DAY
+        ? getDailyPrices(catalogItemId, start, end)
+        : priceRollupRepository.findRollups(catalogItemId, unit, start, end);
+  }
+
+  // 오래된 날짜는 보관 파일, 최근 날짜는 MySQL 에서 읽어 합친다 (같은 날짜가 양쪽에 있으면 MySQL 값)
+  private List<PricePointDTO> getDailyPrices(long catalogItemId, LocalDate start, LocalDate end) {
+    List<PricePointDTO> recent = priceRollupRepository.findDaily(catalogItemId, start, end);
+    LocalDate lastArchived = priceArchiveStore.lastArchivedDate(catalogItemId);
+    if (lastArchived == null || lastArchived.isBefore(start)) {
+      return recent;
+    }
+
+    TreeMap<LocalDate, PricePointDTO> merged = new TreeMap<>();
+    LocalDate archivedEnd = lastArchived.isBefore(end) ? lastArchived : end;
+    priceArchiveStore.read(catalogItemId, start, archivedEnd)
+        .forEach(point -> merged.put(point.getDate(), point));
+    recent.forEach(point -> merged.put(point.getDate(), point));
+    return new ArrayList<>(merged.values());
+  }
+
   // 1) 내부 공용: 인증 불필요, 핵심 크롤링만 수행
   private Mono<ProductDTO> crawlCore(String nationCode, String keyword) {
-    String baseUrl = "http://localhost:5000";
+    return crawlCore(nationCode, keyword, null);
+  }
+
+  // run 이 있으면 배치 실행 범위 안에서, 없으면 진행 중인 요청끼리만 같은 키 결과를 공유
+  private Mono<ProductDTO> crawlCore(String nationCode, String keyword, CrawlSingleFlight.Run run) {
     String nation = nationCode.toLowerCase();
 
     if (!nation.equals("kr") && !nation.equals("jp")) {
       return Mono.error(new CustomException(ErrorCode.INVALID_NATION_CODE));
     }
 
-    return webClientBuilder.baseUrl(baseUrl)
-        .build()
-        .get()
-        .uri(uriBuilder -> uriBuilder
-            .path("/api/crawl")
-            .queryParam("nationCode", nation)
-            .queryParam("keyword", keyword)
-            .build())
-        .retrieve()
-        .bodyToMono(CrawlingResponseDTO.class)
+    CrawlKey key = CrawlKey.of(nation, keyword);
+    // 배치 실행에서는 검색어를 묶어서 요청하고, 크롤러 HTTP 요청 단위로 적응형 동시성 제한을 받는다
+    Supplier<Mono<ProductDTO>> fetch = run != null
+        ? () -> toProduct(nation, crawlBatcher.crawl(nation, keyword),
+            crawlBatcher.getItemTimeout())
+        : () -> fetchProduct(nation, keyword);
+
+    // 캐시(L1/L2) 확인 후 없을 때만 크롤러 호출
+    Supplier<Mono<ProductDTO>> loader = () -> crawlResultCache.getOrLoad(key, fetch);
+
+    return run != null ? run.execute(key, loader) : crawlSingleFlight.execute(key, loader);
+  }
+
+  private Mono<ProductDTO> fetchProduct(String nation, String keyword) {
+    // 사용자 요청: 설정 시 느린 요청을 다른 크롤러 인스턴스로 hedge
+    // timeout 은 재시도(read-timeout x 시도 횟수 + backoff)가 끝나기 전에 끊기지 않도록 그 예산에서 계산
+    return toProduct(nation, crawlHedger.crawl(nation, keyword), crawlHedger.getTimeout());
+  }
+
+  private Mono<ProductDTO> toProduct(String nation, Mono<CrawlingResponseDTO> response,
+      Duration timeout) {
+    return response
         .map(wrapper -> {
           if (wrapper.getData() != null && !wrapper.getData().isEmpty()) {
             ProductDTO product = wrapper.getData().get(0);
@@ -222,115 +334,269 @@ public class ProductServiceImpl implements ProductService {
           }
           return new ProductDTO();
         })
-        .timeout(Duration.ofSeconds(60))
-        .onErrorMap(e -> new CustomException(ErrorCode.CRAWLING_UNKNOWN_ERROR));
+        .timeout(timeout)
+        // 원인 예외는 실패 원인 분류(timeout / http status 등)를 위해 유지
+        // circuit breaker / bulkhead 거절(CRAWLER_UNAVAILABLE / CRAWLER_BUSY)은 그대로 전달
+        .onErrorMap(e -> !(e instanceof CustomException),
+            e -> new CustomException(ErrorCode.CRAWLING_UNKNOWN_ERROR, e));
   }
 
   // 2) 사용자 호출용: 여기서만 로그인/회원상태 검증
+  // 요청 스레드를 막지 않도록 회원 조회(JPA)는 boundedElastic 에서 실행하고 결과는 비동기로 반환
   @Override
   public Mono<ProductDTO> crawling(CrawlingRequestDTO req) {
+    // SecurityContext 는 요청 스레드에 있으므로 구독 전에 꺼내 둔다
     String email = MemberAuthUtil.getLoginUserId();
-    Member member = memberRepository.findById(email)
-        .orElseThrow(() -> new CustomException(ErrorCode.MEMBER_NOT_FOUND));
 
-    if (!"1".equals(member.getStatus())) {
-      throw new CustomException(ErrorCode.ACCOUNT_DISABLED);
-    }
-
-    return crawlCore(req.getNationCode(), req.getName());
+    return Mono.fromCallable(() -> memberRepository.findById(email)
+            .orElseThrow(() -> new CustomException(ErrorCode.MEMBER_NOT_FOUND)))
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(member -> {
+          if (!"1".equals(member.getStatus())) {
+            return Mono.error(new CustomException(ErrorCode.ACCOUNT_DISABLED));
+          }
+          return crawlCore(req.getNationCode(), req.getName());
+        });
   }
 
   // 3) 스케줄러/배치용: 회원 검증 없이 core 호출
-  public Flux<Pair<Wishlist, ProductDTO>> crawlMultipleProducts(List<Wishlist> wishlists) {
-    return Flux.fromIterable(wishlists)
-        .flatMap(wl ->
-                crawlCore(wl.getNationCode(), wl.getName())
-                    .map(dto -> Pair.of(wl, dto))
-                    .onErrorContinue((e, o) ->
-                        log.error("Crawling error for {}: {}", wl.getName(), e.getMessage(), e)
-                    ),
-            CRAWL_CONCURRENCY
-        );
+  // 크롤링은 대상(카탈로그 상품 / 미연결 위시리스트)당 한 번, 결과는 대상의 위시리스트 전체에 나눠준다
+  private Flux<Pair<Wishlist, ProductDTO>> crawlTargets(Flux<CrawlTarget> targets,
+      CrawlRunTelemetry.Run telemetryRun) {
+    return Flux.using(
+        crawlSingleFlight::openRun,
+        run -> targets
+            .flatMap(target -> {
+                  long start = System.nanoTime();
+                  return crawlCore(target.nationCode(), target.keyword(), run)
+                      .doOnNext(dto -> {
+                        telemetryRun.recordStage(CrawlRunTelemetry.STAGE_CRAWL,
+                            System.nanoTime() - start);
+                        telemetryRun.crawled();
+                      })
+                      .filter(dto -> isSameCatalogItem(target, dto, telemetryRun))
+                      .doOnNext(dto -> telemetryRun.fannedOut(target.wishlists().size()))
+                      .flatMapIterable(dto -> target.wishlists().stream()
+                          .map(wl -> Pair.of(wl, dto))
+                          .toList())
+                      // 공유된 결과가 실패해도 해당 대상만 건너뛰도록 내부에서 처리
+                      .onErrorResume(e -> {
+                        log.error("Crawling error for {}: {}", target.keyword(), e.getMessage(), e);
+                        telemetryRun.dropped(CrawlRunTelemetry.classify(e));
+                        return Flux.empty();
+                      });
+                },
+                crawlParallelism()
+            ),
+        CrawlSingleFlight.Run::close
+    );
   }
 
-  // 자정마다 실행 (cron: 초 분 시 일 월 요일)
-  @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
-  public void scheduledCrawling() {
-    List<Wishlist> wishlists = wishlistRepository.findAllByMemberStatusWithProducts("1");
+  // 카탈로그 상품은 저장된 검색어로 다시 크롤링하므로 검색 결과 1위가 다른 상품(URL)으로 바뀔 수 있다.
+  // 그 결과는 다른 상품이므로 이 상품의 가격 이력 / 가격 알림에 쓰지 않는다.
+  private boolean isSameCatalogItem(CrawlTarget target, ProductDTO dto,
+      CrawlRunTelemetry.Run telemetryRun) {
+    if (CrawlResultCache.isEmptyResult(dto)) {
+      return true;
+    }
+    String nationCode = dto.getNationCode() != null ? dto.getNationCode() : target.nationCode();
+    if (CatalogKey.matches(target.catalogKey(), nationCode, dto.getUrl(), target.keyword())) {
+      return true;
+    }
+    log.warn("catalog item {} re-crawl returned a different product, skipped: {}",
+        target.catalogItemId(), dto.getUrl());
+    telemetryRun.dropped("catalog_mismatch");
+    return false;
+  }
 
-    crawlMultipleProducts(wishlists)
+  // 묶음 요청을 쓰면 HTTP 요청 하나에 batch-size 개의 검색어가 실리므로 그만큼 더 많이 동시에 진행한다
+  private int crawlParallelism() {
+    if (crawlBatcher.isEnabled()) {
+      return crawlLimiters.crawlBatch().getMaxLimit() * crawlBatcher.getBatchSize();
+    }
+    return crawlLimiters.crawl().getMaxLimit();
+  }
+
+  // 카탈로그 상품 / 위시리스트 크롤링 대상을 같은 파이프라인으로 처리 (반환값은 대상에 속한 위시리스트 수)
+  public Mono<Long> crawlTargetsAndPersist(Flux<CrawlTarget> source, CrawlRunTelemetry.Run run) {
+    AtomicLong processed = new AtomicLong();
+    Flux<CrawlTarget> targets = source.doOnNext(target -> {
+      processed.addAndGet(target.wishlists().size());
+      run.received();
+    });
+
+    return crawlTargets(targets, run)
         .filter(pair -> {
-          ProductDTO productDTO = pair.getSecond();
-          return productDTO.getName() != null && !productDTO.getName().isEmpty()
-              && productDTO.getPrice() > 0;
+          long start = System.nanoTime();
+          boolean valid = !CrawlResultCache.isEmptyResult(pair.getSecond());
+          run.recordStage(CrawlRunTelemetry.STAGE_FILTER, System.nanoTime() - start);
+          if (!valid) {
+            run.dropped("empty_result");
+          }
+          return valid;
         })
-        .flatMap(pair ->
-                Mono.fromCallable(() ->
-                    tx.execute(status -> updateProduct(pair.getFirst(), pair.getSecond()))
-                ).subscribeOn(Schedulers.boundedElastic()),
-            CRAWL_CONCURRENCY
+        .bufferTimeout(persistBatchSize, persistBatchWindow)
+        .flatMap(batch -> crawlLimiters.persist().execute(() ->
+                Mono.fromCallable(() -> persistBatch(batch, run))
+                    .subscribeOn(Schedulers.boundedElastic())),
+            crawlLimiters.persist().getMaxLimit()
         )
-        .doOnComplete(() -> log.info("scheduledCrawling completed. Total wishlists processed: {}",
-            wishlists.size()))
         .onErrorContinue((e, o) -> log.error("scheduledCrawling error: {}", e.getMessage(), e))
-        .subscribe();
+        .then(Mono.fromSupplier(processed::get))
+        // 파이프라인의 모든 로그에 runId 가 찍히도록 MDC 로 전파
+        .contextWrite(Context.of(CrawlRunTelemetry.MDC_KEY, run.getRunId()));
   }
 
-  public Product updateProduct(Wishlist wishlist, ProductDTO productDTO) {
-
-    int newPrice = productDTO.getPrice();
-
-    Product product;
-    // DB에서 존재 여부 확인
-    Optional<Product> existingProductOpt = productRepository.findByWishlist(wishlist);
-
-    if (existingProductOpt.isPresent()) {
-      Product existing = existingProductOpt.get();
-      int oldPrice = existing.getPrice();
-
-      // 가격 변동 없으면 저장 생략
-      if (newPrice > 0 && newPrice != existing.getPrice()) {
-        product = productRepository.save(ProductDTO.updateEntity(productDTO, existing));
-
-        // 가격 변동시 이벤트 발생
-        eventPublisher.publishEvent(
-            new PriceChangedEvent(
-                wishlist.getMember().getEmail(),
-                product.getProductId(),
-                product.getName(),
-                oldPrice,
-                newPrice
-            )
-        );
-      } else {
-        product = existing;
-      }
-    } else {
-      product = productRepository.save(ProductDTO.toNewEntity(productDTO, wishlist));
+  private int persistBatch(List<Pair<Wishlist, ProductDTO>> batch, CrawlRunTelemetry.Run run) {
+    long start = System.nanoTime();
+    try (MDC.MDCCloseable ignored = MDC.putCloseable(CrawlRunTelemetry.MDC_KEY, run.getRunId())) {
+      Integer count = tx.execute(status -> updateProducts(batch, run));
+      run.persisted(batch.size());
+      return count == null ? 0 : count;
+    } catch (RuntimeException e) {
+      run.persistFailed(batch.size(), e);
+      throw e;
+    } finally {
+      run.recordStage(CrawlRunTelemetry.STAGE_PERSIST, System.nanoTime() - start);
     }
+  }
 
+  // 단일 노드에서 전체 크롤링 (수동 실행용)
+  // 자정 스케줄은 CrawlCoordinator 가 shard 단위로 나눠 여러 노드에서 실행한다.
+  public void scheduledCrawling() {
+    CrawlRunTelemetry.Run run = telemetry.start("manual-" + Instant.now().toEpochMilli(), "manual");
+    // 전체 목록을 한 번에 올리지 않고 keyset 페이지 단위로 스트리밍
+    // 카탈로그 상품은 상품당 한 번, 아직 연결되지 않은 위시리스트는 검색어로 크롤링해서 상품을 찾는다
+    Flux<CrawlTarget> targets = Flux.concat(
+        catalogCrawlSource.activeItems(),
+        wishlistCrawlSource.unlinkedWishlists().map(CrawlTarget::of));
+    crawlTargetsAndPersist(targets, run)
+        .doFinally(signal -> telemetry.finish(run))
+        .subscribe(count -> {
+          try (MDC.MDCCloseable ignored =
+              MDC.putCloseable(CrawlRunTelemetry.MDC_KEY, run.getRunId())) {
+            log.info("scheduledCrawling completed. Total wishlists processed: {}", count);
+          }
+        });
+  }
+
+  // 여러 건을 JDBC batch upsert 로 저장 (호출 측 트랜잭션 안에서 실행)
+  private int updateProducts(List<Pair<Wishlist, ProductDTO>> batch, CrawlRunTelemetry.Run run) {
     LocalDate date = LocalDate.now(ZoneId.of("Asia/Seoul"));
     LocalDateTime capturedUtc = LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
 
-    // DailyPrice 저장
-    dailyPriceRepository.findByProductAndDate(product, date).ifPresentOrElse(dp -> {
-      DailyPrice updateDp = dp.toBuilder()
-          .price(newPrice)
-          .capturedAt(capturedUtc)
-          .build();
-
-      dailyPriceRepository.save(updateDp);
-    }, () -> {
-      DailyPrice newDp = DailyPrice.builder()
-          .product(product)
-          .price(newPrice)
-          .capturedAt(capturedUtc)
-          .date(date)
-          .build();
-
-      dailyPriceRepository.save(newDp);
+    // 1) 크롤링 결과를 카탈로그 상품으로 정규화하고 위시리스트를 연결
+    Map<Long, Long> catalogItemIds = upsertCatalogItems(batch);
+
+    List<Long> wishlistIds = batch.stream()
+        .map(pair -> pair.getFirst().getWishlistId())
+        .toList();
+    Map<Long, ProductPriceRow> existing = productBulkRepository.findByWishlistIds(wishlistIds);
+
+    // 2) 위시리스트별 현재 상품 정보 (가격이 바뀐 위시리스트만 갱신 + 이벤트)
+    List<ProductUpsert> productRows = new ArrayList<>();
+    List<PriceChangedEvent> events = new ArrayList<>();
+
+    for (Pair<Wishlist, ProductDTO> pair : batch) {
+      Wishlist wishlist = pair.getFirst();
+      ProductDTO productDTO = pair.getSecond();
+      int newPrice = productDTO.getPrice();
+      ProductPriceRow row = existing.get(wishlist.getWishlistId());
+
+      if (row == null) {
+        productRows.add(toUpsert(wishlist, productDTO));
+      } else if (newPrice > 0 && (row.price() == null || newPrice != row.price())) {
+        // 가격이 실제로 바뀐 상품만 갱신 + 이벤트 발생
+        productRows.add(toUpsert(wishlist, productDTO));
+        events.add(new PriceChangedEvent(
+            wishlist.getMember().getEmail(),
+            wishlist.getWishlistId(),
+            row.productId(),
+            productDTO.getName(),
+            row.price() == null ? 0 : row.price(),
+            newPrice
+        ));
+      }
+    }
+
+    productBulkRepository.upsertProducts(productRows);
+
+    // 3) 일별 가격은 카탈로그 상품당 한 건 (같은 상품을 담은 위시리스트가 여러 개여도 한 번만 저장)
+    Map<Long, DailyPriceUpsert> priceRows = new TreeMap<>();
+    for (Pair<Wishlist, ProductDTO> pair : batch) {
+      Long catalogItemId = catalogItemIds.get(pair.getFirst().getWishlistId());
+      if (catalogItemId != null) {
+        priceRows.putIfAbsent(catalogItemId, new DailyPriceUpsert(catalogItemId,
+            pair.getSecond().getPrice(), capturedUtc, date));
+      }
+    }
+    productBulkRepository.upsertDailyPrices(new ArrayList<>(priceRows.values()));
+    // 오늘이 속한 주 / 월 집계만 다시 계산
+    priceRollupRepository.refresh(priceRows.keySet(), date);
+
+    // 트랜잭션 안에서 발행: PriceChangeListener(BEFORE_COMMIT)가 같은 트랜잭션에서 outbox 에 저장하므로
+    // outbox 저장이 실패하면 이 가격 batch 도 함께 롤백된다
+    long publishStart = System.nanoTime();
+    events.forEach(eventPublisher::publishEvent);
+    run.recordStage(CrawlRunTelemetry.STAGE_PUBLISH, System.nanoTime() - publishStart);
+    run.eventsPublished(events.size());
+
+    return batch.size();
+  }
+
+  // wishlistId -> 카탈로그 상품 id (상품 URL 기준, URL 이 없으면 국가코드 + 검색어 기준)
+  // 이미 연결된 위시리스트는 연결된 상품을 그대로 갱신하고, 결과 URL 이 달라도 다른 상품으로 옮기지 않는다
+  private Map<Long, Long> upsertCatalogItems(List<Pair<Wishlist, ProductDTO>> batch) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<Long, String> keyByWishlistId = new HashMap<>();
+    Set<Long> unlinkedIds = new HashSet<>();
+    // 여러 저장 batch 가 같은 상품을 동시에 upsert 할 때 잠금 순서가 엇갈리지 않도록 키 순서로 저장
+    Map<String, CatalogUpsert> rows = new TreeMap<>();
+
+    for (Pair<Wishlist, ProductDTO> pair : batch) {
+      Wishlist wishlist = pair.getFirst();
+      ProductDTO productDTO = pair.getSecond();
+      String nationCode = productDTO.getNationCode() != null
+          ? productDTO.getNationCode() : wishlist.getNationCode();
+      CatalogItem linked = wishlist.getCatalogItem();
+      String key = linked != null ? linked.getCatalogKey()
+          : CatalogKey.of(nationCode, productDTO.getUrl(), wishlist.getName());
+      if (linked == null) {
+        unlinkedIds.add(wishlist.getWishlistId());
+      }
+
+      keyByWishlistId.put(wishlist.getWishlistId(), key);
+      rows.putIfAbsent(key, new CatalogUpsert(key, nationCode, wishlist.getName(),
+          productDTO.getName(), productDTO.getUrl(), productDTO.getPrice(), productDTO.getRating(),
+          now));
+    }
+
+    productBulkRepository.upsertCatalogItems(rows.values());
+    Map<String, Long> idByKey = productBulkRepository.findCatalogItemIdsByKeys(rows.keySet());
+
+    Map<Long, Long> catalogItemIds = new HashMap<>();
+    Map<Long, Long> newLinks = new HashMap<>();
+    keyByWishlistId.forEach((wishlistId, key) -> {
+      Long catalogItemId = idByKey.get(key);
+      if (catalogItemId != null) {
+        catalogItemIds.put(wishlistId, catalogItemId);
+        if (unlinkedIds.contains(wishlistId)) {
+          newLinks.put(wishlistId, catalogItemId);
+        }
+      }
     });
+    productBulkRepository.linkWishlists(newLinks);
+    return catalogItemIds;
+  }
 
-    return product;
+  private ProductUpsert toUpsert(Wishlist wishlist, ProductDTO productDTO) {
+    return new ProductUpsert(
+        wishlist.getWishlistId(),
+        productDTO.getName(),
+        productDTO.getUrl(),
+        productDTO.getPrice(),
+        productDTO.getNationCode(),
+        LocalDateTime.now()
+    );
   }
 }
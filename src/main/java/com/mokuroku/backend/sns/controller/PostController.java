@@ -1,12 +1,11 @@
 package com.mokuroku.backend.sns.controller;
 
 import com.mokuroku.backend.sns.dto.PostDTO;
+import com.mokuroku.backend.sns.dto.PostPageDTO;
 import com.mokuroku.backend.sns.service.PostService;
 import com.mokuroku.backend.common.ResultDTO;
 import lombok.RequiredArgsConstructor;
 
-import java.util.List;
-
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,18 +32,22 @@ public class PostController {
         return ResponseEntity.ok(new ResultDTO<>("게시글 조회에 성공했습니다.", post));
     }
 
-    // 게시글 목록 조회
+    // 게시글 목록 조회 (다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다)
     @GetMapping
-    public ResponseEntity<ResultDTO<List<PostDTO>>> getAllPosts() {
-        List<PostDTO> postList = postService.getAllPosts();
-        return ResponseEntity.ok(new ResultDTO<>("게시글 목록 조회에 성공했습니다.", postList));
+    public ResponseEntity<ResultDTO<PostPageDTO>> getAllPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PostPageDTO postPage = postService.getAllPosts(cursor, size);
+        return ResponseEntity.ok(new ResultDTO<>("게시글 목록 조회에 성공했습니다.", postPage));
     }
 
     // 특정 회원 게시글 목록 조회
     @GetMapping("/member/{nickname}")
-    public ResponseEntity<ResultDTO<List<PostDTO>>> getPostsByNickname(@PathVariable String nickname) {
-        List<PostDTO> postList = postService.getPostsByNickname(nickname);
-        return ResponseEntity.ok(new ResultDTO<>("회원 게시글 목록 조회에 성공했습니다.", postList));
+    public ResponseEntity<ResultDTO<PostPageDTO>> getPostsByNickname(@PathVariable String nickname,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        PostPageDTO postPage = postService.getPostsByNickname(nickname, cursor, size);
+        return ResponseEntity.ok(new ResultDTO<>("회원 게시글 목록 조회에 성공했습니다.", postPage));
     }
 
     // 게시글 수정 (PUT)
@@ -0,0 +1,38 @@
+package com.mokuroku.backend.sns.dto;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import com.mokuroku.backend.sns.entity.PostEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 게시글 목록 커서 (마지막으로 받은 게시글의 등록일 + id)
+ * 클라이언트와는 내용을 알 수 없는 Base64(URL-safe) 문자열로만 주고받는다.
+ */
+public record PostCursor(LocalDateTime regDate, Long postId) {
+
+    public static PostCursor from(PostEntity postEntity) {
+        return new PostCursor(postEntity.getRegDate(), postEntity.getPostId());
+    }
+
+    public String encode() {
+        String raw = regDate + "|" + postId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new CustomException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.mokuroku.backend.sns.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostPageDTO {
+
+    private List<PostDTO> posts;
+
+    // 다음 페이지 요청에 그대로 넘기는 커서 (마지막 페이지면 null)
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -11,7 +11,13 @@ import com.mokuroku.backend.member.entity.Member;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "post")
+@Table(name = "post",
+        indexes = {
+                // 게시글 목록 / 회원별 게시글 목록의 커서 페이지 조회용
+                @Index(name = "idx_post_status_reg_date", columnList = "status, reg_date, post_id"),
+                @Index(name = "idx_post_email_status_reg_date",
+                        columnList = "email, status, reg_date, post_id")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,8 +1,12 @@
 package com.mokuroku.backend.sns.repository;
 
 import com.mokuroku.backend.sns.entity.PostEntity;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,11 +14,38 @@ import java.util.List;
 @Repository
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
-  // 게시글을 등록일 기준 내림차순으로 조회
-  List<PostEntity> findByStatusOrderByRegDateDesc(char status);
+  // 게시글 목록 첫 페이지 (등록일, id 기준 내림차순)
+  List<PostEntity> findByStatusOrderByRegDateDescPostIdDesc(char status, Limit limit);
 
-  // 특정 회원의 활성 게시글을 등록일 기준 내림차순으로 조회
-  List<PostEntity> findByMember_NicknameAndStatusOrderByRegDateDesc(String nickname, char status);
+  // 커서 다음 페이지 : (reg_date, post_id) < (:regDate, :postId), idx_post_status_reg_date 범위 스캔
+  @Query("""
+      select p from PostEntity p
+      where p.status = :status
+        and (p.regDate < :regDate or (p.regDate = :regDate and p.postId < :postId))
+      order by p.regDate desc, p.postId desc
+      """)
+  List<PostEntity> findPageAfter(@Param("status") char status,
+      @Param("regDate") LocalDateTime regDate, @Param("postId") Long postId, Limit limit);
+
+  // 특정 회원의 활성 게시글 첫 페이지 (등록일, id 기준 내림차순)
+  @Query("""
+      select p from PostEntity p
+      where p.member.nickname = :nickname and p.status = :status
+      order by p.regDate desc, p.postId desc
+      """)
+  List<PostEntity> findByNickname(@Param("nickname") String nickname,
+      @Param("status") char status, Limit limit);
+
+  // 특정 회원의 커서 다음 페이지 (idx_post_email_status_reg_date 범위 스캔)
+  @Query("""
+      select p from PostEntity p
+      where p.member.nickname = :nickname and p.status = :status
+        and (p.regDate < :regDate or (p.regDate = :regDate and p.postId < :postId))
+      order by p.regDate desc, p.postId desc
+      """)
+  List<PostEntity> findByNicknameAfter(@Param("nickname") String nickname,
+      @Param("status") char status, @Param("regDate") LocalDateTime regDate,
+      @Param("postId") Long postId, Limit limit);
 
   Optional<PostEntity> findByPostIdAndStatus(Long postId, char c);
 }
@@ -3,6 +3,7 @@ package com.mokuroku.backend.sns.service;
 import java.util.List;
 
 import com.mokuroku.backend.sns.dto.PostDTO;
+import com.mokuroku.backend.sns.dto.PostPageDTO;
 import com.mokuroku.backend.sns.entity.LocationEntity;
 
 import javax.xml.stream.Location;
@@ -15,11 +16,11 @@ public interface PostService {
     // 게시물 조회 (단일)
     PostDTO getPost(Long postId);
 
-    // 게시물 목록 조회
-    List<PostDTO> getAllPosts();
+    // 게시물 목록 조회 (cursor 가 없으면 첫 페이지)
+    PostPageDTO getAllPosts(String cursor, int size);
     
-    // 특정 회원 게시물 목록 조회
-    List<PostDTO> getPostsByNickname(String nickname);
+    // 특정 회원 게시물 목록 조회 (cursor 가 없으면 첫 페이지)
+    PostPageDTO getPostsByNickname(String nickname, String cursor, int size);
     
     // 게시물 수정
     PostDTO updatePost(Long postId, PostDTO postDTO);
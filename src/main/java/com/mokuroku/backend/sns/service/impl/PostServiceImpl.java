@@ -1,7 +1,9 @@
 package com.mokuroku.backend.sns.service.impl;
 
 import com.mokuroku.backend.member.security.MemberAuthUtil;
+import com.mokuroku.backend.sns.dto.PostCursor;
 import com.mokuroku.backend.sns.dto.PostDTO;
+import com.mokuroku.backend.sns.dto.PostPageDTO;
 import com.mokuroku.backend.sns.entity.LocationEntity;
 import com.mokuroku.backend.sns.entity.PostEntity;
 import com.mokuroku.backend.sns.repository.LocationRepository;
@@ -13,6 +15,7 @@ import com.mokuroku.backend.member.entity.Member;
 import com.mokuroku.backend.member.repository.MemberRepository;
 import com.mokuroku.backend.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +28,8 @@ import java.util.ArrayList;
 @Transactional
 public class PostServiceImpl implements PostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
     private final MemberRepository memberRepository;
     private final LocationRepository locationRepository;
@@ -118,28 +123,56 @@ public class PostServiceImpl implements PostService {
 
     @Override // 게시글 목록 조회
     @Transactional(readOnly = true)
-    public List<PostDTO> getAllPosts() {
-        List<PostEntity> postEntities = postRepository.findByStatusOrderByRegDateDesc('1');
-
-        List<PostDTO> result = new ArrayList<>();
-        for (PostEntity postEntity : postEntities) {
-            PostDTO postDTO = PostDTO.fromEntity(postEntity, postEntity.getMember());
-            result.add(postDTO);
+    public PostPageDTO getAllPosts(String cursor, int size) {
+        int pageSize = pageSize(size);
+        // 다음 페이지가 있는지 보려고 한 건 더 조회
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PostEntity> postEntities;
+        if (cursor == null || cursor.isBlank()) {
+            postEntities = postRepository.findByStatusOrderByRegDateDescPostIdDesc('1', limit);
+        } else {
+            PostCursor after = PostCursor.decode(cursor);
+            postEntities = postRepository.findPageAfter('1', after.regDate(), after.postId(), limit);
         }
-        return result;
+        return toPage(postEntities, pageSize);
     }
 
     @Override // 특정 회원 게시글 목록 조회
     @Transactional(readOnly = true)
-    public List<PostDTO> getPostsByNickname(String nickname) {
-        List<PostEntity> postEntities = postRepository.findByMember_NicknameAndStatusOrderByRegDateDesc(
-                nickname, '1');
+    public PostPageDTO getPostsByNickname(String nickname, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PostEntity> postEntities;
+        if (cursor == null || cursor.isBlank()) {
+            postEntities = postRepository.findByNickname(nickname, '1', limit);
+        } else {
+            PostCursor after = PostCursor.decode(cursor);
+            postEntities = postRepository.findByNicknameAfter(nickname, '1', after.regDate(),
+                    after.postId(), limit);
+        }
+        return toPage(postEntities, pageSize);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // pageSize + 1 건을 조회했으면 다음 페이지가 있다
+    private static PostPageDTO toPage(List<PostEntity> postEntities, int pageSize) {
+        boolean hasNext = postEntities.size() > pageSize;
+        List<PostEntity> page = hasNext ? postEntities.subList(0, pageSize) : postEntities;
 
         List<PostDTO> result = new ArrayList<>();
-        for (PostEntity postEntity : postEntities) {
+        for (PostEntity postEntity : page) {
             PostDTO postDTO = PostDTO.fromEntity(postEntity, postEntity.getMember());
             result.add(postDTO);
         }
-        return result;
+        return PostPageDTO.builder()
+                .posts(result)
+                .nextCursor(hasNext ? PostCursor.from(page.get(pageSize - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
 }
@@ -0,0 +1,259 @@
+package com.mokuroku.backend.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mokuroku.backend.member.entity.Member;
+import com.mokuroku.backend.member.repository.MemberRepository;
+import com.mokuroku.backend.notification.entity.MemberPushToken;
+import com.mokuroku.backend.notification.entity.NotificationPreference;
+import com.mokuroku.backend.notification.entity.PriceAlertRule;
+import com.mokuroku.backend.notification.entity.PriceAlertType;
+import com.mokuroku.backend.notification.event.PriceChangedEvent;
+import com.mokuroku.backend.notification.repository.MemberPushTokenRepository;
+import com.mokuroku.backend.notification.repository.NotificationOutboxRepository;
+import com.mokuroku.backend.notification.repository.NotificationPreferenceRepository;
+import com.mokuroku.backend.notification.service.PriceAlertIndex;
+import com.mokuroku.backend.notification.transport.PushTransport;
+import com.mokuroku.backend.notification.transport.StubPushTransport;
+import com.mokuroku.backend.product.entity.Wishlist;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 가격 알림 전송 경로 부하 테스트 (load 태그, 기본 test 에서는 제외 / mokuroku.push.transport=stub 으로 실행)
+ *  - 임시 회원 / push 토큰 / 알림 규칙(메모리 인덱스에만)을 만들고,
+ *    PriceChangedEvent 를 트랜잭션 단위로 발행해 실제 리스너 -> outbox -> relay -> (스트림) -> dispatcher
+ *    -> PushSender -> StubPushTransport 경로로 보낸다.
+ *  - 이벤트 발행부터 stub 이 메시지를 받기까지의 지연시간 percentile 과 처리량을 로그로 남기고,
+ *    만든 데이터는 지운다. 운영 DB 에서는 실행하지 않는다.
+ * 예) ./gradlew loadTest -Dmokuroku.push.loadtest.members=5000
+ */
+@Tag("load")
+@SpringBootTest(properties = "mokuroku.push.transport=stub")
+class PushLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(PushLoadTest.class);
+
+	private static final int OLD_PRICE = 20_000;
+	private static final int NEW_PRICE = 15_000;
+	private static final int TARGET_PRICE = 18_000;
+
+	@Autowired
+	private StubPushTransport stub;
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	@Autowired
+	private TransactionTemplate tx;
+	@Autowired
+	private MemberRepository memberRepository;
+	@Autowired
+	private MemberPushTokenRepository pushTokenRepository;
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+	@Autowired
+	private NotificationPreferenceRepository preferenceRepository;
+	@Autowired
+	private NamedParameterJdbcTemplate jdbcTemplate;
+	@Autowired
+	private PriceAlertIndex priceAlertIndex;
+
+	// 임시 회원 수 (회원마다 토큰 1개)
+	@Value("${mokuroku.push.loadtest.members:5000}")
+	private int members;
+
+	// 회원당 가격 변동 이벤트 수 (digest 로 회원당 push 1건으로 합쳐진다)
+	@Value("${mokuroku.push.loadtest.events-per-member:1}")
+	private int eventsPerMember;
+
+	// 트랜잭션 하나에서 발행하는 이벤트 수 (크롤링 저장 batch 와 비슷하게)
+	@Value("${mokuroku.push.loadtest.publish-batch-size:200}")
+	private int publishBatchSize;
+
+	@Value("${mokuroku.push.loadtest.timeout:5m}")
+	private Duration timeout;
+
+	@Test
+	void pushesReachTransportUnderLoad() throws Exception {
+		String runId = Long.toString(System.currentTimeMillis(), 36);
+		List<String> emails = new ArrayList<>(members);
+		Map<String, Long> publishedAt = new ConcurrentHashMap<>();
+		Map<String, Boolean> finished = new ConcurrentHashMap<>();
+		long[] latencies = new long[members];
+		AtomicInteger delivered = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		// 토큰별 첫 결과만 집계 (전달 = 지연시간 기록, 토큰 오류 = 더 보내지 않음, 일시 오류 = outbox 재시도를 기다림)
+		BiConsumer<PushTransport.TokenMessage, PushTransport.Result> listener = (message, result) -> {
+			Long start = publishedAt.get(message.token());
+			if (start == null || (!result.isSuccessful() && !result.failure().isInvalidToken())) {
+				return;
+			}
+			if (finished.putIfAbsent(message.token(), Boolean.TRUE) != null) {
+				return;
+			}
+			if (result.isSuccessful()) {
+				latencies[delivered.getAndIncrement()] = System.nanoTime() - start;
+			} else {
+				rejected.incrementAndGet();
+			}
+		};
+
+		List<Long> ruleIds = new ArrayList<>();
+		try {
+			seed(runId, emails, ruleIds);
+			stub.addListener(listener);
+
+			log.info("push load test {}: members={}, eventsPerMember={}", runId, members, eventsPerMember);
+			long start = System.nanoTime();
+			publish(emails, publishedAt, runId);
+			long published = System.nanoTime();
+			// digest 대기 없이 바로 전송 대상으로
+			outboxRepository.releaseDigests(LocalDateTime.now());
+
+			long deadline = published + timeout.toNanos();
+			while (delivered.get() + rejected.get() < members && System.nanoTime() < deadline) {
+				Thread.sleep(200);
+			}
+			long end = System.nanoTime();
+
+			report(runId, start, published, end, Arrays.copyOf(latencies, delivered.get()),
+					rejected.get());
+			// timeout 안에 모든 회원의 push 가 stub 까지 도착(또는 토큰 오류로 거절)해야 한다
+			assertThat(delivered.get() + rejected.get()).isEqualTo(members);
+		} finally {
+			stub.removeListener(listener);
+			cleanup(emails, ruleIds);
+		}
+	}
+
+	private void seed(String runId, List<String> emails, List<Long> ruleIds) {
+		List<Member> memberRows = new ArrayList<>(members);
+		List<MemberPushToken> tokenRows = new ArrayList<>(members);
+		List<NotificationPreference> preferenceRows = new ArrayList<>(members);
+		for (int i = 0; i < members; i++) {
+			String email = "loadtest-" + runId + "-" + i + "@loadtest.local";
+			Member member = Member.builder()
+					.email(email)
+					.password("-")
+					.nickname("lt" + runId + "_" + i)
+					.status("1")
+					.role(Member.Role.USER)
+					.build();
+			memberRows.add(member);
+			tokenRows.add(MemberPushToken.builder()
+					.member(member)
+					.token(token(email))
+					.platform("loadtest")
+					.createdDate(LocalDateTime.now())
+					.build());
+			// 실행 시각과 관계없이 바로 보내도록 방해 금지 시간을 끈다
+			preferenceRows.add(NotificationPreference.builder()
+					.email(email)
+					.quietHoursEnabled(false)
+					.updatedAt(LocalDateTime.now())
+					.build());
+			emails.add(email);
+
+			// 실제 위시리스트와 겹치지 않도록 음수 id, 규칙은 메모리 인덱스에만 둔다
+			long id = -(i + 1L);
+			PriceAlertRule rule = PriceAlertRule.builder()
+					.priceAlertRuleId(id)
+					.wishlist(Wishlist.builder().wishlistId(id).build())
+					.member(member)
+					.type(PriceAlertType.BELOW_PRICE)
+					.targetPrice(TARGET_PRICE)
+					.active(true)
+					.build();
+			priceAlertIndex.put(rule);
+			ruleIds.add(id);
+		}
+		memberRepository.saveAll(memberRows);
+		pushTokenRepository.saveAll(tokenRows);
+		preferenceRepository.saveAll(preferenceRows);
+	}
+
+	private void publish(List<String> emails, Map<String, Long> publishedAt, String runId) {
+		List<PriceChangedEvent> events = new ArrayList<>();
+		for (int round = 0; round < eventsPerMember; round++) {
+			for (int i = 0; i < emails.size(); i++) {
+				long id = -(i + 1L);
+				// 같은 회원의 다음 이벤트도 기준가를 새로 넘도록 가격을 되돌렸다가 다시 내린다
+				boolean down = round % 2 == 0;
+				events.add(new PriceChangedEvent(emails.get(i), id, id, "loadtest " + runId + " #" + i,
+						down ? OLD_PRICE : NEW_PRICE, down ? NEW_PRICE : OLD_PRICE));
+			}
+		}
+
+		for (int from = 0; from < events.size(); from += publishBatchSize) {
+			List<PriceChangedEvent> batch =
+					events.subList(from, Math.min(from + publishBatchSize, events.size()));
+			tx.executeWithoutResult(status -> batch.forEach(event -> {
+				publishedAt.putIfAbsent(token(event.email()), System.nanoTime());
+				eventPublisher.publishEvent(event);
+			}));
+		}
+	}
+
+	private void report(String runId, long start, long published, long end, long[] latencies,
+			int rejected) {
+		Arrays.sort(latencies);
+		double publishSeconds = (published - start) / 1e9;
+		double totalSeconds = (end - start) / 1e9;
+		log.info("""
+						push load test {} finished
+							events published : {} in {}s ({}/s on the write path)
+							pushes delivered : {} / {} ({} rejected, {} not delivered before timeout)
+							throughput       : {}/s end to end
+							latency (ms)     : p50={} p90={} p99={} max={}""",
+				runId,
+				members * eventsPerMember, String.format("%.2f", publishSeconds),
+				String.format("%.0f", members * eventsPerMember / Math.max(publishSeconds, 1e-9)),
+				latencies.length, members, rejected, members - latencies.length - rejected,
+				String.format("%.0f", latencies.length / Math.max(totalSeconds, 1e-9)),
+				percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.90),
+				percentileMillis(latencies, 0.99), percentileMillis(latencies, 1.0));
+	}
+
+	private void cleanup(List<String> emails, List<Long> ruleIds) {
+		ruleIds.forEach(id -> priceAlertIndex.remove(id, id));
+		try {
+			MapSqlParameterSource params = new MapSqlParameterSource("emails", emails);
+			jdbcTemplate.update("DELETE FROM notification_outbox WHERE email IN (:emails)", params);
+			jdbcTemplate.update("DELETE FROM member_push_token WHERE email IN (:emails)", params);
+			preferenceRepository.deleteAllById(emails);
+			memberRepository.deleteAllById(emails);
+		} catch (Exception e) {
+			log.warn("push load test cleanup failed: {}", e.getMessage(), e);
+		}
+	}
+
+	private static String token(String email) {
+		return "stub-" + email;
+	}
+
+	private static long percentileMillis(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1_000_000;
+	}
+}
@@ -0,0 +1,61 @@
+package com.mokuroku.backend.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+	private static final Duration TICK = Duration.ofMillis(100);
+
+	@Test
+	void itemsComeOutAtTheirTick() {
+		HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+		wheel.schedule("a", 250);
+		wheel.schedule("b", 260);
+
+		assertThat(wheel.advance(199)).isEmpty();
+		assertThat(wheel.advance(200)).containsExactly("a", "b");
+		assertThat(wheel.advance(300)).isEmpty();
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void itemsMoreThanOneRoundAwayWaitForTheirRound() {
+		// 바퀴가 4칸이면 tick 1, 5, 9 는 같은 slot 이다
+		HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+		wheel.schedule("round0", 100);
+		wheel.schedule("round1", 500);
+		wheel.schedule("round2", 900);
+
+		assertThat(wheel.advance(100)).containsExactly("round0");
+		assertThat(wheel.advance(499)).isEmpty();
+		assertThat(wheel.advance(500)).containsExactly("round1");
+		assertThat(wheel.advance(899)).isEmpty();
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.advance(900)).containsExactly("round2");
+	}
+
+	@Test
+	void advancingOverManyTicksReleasesEverythingDue() {
+		HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+		for (int i = 1; i <= 10; i++) {
+			wheel.schedule(i, i * 100L);
+		}
+
+		assertThat(wheel.advance(2_000)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void pastDeadlineComesOutAtTheNextTick() {
+		HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+		assertThat(wheel.advance(550)).isEmpty();
+
+		wheel.schedule("late", 100);
+
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.advance(600)).containsExactly("late");
+	}
+}
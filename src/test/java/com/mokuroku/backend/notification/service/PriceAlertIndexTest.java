@@ -0,0 +1,115 @@
+package com.mokuroku.backend.notification.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.mokuroku.backend.notification.entity.PriceAlertRule;
+import com.mokuroku.backend.notification.entity.PriceAlertType;
+import com.mokuroku.backend.notification.event.PriceChangedEvent;
+import com.mokuroku.backend.notification.repository.PriceAlertRuleRepository;
+import com.mokuroku.backend.product.entity.Wishlist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PriceAlertIndexTest {
+
+	private static final long WISHLIST_ID = 7;
+
+	private PriceAlertIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PriceAlertIndex(mock(PriceAlertRuleRepository.class), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void belowPriceFiresOnlyWhenThePriceCrossesTheTarget() {
+		index.put(rule(1, PriceAlertType.BELOW_PRICE).targetPrice(18_000).build());
+
+		assertThat(index.match(WISHLIST_ID, 20_000, 15_000))
+				.containsExactly(new PriceAlertIndex.Fired(1, PriceAlertType.BELOW_PRICE, 18_000));
+		// 기준가에 딱 닿아도 발동
+		assertThat(index.match(WISHLIST_ID, 20_000, 18_000)).hasSize(1);
+		// 이미 기준가 이하였으면 더 내려가도 발동하지 않음
+		assertThat(index.match(WISHLIST_ID, 18_000, 17_000)).isEmpty();
+		assertThat(index.match(WISHLIST_ID, 15_000, 14_000)).isEmpty();
+		// 오르거나 기준가 위에서만 움직이면 발동하지 않음
+		assertThat(index.match(WISHLIST_ID, 15_000, 20_000)).isEmpty();
+		assertThat(index.match(WISHLIST_ID, 25_000, 19_000)).isEmpty();
+	}
+
+	@Test
+	void percentDropUsesThePriceAtRegistration() {
+		// 10,000원에서 10% 하락 -> 9,000원 이하
+		index.put(rule(2, PriceAlertType.PERCENT_DROP).basePrice(10_000).dropPercent(10).build());
+
+		assertThat(index.match(WISHLIST_ID, 10_000, 9_100)).isEmpty();
+		assertThat(index.match(WISHLIST_ID, 9_100, 9_000))
+				.containsExactly(new PriceAlertIndex.Fired(2, PriceAlertType.PERCENT_DROP, 9_000));
+	}
+
+	@Test
+	void onlyRulesInsideTheCrossedRangeFire() {
+		index.put(rule(1, PriceAlertType.BELOW_PRICE).targetPrice(18_000).build());
+		index.put(rule(2, PriceAlertType.BELOW_PRICE).targetPrice(16_000).build());
+		index.put(rule(3, PriceAlertType.BELOW_PRICE).targetPrice(12_000).build());
+
+		assertThat(index.match(WISHLIST_ID, 20_000, 15_000))
+				.extracting(PriceAlertIndex.Fired::ruleId)
+				.containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void allTimeLowIsLoweredOnlyAfterCommit() {
+		index.put(rule(4, PriceAlertType.ALL_TIME_LOW).lowestPrice(12_000).build());
+
+		// match 는 인덱스를 바꾸지 않으므로 커밋 전에는 같은 가격이 다시 최저가로 보인다
+		assertThat(index.match(WISHLIST_ID, 13_000, 11_000))
+				.containsExactly(new PriceAlertIndex.Fired(4, PriceAlertType.ALL_TIME_LOW, 12_000));
+		assertThat(index.isNewLow(WISHLIST_ID, 11_000)).isTrue();
+
+		index.onPriceCommitted(event(13_000, 11_000));
+
+		assertThat(index.isNewLow(WISHLIST_ID, 11_000)).isFalse();
+		assertThat(index.match(WISHLIST_ID, 12_000, 11_500)).isEmpty();
+		assertThat(index.match(WISHLIST_ID, 11_500, 10_500))
+				.containsExactly(new PriceAlertIndex.Fired(4, PriceAlertType.ALL_TIME_LOW, 11_000));
+	}
+
+	@Test
+	void firstPriceOnlySetsTheAllTimeLowBaseline() {
+		index.put(rule(5, PriceAlertType.ALL_TIME_LOW).build());
+
+		assertThat(index.match(WISHLIST_ID, 0, 30_000)).isEmpty();
+		assertThat(index.isNewLow(WISHLIST_ID, 30_000)).isTrue();
+
+		index.onPriceCommitted(event(0, 30_000));
+
+		assertThat(index.match(WISHLIST_ID, 30_000, 29_000)).hasSize(1);
+	}
+
+	@Test
+	void removedRulesAndMissingPricesDoNotFire() {
+		index.put(rule(1, PriceAlertType.BELOW_PRICE).targetPrice(18_000).build());
+
+		assertThat(index.match(WISHLIST_ID, 20_000, 0)).isEmpty();
+
+		index.remove(WISHLIST_ID, 1);
+
+		assertThat(index.match(WISHLIST_ID, 20_000, 15_000)).isEmpty();
+	}
+
+	private static PriceAlertRule.PriceAlertRuleBuilder rule(long ruleId, PriceAlertType type) {
+		return PriceAlertRule.builder()
+				.priceAlertRuleId(ruleId)
+				.wishlist(Wishlist.builder().wishlistId(WISHLIST_ID).build())
+				.type(type)
+				.active(true);
+	}
+
+	private static PriceChangedEvent event(int oldPrice, int newPrice) {
+		return new PriceChangedEvent("member@mokuroku.com", WISHLIST_ID, 1L, "keyboard", oldPrice,
+				newPrice);
+	}
+}
@@ -0,0 +1,113 @@
+package com.mokuroku.backend.product.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mokuroku.backend.product.dto.PricePointDTO;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PriceArchiveStoreTest {
+
+	private static final long CATALOG_ITEM_ID = 1234;
+	private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+	@TempDir
+	Path dir;
+
+	private PriceArchiveStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = new PriceArchiveStore(dir.toString(), 100);
+	}
+
+	@Test
+	void pricesRoundTripWithGapsAndLargeSwings() {
+		Map<LocalDate, Integer> prices = new LinkedHashMap<>();
+		prices.put(START, 129_000);
+		prices.put(START.plusDays(1), 99_000);        // 하락 (음수 차이)
+		prices.put(START.plusDays(5), 99_000);        // 빈 날짜 뒤 같은 가격
+		prices.put(START.plusDays(9), 1);             // 큰 하락
+		prices.put(START.plusDays(10), 2_000_000_000); // 큰 상승 (varint 5 byte)
+		store.append(CATALOG_ITEM_ID, prices);
+
+		List<PricePointDTO> points = store.read(CATALOG_ITEM_ID, START, START.plusDays(10));
+
+		assertThat(points).extracting(PricePointDTO::getDate).containsExactlyElementsOf(prices.keySet());
+		assertThat(points).extracting(PricePointDTO::getLast).containsExactlyElementsOf(prices.values());
+		assertThat(store.lastArchivedDate(CATALOG_ITEM_ID)).isEqualTo(START.plusDays(10));
+	}
+
+	@Test
+	void readReturnsOnlyTheRequestedRange() {
+		Map<LocalDate, Integer> prices = new LinkedHashMap<>();
+		for (int day = 0; day < 30; day++) {
+			prices.put(START.plusDays(day), 10_000 + day);
+		}
+		store.append(CATALOG_ITEM_ID, prices);
+
+		List<PricePointDTO> points = store.read(CATALOG_ITEM_ID, START.plusDays(10), START.plusDays(12));
+
+		assertThat(points).extracting(PricePointDTO::getLast).containsExactly(10_010, 10_011, 10_012);
+	}
+
+	@Test
+	void appendMergesWithExistingFileAndNewValuesWin() {
+		store.append(CATALOG_ITEM_ID, Map.of(START, 5_000, START.plusDays(2), 4_000));
+		store.append(CATALOG_ITEM_ID, Map.of(START.plusDays(2), 4_500, START.plusDays(3), 4_200));
+
+		List<PricePointDTO> points = store.read(CATALOG_ITEM_ID, START, START.plusDays(3));
+
+		assertThat(points).extracting(PricePointDTO::getDate)
+				.containsExactly(START, START.plusDays(2), START.plusDays(3));
+		assertThat(points).extracting(PricePointDTO::getLast).containsExactly(5_000, 4_500, 4_200);
+	}
+
+	@Test
+	void appendRefusesToOverwriteDamagedArchive() throws Exception {
+		store.append(CATALOG_ITEM_ID, Map.of(START, 5_000, START.plusDays(1), 4_000));
+		Path file = archiveFile();
+		byte[] bytes = Files.readAllBytes(file);
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+		Files.write(file, truncated);
+
+		assertThatThrownBy(() -> store.append(CATALOG_ITEM_ID, Map.of(START.plusDays(2), 3_000)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("truncated");
+		// 손상된 파일은 그대로 남아 복구할 수 있다
+		assertThat(Files.readAllBytes(file)).isEqualTo(truncated);
+	}
+
+	@Test
+	void appendRefusesToOverwriteUnknownFormat() throws Exception {
+		store.append(CATALOG_ITEM_ID, Map.of(START, 5_000));
+		Path file = archiveFile();
+		Files.write(file, new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1});
+
+		assertThatThrownBy(() -> store.append(CATALOG_ITEM_ID, Map.of(START.plusDays(1), 3_000)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("unknown format");
+		// 읽기는 보관분 없이 계속된다
+		assertThat(store.read(CATALOG_ITEM_ID, START, START.plusDays(1))).isEmpty();
+		assertThat(store.lastArchivedDate(CATALOG_ITEM_ID)).isNull();
+	}
+
+	@Test
+	void missingArchiveReadsAsEmpty() {
+		assertThat(store.read(CATALOG_ITEM_ID, START, START.plusDays(1))).isEmpty();
+		assertThat(store.lastArchivedDate(CATALOG_ITEM_ID)).isNull();
+	}
+
+	private Path archiveFile() {
+		return dir.resolve(String.valueOf(CATALOG_ITEM_ID / 1000)).resolve(CATALOG_ITEM_ID + ".dpa");
+	}
+}
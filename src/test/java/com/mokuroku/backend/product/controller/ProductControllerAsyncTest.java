@@ -0,0 +1,93 @@
+package com.mokuroku.backend.product.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mokuroku.backend.product.crawler.CrawlConcurrencyLimiters;
+import com.mokuroku.backend.product.crawler.CrawlRunTelemetry;
+import com.mokuroku.backend.product.crawler.CrawlerResilience;
+import com.mokuroku.backend.product.dto.ProductDTO;
+import com.mokuroku.backend.product.service.ProductService;
+import com.mokuroku.backend.product.service.impl.ProductServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Sinks;
+
+/**
+ * /products/crawl 이 크롤링을 기다리는 동안 요청 스레드를 잡고 있지 않는지 확인
+ */
+class ProductControllerAsyncTest {
+
+	private static final int REQUEST_THREADS = 4;
+	private static final int CONCURRENT_REQUESTS = 40;
+
+	@Test
+	void pendingCrawlsDoNotHoldRequestThreads() throws Exception {
+		// 크롤링 결과는 테스트가 직접 내보내기 전까지 끝나지 않는다
+		Sinks.One<ProductDTO> crawlResult = Sinks.one();
+		ProductService productService = mock(ProductService.class);
+		when(productService.crawling(any())).thenAnswer(invocation -> crawlResult.asMono());
+
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService,
+				mock(ProductServiceImpl.class), mock(CrawlConcurrencyLimiters.class),
+				mock(CrawlRunTelemetry.class), mock(CrawlerResilience.class))).build();
+
+		// 요청 스레드 4개로 끝나지 않은 크롤링 40건을 받는다.
+		// 요청마다 스레드를 막으면 4건 뒤로는 처리되지 않으므로 래치가 0 이 되지 않는다.
+		ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+		CountDownLatch released = new CountDownLatch(CONCURRENT_REQUESTS);
+		List<Future<MvcResult>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+				futures.add(requestThreads.submit(() -> {
+					MvcResult result = mockMvc.perform(get("/products/crawl")
+									.contentType(MediaType.APPLICATION_JSON)
+									.content("{\"name\":\"keyboard\",\"nationCode\":\"kr\"}"))
+							.andExpect(request().asyncStarted())
+							.andReturn();
+					released.countDown();
+					return result;
+				}));
+			}
+
+			// 모든 요청 스레드가 크롤링이 끝나기 전에 풀려나야 한다 (timeout 은 막혔을 때 테스트가 멈추지 않게 하는 용도)
+			assertThat(released.await(30, TimeUnit.SECONDS)).isTrue();
+			assertThat(crawlResult.currentSubscriberCount()).isEqualTo(CONCURRENT_REQUESTS);
+
+			List<MvcResult> results = new ArrayList<>();
+			for (Future<MvcResult> future : futures) {
+				results.add(future.get());
+			}
+
+			ProductDTO product = new ProductDTO();
+			product.setName("keyboard");
+			product.setPrice(10000);
+			crawlResult.tryEmitValue(product).orThrow();
+
+			for (MvcResult result : results) {
+				mockMvc.perform(asyncDispatch(result))
+						.andExpect(status().isOk())
+						.andExpect(jsonPath("$.data.name").value("keyboard"));
+			}
+		} finally {
+			requestThreads.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package com.mokuroku.backend.product.crawler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mokuroku.backend.product.dto.CrawlingResponseDTO;
+import com.mokuroku.backend.product.dto.ProductDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * CrawlBatcher 가 크롤러 응답(NDJSON 스트림 / 오류)을 요청자에게 나눠 주는 방식 검증
+ * 크롤러 서버 대신 WebClient ExchangeFunction 을 바꿔 끼워 응답을 흉내낸다.
+ */
+class CrawlBatcherTest {
+
+	private static final String NATION = "KR";
+
+	// 크롤러가 받은 요청 (path 또는 path?keyword=...)
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	private Function<ClientRequest, ClientResponse> batchHandler;
+	private CrawlerClient crawlerClient;
+	private CrawlBatcher batcher;
+
+	@BeforeEach
+	void setUp() {
+		CrawlerResilience resilience = new CrawlerResilience(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(resilience, "windowSize", 50);
+		ReflectionTestUtils.setField(resilience, "minimumCalls", 10);
+		ReflectionTestUtils.setField(resilience, "failureRateThreshold", 0.5);
+		ReflectionTestUtils.setField(resilience, "openDuration", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(resilience, "halfOpenCalls", 3);
+		ReflectionTestUtils.setField(resilience, "interactiveMaxConcurrent", 20);
+		ReflectionTestUtils.setField(resilience, "retryMaxAttempts", 0);
+		ReflectionTestUtils.setField(resilience, "retryMinBackoff", Duration.ofMillis(10));
+		ReflectionTestUtils.setField(resilience, "retryMaxBackoff", Duration.ofMillis(10));
+		ReflectionTestUtils.setField(resilience, "retryJitter", 0.5);
+		resilience.init();
+
+		WebClient.Builder builder = WebClient.builder().exchangeFunction(this::exchange);
+		crawlerClient = new CrawlerClient(builder, resilience);
+		ReflectionTestUtils.setField(crawlerClient, "baseUrl", "http://crawler.test");
+		ReflectionTestUtils.setField(crawlerClient, "maxConnections", 4);
+		ReflectionTestUtils.setField(crawlerClient, "pendingAcquireMaxCount", 10);
+		ReflectionTestUtils.setField(crawlerClient, "pendingAcquireTimeout", Duration.ofSeconds(1));
+		ReflectionTestUtils.setField(crawlerClient, "maxIdleTime", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(crawlerClient, "maxLifeTime", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(crawlerClient, "evictInterval", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(crawlerClient, "connectTimeout", Duration.ofSeconds(1));
+		ReflectionTestUtils.setField(crawlerClient, "readTimeout", Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(crawlerClient, "interactiveMaxConnections", 4);
+		ReflectionTestUtils.setField(crawlerClient, "interactiveReadTimeout",
+				Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(crawlerClient, "replicas", "");
+		crawlerClient.init();
+
+		CrawlConcurrencyLimiters limiters = new CrawlConcurrencyLimiters(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(limiters, "crawlInitial", 4);
+		ReflectionTestUtils.setField(limiters, "crawlMin", 1);
+		ReflectionTestUtils.setField(limiters, "crawlMax", 4);
+		ReflectionTestUtils.setField(limiters, "crawlTargetLatency", Duration.ofSeconds(15));
+		ReflectionTestUtils.setField(limiters, "crawlBatchInitial", 2);
+		ReflectionTestUtils.setField(limiters, "crawlBatchMin", 1);
+		ReflectionTestUtils.setField(limiters, "crawlBatchMax", 2);
+		ReflectionTestUtils.setField(limiters, "crawlBatchTargetLatency", Duration.ofMinutes(2));
+		ReflectionTestUtils.setField(limiters, "persistInitial", 1);
+		ReflectionTestUtils.setField(limiters, "persistMin", 1);
+		ReflectionTestUtils.setField(limiters, "persistMax", 1);
+		ReflectionTestUtils.setField(limiters, "persistTargetLatency", Duration.ofSeconds(2));
+		ReflectionTestUtils.setField(limiters, "maxErrorRate", 0.1);
+		ReflectionTestUtils.setField(limiters, "backoffRatio", 0.7);
+		limiters.init();
+
+		batcher = new CrawlBatcher(crawlerClient, limiters);
+		ReflectionTestUtils.setField(batcher, "enabled", true);
+		// 두 번째 검색어가 들어오는 즉시 전송 (window 타이머에 기대지 않음)
+		ReflectionTestUtils.setField(batcher, "batchSize", 2);
+		ReflectionTestUtils.setField(batcher, "batchWindow", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(batcher, "itemTimeout", Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(batcher, "unsupportedRecheck", Duration.ofMinutes(10));
+	}
+
+	@AfterEach
+	void tearDown() {
+		crawlerClient.destroy();
+	}
+
+	@Test
+	void itemsAreEmittedAsTheyArriveOnTheStream() throws Exception {
+		Sinks.Many<DataBuffer> stream = Sinks.many().unicast().onBackpressureBuffer();
+		batchHandler = request -> ndjson(stream.asFlux());
+
+		CompletableFuture<CrawlingResponseDTO> apple = batcher.crawl(NATION, "apple").toFuture();
+		CompletableFuture<CrawlingResponseDTO> banana = batcher.crawl(NATION, "banana").toFuture();
+
+		stream.tryEmitNext(line("{\"keyword\":\"apple\",\"data\":[" + product("apple") + "]}"));
+
+		// 스트림이 끝나기 전에 먼저 도착한 검색어의 결과가 전달된다
+		assertThat(apple.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("apple");
+		assertThat(banana).isNotDone();
+
+		stream.tryEmitNext(line("{\"keyword\":\"banana\",\"data\":[" + product("banana") + "]}"));
+		stream.tryEmitComplete();
+
+		assertThat(banana.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("banana");
+		assertThat(requests).containsExactly("/api/crawl/batch");
+	}
+
+	@Test
+	void echoedKeywordIsMatchedWithCrawlKeyNormalization() throws Exception {
+		batchHandler = request -> ndjson(Flux.just(
+				line("{\"keyword\":\"apple watch\",\"data\":[" + product("watch") + "]}"),
+				line("{\"keyword\":\"banana\",\"data\":[" + product("banana") + "]}")));
+
+		CompletableFuture<CrawlingResponseDTO> watch =
+				batcher.crawl(NATION, "  Apple   Watch ").toFuture();
+		CompletableFuture<CrawlingResponseDTO> banana = batcher.crawl(NATION, "banana").toFuture();
+
+		assertThat(watch.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("watch");
+		assertThat(banana.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("banana");
+		// 정규화해서 찾았으므로 개별 GET 으로 다시 요청하지 않는다
+		assertThat(requests).containsExactly("/api/crawl/batch");
+	}
+
+	@Test
+	void unsupportedBatchEndpointFallsBackToSingleRequests() throws Exception {
+		batchHandler = request -> ClientResponse.create(HttpStatus.NOT_IMPLEMENTED).build();
+
+		CompletableFuture<CrawlingResponseDTO> apple = batcher.crawl(NATION, "apple").toFuture();
+		CompletableFuture<CrawlingResponseDTO> banana = batcher.crawl(NATION, "banana").toFuture();
+
+		assertThat(apple.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("apple");
+		assertThat(banana.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("banana");
+
+		// unsupported-recheck 동안은 묶지 않고 바로 개별 GET 으로 보낸다
+		batcher.crawl(NATION, "cherry").block(Duration.ofSeconds(5));
+
+		assertThat(requests).filteredOn("/api/crawl/batch"::equals).hasSize(1);
+		assertThat(requests).contains("/api/crawl?keyword=apple", "/api/crawl?keyword=banana",
+				"/api/crawl?keyword=cherry");
+	}
+
+	@Test
+	void keywordsMissingFromTheStreamFallBackToSingleRequests() throws Exception {
+		batchHandler = request -> ndjson(Flux.just(
+				line("{\"keyword\":\"apple\",\"data\":[" + product("apple") + "]}")));
+
+		CompletableFuture<CrawlingResponseDTO> apple = batcher.crawl(NATION, "apple").toFuture();
+		CompletableFuture<CrawlingResponseDTO> banana = batcher.crawl(NATION, "banana").toFuture();
+
+		assertThat(apple.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("apple");
+		assertThat(banana.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("banana");
+		assertThat(requests).containsExactly("/api/crawl/batch", "/api/crawl?keyword=banana");
+	}
+
+	@Test
+	void midStreamErrorFailsOnlyTheKeywordsNotYetDelivered() throws Exception {
+		batchHandler = request -> ndjson(Flux.just(
+						line("{\"keyword\":\"apple\",\"data\":[" + product("apple") + "]}"))
+				.concatWith(Flux.error(new IllegalStateException("connection reset"))));
+
+		CompletableFuture<CrawlingResponseDTO> apple = batcher.crawl(NATION, "apple").toFuture();
+		CompletableFuture<CrawlingResponseDTO> banana = batcher.crawl(NATION, "banana").toFuture();
+
+		assertThat(apple.get(5, TimeUnit.SECONDS).getData())
+				.extracting(ProductDTO::getName).containsExactly("apple");
+		assertThatThrownBy(() -> banana.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasStackTraceContaining("connection reset");
+		// 일부 결과를 이미 내보낸 스트림이므로 개별 요청으로 다시 시도하지 않는다
+		assertThat(requests).containsExactly("/api/crawl/batch");
+	}
+
+	private Mono<ClientResponse> exchange(ClientRequest request) {
+		String path = request.url().getPath();
+		if (path.equals("/api/crawl/batch")) {
+			requests.add(path);
+			return Mono.fromSupplier(() -> batchHandler.apply(request));
+		}
+		String keyword = UriComponentsBuilder.fromUri(request.url()).build()
+				.getQueryParams().getFirst("keyword");
+		requests.add(path + "?keyword=" + keyword);
+		return Mono.just(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body("{\"data\":[" + product(keyword) + "]}")
+				.build());
+	}
+
+	private static ClientResponse ndjson(Flux<DataBuffer> body) {
+		return ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+				.body(body)
+				.build();
+	}
+
+	private static DataBuffer line(String json) {
+		byte[] bytes = (json + "\n").getBytes(StandardCharsets.UTF_8);
+		return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+	}
+
+	private static String product(String name) {
+		return "{\"name\":\"" + name + "\",\"price\":1000,\"url\":\"https://shop.test/" + name
+				+ "\",\"nationCode\":\"KR\"}";
+	}
+}
@@ -0,0 +1,51 @@
+package com.mokuroku.backend.sns.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mokuroku.backend.exception.ErrorCode;
+import com.mokuroku.backend.exception.impl.CustomException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class PostCursorTest {
+
+	@Test
+	void encodeDecodeRoundTripKeepsNanos() {
+		PostCursor cursor = new PostCursor(LocalDateTime.of(2025, 3, 1, 12, 30, 5, 123_456_789), 42L);
+
+		String encoded = cursor.encode();
+
+		// 쿼리 스트링에 그대로 쓸 수 있는 URL-safe 문자만
+		assertThat(encoded).matches("[A-Za-z0-9_-]+");
+		assertThat(PostCursor.decode(encoded)).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodeDecodeRoundTripOnWholeSecond() {
+		PostCursor cursor = new PostCursor(LocalDateTime.of(2025, 3, 1, 0, 0), Long.MAX_VALUE);
+
+		assertThat(PostCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertInvalid("not base64 !");
+		assertInvalid(encode("2025-03-01T12:00:00"));          // 구분자 없음
+		assertInvalid(encode("yesterday|42"));                 // 날짜 형식 오류
+		assertInvalid(encode("2025-03-01T12:00:00|forty-two")); // id 형식 오류
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void assertInvalid(String cursor) {
+		assertThatThrownBy(() -> PostCursor.decode(cursor))
+				.isInstanceOf(CustomException.class)
+				.extracting(e -> ((CustomException) e).getErrorCode())
+				.isEqualTo(ErrorCode.INVALID_CURSOR);
+	}
+}
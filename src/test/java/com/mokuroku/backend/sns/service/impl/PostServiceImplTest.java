@@ -0,0 +1,114 @@
+package com.mokuroku.backend.sns.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mokuroku.backend.member.entity.Member;
+import com.mokuroku.backend.member.repository.MemberRepository;
+import com.mokuroku.backend.sns.dto.PostCursor;
+import com.mokuroku.backend.sns.dto.PostDTO;
+import com.mokuroku.backend.sns.dto.PostPageDTO;
+import com.mokuroku.backend.sns.entity.LocationEntity;
+import com.mokuroku.backend.sns.entity.PostEntity;
+import com.mokuroku.backend.sns.repository.LocationRepository;
+import com.mokuroku.backend.sns.repository.PostRepository;
+import com.mokuroku.backend.sns.service.LocationService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+/**
+ * 게시글 목록 keyset 페이지 경계 (pageSize + 1 건 조회 -> hasNext / nextCursor)
+ */
+class PostServiceImplTest {
+
+	private static final LocalDateTime NEWEST = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+	private PostRepository postRepository;
+	private PostServiceImpl postService;
+
+	@BeforeEach
+	void setUp() {
+		postRepository = mock(PostRepository.class);
+		postService = new PostServiceImpl(postRepository, mock(MemberRepository.class),
+				mock(LocationRepository.class), mock(LocationService.class));
+	}
+
+	@Test
+	void exactlyOnePageHasNoNextCursor() {
+		when(postRepository.findByStatusOrderByRegDateDescPostIdDesc(eq('1'), any()))
+				.thenReturn(posts(10, 3));
+
+		PostPageDTO page = postService.getAllPosts(null, 3);
+
+		assertThat(page.getPosts()).extracting(PostDTO::getPostId).containsExactly(10L, 9L, 8L);
+		assertThat(page.isHasNext()).isFalse();
+		assertThat(page.getNextCursor()).isNull();
+		verify(postRepository).findByStatusOrderByRegDateDescPostIdDesc('1', Limit.of(4));
+	}
+
+	@Test
+	void extraRowMeansNextPageAndCursorPointsAtLastReturnedPost() {
+		when(postRepository.findByStatusOrderByRegDateDescPostIdDesc(eq('1'), any()))
+				.thenReturn(posts(10, 4));
+
+		PostPageDTO page = postService.getAllPosts(null, 3);
+
+		// 한 건 더 읽은 행(7)은 돌려주지 않고, 커서는 이 페이지의 마지막 게시글(8)을 가리킨다
+		assertThat(page.getPosts()).extracting(PostDTO::getPostId).containsExactly(10L, 9L, 8L);
+		assertThat(page.isHasNext()).isTrue();
+		assertThat(PostCursor.decode(page.getNextCursor()))
+				.isEqualTo(new PostCursor(NEWEST.minusMinutes(2), 8L));
+	}
+
+	@Test
+	void nextPageContinuesAfterTheCursor() {
+		PostCursor after = new PostCursor(NEWEST.minusMinutes(2), 8L);
+		when(postRepository.findPageAfter(eq('1'), any(), any(), any())).thenReturn(posts(7, 2));
+
+		PostPageDTO page = postService.getAllPosts(after.encode(), 3);
+
+		verify(postRepository).findPageAfter('1', after.regDate(), 8L, Limit.of(4));
+		assertThat(page.getPosts()).extracting(PostDTO::getPostId).containsExactly(7L, 6L);
+		assertThat(page.isHasNext()).isFalse();
+	}
+
+	@Test
+	void pageSizeIsClamped() {
+		when(postRepository.findByStatusOrderByRegDateDescPostIdDesc(eq('1'), any()))
+				.thenReturn(List.of());
+
+		postService.getAllPosts(null, 10_000);
+		postService.getAllPosts(null, 0);
+
+		verify(postRepository).findByStatusOrderByRegDateDescPostIdDesc('1', Limit.of(101));
+		verify(postRepository).findByStatusOrderByRegDateDescPostIdDesc('1', Limit.of(2));
+	}
+
+	// id 가 firstId 부터 1 씩 줄고, 등록일도 (NEWEST 기준) 1분씩 이른 게시글 count 개
+	private static List<PostEntity> posts(long firstId, int count) {
+		Member member = Member.builder().email("writer@mokuroku.com").build();
+		LocationEntity location = LocationEntity.builder().latitude(37.5).longitude(127.0).build();
+		List<PostEntity> posts = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			long id = firstId - i;
+			posts.add(PostEntity.builder()
+					.postId(id)
+					.member(member)
+					.location(location)
+					.content("post " + id)
+					.visibility(PostEntity.Visibility.PUBLIC)
+					.regDate(NEWEST.minusMinutes(10 - id))
+					.status('1')
+					.build());
+		}
+		return posts;
+	}
+}